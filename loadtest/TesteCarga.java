@@ -0,0 +1,159 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga em modelo aberto: dispara requisições em taxa fixa, aumentando a taxa
+ * a cada etapa até que o p99 passe do alvo ou os erros passem do limite.
+ *
+ * A latência é medida a partir do instante em que a requisição deveria ter saído, para não
+ * esconder a fila quando o servidor fica para trás.
+ *
+ * Uso: java loadtest/TesteCarga.java --url http://localhost:8080 [--path /api/v1/matriculas?size=20]
+ *      [--email admin@exemplo.com --senha 123] [--rps-inicial 50] [--passo 50] [--rps-max 3000]
+ *      [--duracao 20] [--p99-alvo 250] [--erro-max 0.01]
+ */
+public class TesteCarga {
+
+    private static final Pattern TOKEN = Pattern.compile("\"(?:accessToken|token)\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        String url = opcoes.getOrDefault("url", "http://localhost:8080");
+        String path = opcoes.getOrDefault("path", "/api/v1/matriculas?page=0&size=20");
+        int rpsInicial = Integer.parseInt(opcoes.getOrDefault("rps-inicial", "50"));
+        int passo = Integer.parseInt(opcoes.getOrDefault("passo", "50"));
+        int rpsMax = Integer.parseInt(opcoes.getOrDefault("rps-max", "3000"));
+        int duracao = Integer.parseInt(opcoes.getOrDefault("duracao", "20"));
+        long p99Alvo = Long.parseLong(opcoes.getOrDefault("p99-alvo", "250"));
+        double erroMax = Double.parseDouble(opcoes.getOrDefault("erro-max", "0.01"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        String token = login(client, url,
+                opcoes.getOrDefault("email", "admin@exemplo.com"),
+                opcoes.getOrDefault("senha", "123"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+
+        aquecer(client, request);
+
+        System.out.printf("%-10s %-10s %-10s %-10s %-10s %-8s%n", "alvo", "obtido", "p50(ms)", "p99(ms)", "max(ms)", "erros");
+        int sustentavel = 0;
+        long p99Sustentavel = 0;
+        for (int rps = rpsInicial; rps <= rpsMax; rps += passo) {
+            Etapa etapa = executar(client, request, rps, duracao);
+            System.out.printf("%-10d %-10.1f %-10.1f %-10.1f %-10.1f %-8.4f%n", rps, etapa.rpsObtido,
+                    etapa.percentil(0.50), etapa.percentil(0.99), etapa.percentil(1.0), etapa.taxaErro());
+            if (etapa.percentil(0.99) > p99Alvo || etapa.taxaErro() > erroMax) {
+                break;
+            }
+            sustentavel = rps;
+            p99Sustentavel = Math.round(etapa.percentil(0.99));
+        }
+        System.out.printf("RPS máximo sustentável: %d (p99 %d ms, alvo %d ms)%n", sustentavel, p99Sustentavel, p99Alvo);
+        System.exit(0);
+    }
+
+    private static Etapa executar(HttpClient client, HttpRequest request, int rps, int duracao) throws InterruptedException {
+        int total = rps * duracao;
+        long[] latencias = new long[total];
+        AtomicInteger erros = new AtomicInteger();
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / rps;
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long agendado = inicio + i * intervalo;
+                long espera = agendado - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                int indice = i;
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            erros.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        erros.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        erros.incrementAndGet();
+                    }
+                    latencias[indice] = System.nanoTime() - agendado;
+                });
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return new Etapa(latencias, erros.get(), total / segundos);
+    }
+
+    private static void aquecer(HttpClient client, HttpRequest request) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static String login(HttpClient client, String url, String email, String senha) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"senha\":\"" + senha + "\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Falha no login (" + response.statusCode() + "): " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opcoes.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return opcoes;
+    }
+
+    private record Etapa(long[] latencias, int erros, double rpsObtido) {
+
+        Etapa {
+            latencias = latencias.clone();
+            Arrays.sort(latencias);
+        }
+
+        double percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * latencias.length) - 1;
+            return latencias[Math.max(indice, 0)] / 1e6;
+        }
+
+        double taxaErro() {
+            return latencias.length == 0 ? 0 : (double) erros / latencias.length;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Sobe a aplicação com threads de plataforma e depois com threads virtuais e roda o
+# TesteCarga contra cada modo. Argumentos extras são repassados ao TesteCarga.
+#
+# Variáveis:
+#   APP_ARGS   argumentos extras da aplicação (ex.: "--server.tomcat.threads.max=50")
+#   JAVA_OPTS  opções da JVM (ex.: "-Xmx1g")
+#   PORTA      porta usada nos testes (padrão 8080)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORTA="${PORTA:-8080}"
+APP_ARGS="${APP_ARGS:-}"
+JAVA_OPTS="${JAVA_OPTS:-}"
+export SPRING_DATA_MONGODB_URI="${SPRING_DATA_MONGODB_URI:-mongodb://localhost:27017/faculdade_logs}"
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/apifaculdade-*.jar | grep -v plain | head -1)
+
+for modo in plataforma virtual; do
+    virtual=false
+    [ "$modo" = virtual ] && virtual=true
+
+    java $JAVA_OPTS -jar "$JAR" \
+        --server.port="$PORTA" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --spring.jpa.show-sql=false \
+        --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.org.springframework.data.mongodb=WARN \
+        $APP_ARGS > "target/carga-$modo-app.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORTA/api-docs" || true)" = 200 ]; do
+        kill -0 $pid 2>/dev/null || { echo "Aplicação não subiu, veja target/carga-$modo-app.log"; exit 1; }
+        sleep 1
+    done
+
+    echo "== Modo $modo =="
+    java -Dstdout.encoding=UTF-8 loadtest/TesteCarga.java --url "http://localhost:$PORTA" "$@" | tee "target/carga-$modo.txt"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+done
+
+echo
+echo "== Resumo =="
+for modo in plataforma virtual; do
+    printf '%-12s %s\n' "$modo" "$(tail -1 "target/carga-$modo.txt")"
+done
@@ -0,0 +1,72 @@
+package com.sylviavitoria.apifaculdade.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.sylviavitoria.apifaculdade.dto.AlunoRequestDTO;
+import com.sylviavitoria.apifaculdade.exception.BusinessException;
+import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
+import com.sylviavitoria.apifaculdade.exception.GlobalExceptionHandler;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private EntityNotFoundException naoEncontrado;
+    private BusinessException regraDeNegocio;
+    private MethodArgumentNotValidException validacao;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        naoEncontrado = new EntityNotFoundException("Aluno não encontrado");
+        regraDeNegocio = new BusinessException("Aluno já está matriculado nesta disciplina");
+
+        BeanPropertyBindingResult erros = new BeanPropertyBindingResult(new AlunoRequestDTO(), "alunoRequestDTO");
+        erros.rejectValue("nome", "NotBlank", "O nome é obrigatório");
+        erros.rejectValue("email", "NotBlank", "O email é obrigatório");
+        erros.rejectValue("senha", "NotBlank", "A senha é obrigatória");
+        MethodParameter parametro = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("alvo", AlunoRequestDTO.class), 0);
+        validacao = new MethodArgumentNotValidException(parametro, erros);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> handleNotFound() {
+        return handler.handleNotFound(naoEncontrado);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> handleBusinessException() {
+        return handler.handleBusinessException(regraDeNegocio);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> handleValidationExceptions() {
+        return handler.handleValidationExceptions(validacao);
+    }
+
+    @SuppressWarnings("unused")
+    private void alvo(AlunoRequestDTO alunoRequestDTO) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.sylviavitoria.apifaculdade.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
+import com.sylviavitoria.apifaculdade.security.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String EMAIL = "luanasilva@universidade.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = criarJwtUtil(10_000L);
+        token = jwtUtil.generateToken(EMAIL, TipoUsuario.ALUNO);
+    }
+
+    // Tokens distintos em quantidade muito maior que o cache de claims: cada chamada paga a
+    // verificação HMAC e o parse, como a primeira requisição de cada token.
+    @State(Scope.Thread)
+    public static class TokensForaDoCache {
+
+        private static final int TOKENS = 4096;
+
+        private JwtUtil jwtUtil;
+        private String[] tokens;
+        private int proximo;
+
+        @Setup
+        public void setUp() {
+            jwtUtil = criarJwtUtil(16L);
+            tokens = new String[TOKENS];
+            for (int i = 0; i < TOKENS; i++) {
+                tokens[i] = jwtUtil.generateToken("aluno" + i + "@universidade.com", TipoUsuario.ALUNO);
+            }
+        }
+
+        String proximoToken() {
+            String atual = tokens[proximo];
+            proximo = (proximo + 1) % TOKENS;
+            return atual;
+        }
+    }
+
+    private static JwtUtil criarJwtUtil(long cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "secret", "minha-chave-secreta-supersegura-para-jwt");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(EMAIL, TipoUsuario.ALUNO);
+    }
+
+    @Benchmark
+    public boolean isTokenValidCached() {
+        return jwtUtil.isTokenValid(token);
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValidUncached(TokensForaDoCache estado) {
+        return estado.jwtUtil.isTokenValid(estado.proximoToken());
+    }
+
+    @Benchmark
+    public String extractUsernameUncached(TokensForaDoCache estado) {
+        return estado.jwtUtil.extractUsername(estado.proximoToken());
+    }
+}
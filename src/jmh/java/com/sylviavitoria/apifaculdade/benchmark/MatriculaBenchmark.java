@@ -0,0 +1,86 @@
+package com.sylviavitoria.apifaculdade.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
+import com.sylviavitoria.apifaculdade.mapper.MatriculaMapper;
+import com.sylviavitoria.apifaculdade.mapper.MatriculaMapperImpl;
+import com.sylviavitoria.apifaculdade.model.Aluno;
+import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.Matricula;
+import com.sylviavitoria.apifaculdade.model.Professor;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatriculaBenchmark {
+
+    private MatriculaMapper matriculaMapper;
+    private Matricula matricula;
+    private BigDecimal nota1;
+    private BigDecimal nota2;
+
+    @Setup
+    public void setUp() {
+        matriculaMapper = new MatriculaMapperImpl();
+
+        Professor professor = new Professor();
+        professor.setId(1L);
+        professor.setNome("Prof. Maria Silva");
+        professor.setEmail("maria.silva@universidade.com");
+        professor.setSenha("senha123");
+
+        Disciplina disciplina = new Disciplina();
+        disciplina.setId(1L);
+        disciplina.setNome("Algoritmos");
+        disciplina.setCodigo("ALG101");
+        disciplina.setProfessor(professor);
+
+        Aluno aluno = new Aluno();
+        aluno.setId(1L);
+        aluno.setNome("João da Silva");
+        aluno.setEmail("joao@email.com");
+        aluno.setMatricula("2023001");
+        aluno.setSenha("senha123");
+
+        nota1 = new BigDecimal("8.50");
+        nota2 = new BigDecimal("6.75");
+
+        matricula = new Matricula();
+        matricula.setId(1L);
+        matricula.setAluno(aluno);
+        matricula.setDisciplina(disciplina);
+        matricula.setNota1(nota1);
+        matricula.setNota2(nota2);
+        matricula.calcularMediaEStatus();
+    }
+
+    @Benchmark
+    public MatriculaResponseDTO matriculaMapperToDTO() {
+        return matriculaMapper.toDTO(matricula);
+    }
+
+    @Benchmark
+    public Matricula calcularMediaEStatus() {
+        Matricula calculada = new Matricula();
+        calculada.setNota1(nota1);
+        calculada.setNota2(nota2);
+        calculada.calcularMediaEStatus();
+        return calculada;
+    }
+}
@@ -0,0 +1,89 @@
+package com.sylviavitoria.apifaculdade.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.sylviavitoria.apifaculdade.model.Usuario;
+import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
+import com.sylviavitoria.apifaculdade.security.UserDetailsServiceImpl;
+import com.sylviavitoria.apifaculdade.security.UsuarioPrincipalCache;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    private static final String EMAIL = "luanasilva@universidade.com";
+    private static final Date EMITIDO_EM = new Date();
+
+    private ConfigurableApplicationContext context;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ContextoH2.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.profiles.active=h2",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.hibernate.ddl-auto=none")
+                .run();
+        userDetailsService = context.getBean(UserDetailsServiceImpl.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(EMAIL);
+    }
+
+    @Benchmark
+    public UserDetails loadPrincipal() {
+        return userDetailsService.loadPrincipal(EMAIL, EMITIDO_EM);
+    }
+
+    @Configuration
+    @EnableAutoConfiguration(exclude = {
+            MongoAutoConfiguration.class,
+            MongoDataAutoConfiguration.class,
+            MongoRepositoriesAutoConfiguration.class })
+    @EntityScan(basePackageClasses = Usuario.class)
+    @EnableJpaRepositories(basePackageClasses = UsuarioRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = UsuarioRepository.class))
+    @Import({ UserDetailsServiceImpl.class, UsuarioPrincipalCache.class })
+    static class ContextoH2 {
+    }
+}
@@ -0,0 +1,150 @@
+package com.sylviavitoria.apifaculdade.audit;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sylviavitoria.apifaculdade.model.EventoAuditoria;
+import com.sylviavitoria.apifaculdade.service.LogService;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Fica por dentro do interceptor de @Transactional (ver AuditConfig): o log de sucesso é gravado
+// na outbox pela própria transação da operação e só existe se ela for confirmada.
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AuditAspect {
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETROS = new DefaultParameterNameDiscoverer();
+
+    private final LogService logService;
+    private final TransactionTemplate novaTransacao;
+    private final Map<String, Expression> expressoes = new ConcurrentHashMap<>();
+
+    public AuditAspect(LogService logService, PlatformTransactionManager transactionManager) {
+        this.logService = logService;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Around("@annotation(audited)")
+    public Object auditar(ProceedingJoinPoint joinPoint, Audited audited) throws Throwable {
+        String ator = atorAtual();
+        AuditContext contexto = AuditContext.abrir();
+        long inicio = System.nanoTime();
+        Object resultado;
+        try {
+            resultado = joinPoint.proceed();
+        } catch (Throwable e) {
+            EventoAuditoria evento = EventoAuditoria.erro(audited.operation(), ator, e);
+            completar(evento, joinPoint, audited, null, contexto, inicio);
+            registrarAposTransacao(evento);
+            throw e;
+        } finally {
+            contexto.fechar();
+        }
+
+        EventoAuditoria evento = EventoAuditoria.sucesso(audited.operation(), ator);
+        completar(evento, joinPoint, audited, resultado, contexto, inicio);
+        registrarNaTransacao(evento);
+        return resultado;
+    }
+
+    private void completar(EventoAuditoria evento, ProceedingJoinPoint joinPoint, Audited audited,
+            Object resultado, AuditContext contexto, long inicio) {
+        evento.duracao(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        evento.origem(joinPoint.getSignature().getDeclaringType().getSimpleName());
+        evento.entidade(entidadeId(joinPoint, audited, resultado));
+        if (contexto.getDetalhes() != null) {
+            contexto.getDetalhes().forEach(evento::com);
+        }
+    }
+
+    // Se a transação for revertida depois, o log de sucesso some junto e o ERRO é gravado à parte.
+    private void registrarNaTransacao(EventoAuditoria evento) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registrarAposTransacao(evento);
+            return;
+        }
+        logService.registrar(evento);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    registrarSeparado(evento.revertido());
+                }
+            }
+        });
+    }
+
+    // O erro normalmente reverte a transação, então o log não pode depender do commit dela.
+    private void registrarAposTransacao(EventoAuditoria evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registrarSeparado(evento);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                registrarSeparado(evento);
+            }
+        });
+    }
+
+    private void registrarSeparado(EventoAuditoria evento) {
+        try {
+            novaTransacao.executeWithoutResult(status -> logService.registrar(evento));
+        } catch (RuntimeException e) {
+            log.warn("Evento de auditoria {} não registrado: {}", evento.getOperacao(), e.getMessage());
+        }
+    }
+
+    private Long entidadeId(ProceedingJoinPoint joinPoint, Audited audited, Object resultado) {
+        if (audited.entityId().isEmpty()) {
+            return null;
+        }
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodBasedEvaluationContext contexto = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), metodo, joinPoint.getArgs(), PARAMETROS);
+        contexto.setVariable("result", resultado);
+        try {
+            Expression expressao = expressoes.computeIfAbsent(audited.entityId(), PARSER::parseExpression);
+            return expressao.getValue(contexto, Long.class);
+        } catch (EvaluationException e) {
+            // No erro não há #result; o evento segue sem o ID.
+            return null;
+        }
+    }
+
+    private static String atorAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sylviavitoria.apifaculdade.audit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Detalhes que o método auditado em execução quer incluir no evento. Fora de um método
+// anotado com @Audited as chamadas são ignoradas.
+public final class AuditContext {
+
+    private static final ThreadLocal<AuditContext> ATUAL = new ThreadLocal<>();
+
+    private final AuditContext anterior;
+    private Map<String, Object> detalhes;
+
+    private AuditContext(AuditContext anterior) {
+        this.anterior = anterior;
+    }
+
+    public static void detalhe(String chave, Object valor) {
+        AuditContext contexto = ATUAL.get();
+        if (contexto == null) {
+            return;
+        }
+        if (contexto.detalhes == null) {
+            contexto.detalhes = new LinkedHashMap<>(4);
+        }
+        contexto.detalhes.put(chave, valor);
+    }
+
+    static AuditContext abrir() {
+        AuditContext contexto = new AuditContext(ATUAL.get());
+        ATUAL.set(contexto);
+        return contexto;
+    }
+
+    void fechar() {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+
+    Map<String, Object> getDetalhes() {
+        return detalhes;
+    }
+}
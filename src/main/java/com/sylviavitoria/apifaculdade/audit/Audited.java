@@ -0,0 +1,25 @@
+package com.sylviavitoria.apifaculdade.audit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+
+/**
+ * Registra a execução do método como evento de auditoria, com resultado, duração e usuário logado.
+ *
+ * <p>{@code entityId} é uma expressão SpEL avaliada sobre os parâmetros do método (ex.: {@code #id})
+ * e, no sucesso, sobre o retorno em {@code #result} (ex.: {@code #result.id}).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    OperacaoAuditoria operation();
+
+    String entityId() default "";
+}
@@ -0,0 +1,169 @@
+package com.sylviavitoria.apifaculdade.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import com.sylviavitoria.apifaculdade.enums.LogCollectionMode;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ApplicationLogCollectionInitializer {
+
+    static final String IDX_TIMESTAMP = "idx_log_timestamp";
+    static final String IDX_TIMESTAMP_ID = "idx_log_timestamp_id";
+    static final String IDX_LEVEL_TIMESTAMP = "idx_log_level_timestamp_id";
+    static final String IDX_USER_TIMESTAMP = "idx_log_user_timestamp_id";
+    static final String IDX_OPERATION_TIMESTAMP = "idx_log_operation_timestamp_id";
+    static final String IDX_ENTITY_TIMESTAMP = "idx_log_entity_timestamp_id";
+
+    // Versões anteriores dos índices compostos, sem o _id no fim; não cobriam a ordenação da listagem.
+    static final List<String> INDICES_SUBSTITUIDOS = List.of("idx_log_level_timestamp", "idx_log_user_timestamp",
+            "idx_log_operation_timestamp", "idx_log_entity_timestamp");
+
+    private static final String TIMESTAMP = "timestamp";
+    private static final String ID = "_id";
+
+    private final MongoTemplate mongoTemplate;
+    private final LogCollectionMode mode;
+    private final Duration retencao;
+    private final long cappedSizeBytes;
+    private final long cappedMaxDocuments;
+    private final Granularity granularity;
+
+    public ApplicationLogCollectionInitializer(MongoTemplate mongoTemplate,
+            @Value("${audit.log.collection.mode:STANDARD}") LogCollectionMode mode,
+            @Value("${audit.log.collection.retention-days:90}") long retentionDays,
+            @Value("${audit.log.collection.capped-size-mb:1024}") long cappedSizeMb,
+            @Value("${audit.log.collection.capped-max-documents:0}") long cappedMaxDocuments,
+            @Value("${audit.log.collection.time-series-granularity:SECONDS}") Granularity granularity) {
+        this.mongoTemplate = mongoTemplate;
+        this.mode = mode;
+        this.retencao = Duration.ofDays(Math.max(retentionDays, 0));
+        this.cappedSizeBytes = cappedSizeMb * 1024 * 1024;
+        this.cappedMaxDocuments = cappedMaxDocuments;
+        this.granularity = granularity;
+    }
+
+    // Falhar aqui não impede a subida da aplicação: os logs continuam sendo gravados e os
+    // índices são criados na próxima inicialização com o MongoDB disponível.
+    @PostConstruct
+    public void preparar() {
+        String colecao = mongoTemplate.getCollectionName(ApplicationLog.class);
+        try {
+            LogCollectionMode atual = modoAtual(colecao).orElseGet(() -> criarColecao(colecao));
+            if (atual != mode) {
+                log.warn("A coleção {} já existe no modo {}; o modo {} só é aplicado a coleções novas",
+                        colecao, atual, mode);
+            }
+
+            IndexOperations indices = mongoTemplate.indexOps(colecao);
+            aplicarRetencao(colecao, atual, indices);
+            removerIndicesSubstituidos(indices);
+            // Todos terminam em (timestamp, _id) decrescentes, a ordem da listagem por cursor, para que
+            // cada página seja lida direto do índice sem ordenação em memória.
+            indices.createIndex(new Index().on(TIMESTAMP, Direction.DESC).on(ID, Direction.DESC)
+                    .named(IDX_TIMESTAMP_ID));
+            indices.createIndex(new Index().on("level", Direction.ASC).on(TIMESTAMP, Direction.DESC)
+                    .on(ID, Direction.DESC).named(IDX_LEVEL_TIMESTAMP));
+            indices.createIndex(new Index().on("userId", Direction.ASC).on(TIMESTAMP, Direction.DESC)
+                    .on(ID, Direction.DESC).named(IDX_USER_TIMESTAMP));
+            indices.createIndex(new Index().on("operation", Direction.ASC).on(TIMESTAMP, Direction.DESC)
+                    .on(ID, Direction.DESC).named(IDX_OPERATION_TIMESTAMP));
+            indices.createIndex(new Index().on("entityType", Direction.ASC).on("entityId", Direction.ASC)
+                    .on(TIMESTAMP, Direction.DESC).on(ID, Direction.DESC).named(IDX_ENTITY_TIMESTAMP));
+            log.info("Coleção {} pronta (modo {}, retenção de {} dias)", colecao, atual, retencao.toDays());
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível preparar a coleção {}: {}", colecao, e.getMessage());
+        }
+    }
+
+    private void removerIndicesSubstituidos(IndexOperations indices) {
+        indices.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(INDICES_SUBSTITUIDOS::contains)
+                .forEach(indices::dropIndex);
+    }
+
+    private Optional<LogCollectionMode> modoAtual(String colecao) {
+        Document resposta = mongoTemplate.executeCommand(new Document("listCollections", 1)
+                .append("filter", new Document("name", colecao)));
+        List<Document> colecoes = resposta.get("cursor", Document.class).getList("firstBatch", Document.class);
+        if (colecoes.isEmpty()) {
+            return Optional.empty();
+        }
+        Document info = colecoes.get(0);
+        if ("timeseries".equals(info.getString("type"))) {
+            return Optional.of(LogCollectionMode.TIME_SERIES);
+        }
+        Document options = info.get("options", Document.class);
+        boolean capped = options != null && options.getBoolean("capped", false);
+        return Optional.of(capped ? LogCollectionMode.CAPPED : LogCollectionMode.STANDARD);
+    }
+
+    private LogCollectionMode criarColecao(String colecao) {
+        switch (mode) {
+            case CAPPED -> {
+                CollectionOptions options = CollectionOptions.empty().capped().size(cappedSizeBytes);
+                if (cappedMaxDocuments > 0) {
+                    options = options.maxDocuments(cappedMaxDocuments);
+                }
+                mongoTemplate.createCollection(colecao, options);
+            }
+            case TIME_SERIES -> mongoTemplate.createCollection(colecao, CollectionOptions.timeSeries(TIMESTAMP,
+                    ts -> retencao.isZero() ? ts.granularity(granularity)
+                            : ts.granularity(granularity).expireAfter(retencao)));
+            default -> mongoTemplate.createCollection(colecao);
+        }
+        log.info("Coleção {} criada no modo {}", colecao, mode);
+        return mode;
+    }
+
+    // Coleções capped não aceitam TTL e as de série temporal guardam a retenção na própria
+    // coleção; só a coleção padrão usa o índice TTL em timestamp.
+    private void aplicarRetencao(String colecao, LogCollectionMode atual, IndexOperations indices) {
+        Index porTimestamp = new Index().on(TIMESTAMP, Direction.DESC).named(IDX_TIMESTAMP);
+        switch (atual) {
+            case CAPPED -> {
+                if (!retencao.isZero()) {
+                    log.warn("A coleção {} é capped e não aceita TTL; a retenção fica limitada pelo tamanho", colecao);
+                }
+            }
+            case TIME_SERIES -> mongoTemplate.executeCommand(new Document("collMod", colecao)
+                    .append("expireAfterSeconds", retencao.isZero() ? "off" : retencao.toSeconds()));
+            default -> {
+                Optional<Duration> ttl = retencao.isZero() ? Optional.empty() : Optional.of(retencao);
+                Optional<IndexInfo> existente = indices.getIndexInfo().stream()
+                        .filter(i -> IDX_TIMESTAMP.equals(i.getName()))
+                        .findFirst();
+                if (existente.isPresent() && !existente.get().getExpireAfter().equals(ttl)) {
+                    if (ttl.isPresent()) {
+                        mongoTemplate.executeCommand(new Document("collMod", colecao)
+                                .append("index", new Document("name", IDX_TIMESTAMP)
+                                        .append("expireAfterSeconds", ttl.get().toSeconds())));
+                    } else {
+                        indices.dropIndex(IDX_TIMESTAMP);
+                    }
+                }
+                ttl.ifPresent(porTimestamp::expire);
+            }
+        }
+        indices.createIndex(porTimestamp);
+    }
+}
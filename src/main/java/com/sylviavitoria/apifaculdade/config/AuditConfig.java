@@ -0,0 +1,12 @@
+package com.sylviavitoria.apifaculdade.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+// O interceptor de @Transactional passa a envolver o AuditAspect (LOWEST_PRECEDENCE), para que o
+// log de sucesso entre na outbox dentro da mesma transação da operação auditada.
+@Configuration
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 1)
+public class AuditConfig {
+}
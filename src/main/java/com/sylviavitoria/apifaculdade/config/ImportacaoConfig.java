@@ -0,0 +1,26 @@
+package com.sylviavitoria.apifaculdade.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+public class ImportacaoConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService hashSenhaExecutor(
+            @Value("${importacao.hash.threads:0}") int threads,
+            @Value("${importacao.hash.queue-capacity:1000}") int queueCapacity) {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("hash-senha-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,89 @@
+package com.sylviavitoria.apifaculdade.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String PACOTE_APLICACAO = "com.sylviavitoria.apifaculdade";
+
+    private final Counter pinned;
+    private final Timer pinnedDuration;
+    private final long thresholdMs;
+    private final int stackDepth;
+
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMs,
+            @Value("${virtual-threads.pinning.stack-depth:24}") int stackDepth) {
+        this.thresholdMs = thresholdMs;
+        this.stackDepth = stackDepth;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Threads virtuais bloqueadas presas à thread portadora")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Tempo em que a thread virtual ficou presa à thread portadora")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::registrar);
+        recording.startAsync();
+        log.info("Diagnóstico de pinning de threads virtuais ativo (limite de {} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void registrar(RecordedEvent event) {
+        pinned.increment();
+        pinnedDuration.record(event.getDuration().toNanos(), TimeUnit.NANOSECONDS);
+        log.warn("Thread virtual presa à portadora por {} ms:\n{}",
+                event.getDuration().toMillis(), pilha(event));
+    }
+
+    private String pilha(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(sem pilha)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(stackDepth)
+                .map(frame -> "\t" + (frame.getMethod().getType().getName().startsWith(PACOTE_APLICACAO) ? "> " : "  ")
+                        + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -1,23 +1,39 @@
 package com.sylviavitoria.apifaculdade.controller;
 
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoEmLoteRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.sylviavitoria.apifaculdade.dto.AlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.HistoricoResponseDTO;
 import com.sylviavitoria.apifaculdade.interfaces.AlunoService;
+import com.sylviavitoria.apifaculdade.interfaces.MatriculaService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -26,7 +42,14 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Aluno", description = "Endpoints para gerenciamento de alunos")
 public class AlunoController {
 
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+
     private final AlunoService alunoService;
+    private final MatriculaService matriculaService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -41,6 +64,24 @@ public class AlunoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(alunoCriado);
     }
 
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Importar alunos", description = "Importa alunos a partir de um CSV com cabeçalho nome,email,matricula,senha. O arquivo é lido em fluxo e o resultado de cada linha é retornado (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Importação processada"),
+        @ApiResponse(responseCode = "400", description = "Arquivo CSV inválido"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    public ResponseEntity<LoteResponseDTO> importarAlunos(HttpServletRequest request) throws IOException {
+        try (MappingIterator<AlunoRequestDTO> alunos = CSV_MAPPER
+                .readerFor(AlunoRequestDTO.class)
+                .with(CSV_SCHEMA)
+                .readValues(request.getInputStream())) {
+            LoteResponseDTO resultado = alunoService.importarAlunos(alunos);
+            return ResponseEntity.ok(resultado);
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(summary = "Atualizar aluno", description = "Atualiza os dados de um aluno (Apenas ADMIN)")
@@ -67,6 +108,19 @@ public class AlunoController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/exclusao")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Deletar alunos em lote", description = "Deleta os alunos informados e retorna o resultado de cada ID (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Exclusão processada"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs inválida"),
+        @ApiResponse(responseCode = "409", description = "Algum aluno ainda possui matrículas; nada foi excluído")
+    })
+    public ResponseEntity<LoteResponseDTO> deletarAlunos(@Valid @RequestBody ExclusaoEmLoteRequestDTO request) {
+        LoteResponseDTO resultado = alunoService.deletarAlunos(request.getIds());
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR')")
     @Operation(summary = "Buscar aluno por ID", description = "Retorna os dados de um aluno pelo ID")
@@ -90,6 +144,20 @@ public class AlunoController {
         return ResponseEntity.ok(alunos);
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR')")
+    @Operation(summary = "Listar alunos por cursor", description = "Retorna alunos ordenados por nome usando paginação por cursor, sem contagem total")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<CursorResponseDTO<AlunoResponseDTO>> listarAlunosPorCursor(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size) {
+        CursorResponseDTO<AlunoResponseDTO> alunos = alunoService.listarAlunosPorCursor(cursor, size);
+        return ResponseEntity.ok(alunos);
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('ROLE_ALUNO')")
     @Operation(summary = "Buscar aluno logado", description = "Retorna os dados do aluno autenticado")
@@ -98,4 +166,42 @@ public class AlunoController {
         AlunoResponseDTO aluno = alunoService.buscarAlunoLogado();
         return ResponseEntity.ok(aluno);
     }
+
+    @GetMapping("/me/matriculas")
+    @PreAuthorize("hasAuthority('ROLE_ALUNO')")
+    @Operation(summary = "Histórico do aluno logado", description = "Retorna todas as matrículas do aluno autenticado com disciplina, professor, notas, média e status. Suporta If-None-Match")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Histórico retornado com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Histórico não foi alterado")
+    })
+    public ResponseEntity<HistoricoResponseDTO> buscarHistoricoDoAlunoLogado(WebRequest webRequest) {
+        return comEtag(matriculaService.buscarVersaoHistoricoDoAlunoLogado(),
+                matriculaService::buscarHistoricoDoAlunoLogado, webRequest);
+    }
+
+    @GetMapping("/{id}/matriculas")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Histórico do aluno", description = "Retorna todas as matrículas de um aluno com disciplina, professor, notas, média e status. Suporta If-None-Match (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Histórico retornado com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Histórico não foi alterado"),
+        @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+    })
+    public ResponseEntity<HistoricoResponseDTO> buscarHistoricoDoAluno(
+            @Parameter(description = "ID do aluno") @PathVariable Long id, WebRequest webRequest) {
+        return comEtag(matriculaService.buscarVersaoHistoricoDoAluno(id),
+                () -> matriculaService.buscarHistoricoDoAluno(id), webRequest);
+    }
+
+    // O ETag vem da versão das matrículas (contagem e última alteração), então a revalidação
+    // responde 304 sem carregar nem serializar o histórico.
+    private ResponseEntity<HistoricoResponseDTO> comEtag(String versao, Supplier<HistoricoResponseDTO> historico,
+            WebRequest webRequest) {
+        String etag = "\"" + DigestUtils.md5DigestAsHex(versao.getBytes(StandardCharsets.UTF_8)) + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(historico.get());
+    }
 }
\ No newline at end of file
@@ -44,7 +44,7 @@ public class AuthController {
             Usuario usuario = usuarioRepository.findByEmail(loginRequest.getEmail())
                     .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
-            String token = jwtUtil.generateToken(loginRequest.getEmail());
+            String token = jwtUtil.generateToken(usuario.getEmail(), usuario.getTipo());
 
             LoginResponseDTO response = LoginResponseDTO.builder()
                     .accessToken(token)
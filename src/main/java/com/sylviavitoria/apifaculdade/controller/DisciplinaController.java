@@ -15,8 +15,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.EstatisticaDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoDisciplinaResponseDTO;
 import com.sylviavitoria.apifaculdade.interfaces.DisciplinaService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -69,14 +72,20 @@ public class DisciplinaController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    @Operation(summary = "Deletar disciplina", description = "Remove uma disciplina por ID (Apenas ADMIN)")
+    @Operation(summary = "Deletar disciplina", description = "Remove uma disciplina por ID. Com cascata=true, remove também as matrículas da disciplina na mesma transação e retorna quantas foram removidas (Apenas ADMIN)")
     @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Disciplina e matrículas removidas (cascata=true)"),
         @ApiResponse(responseCode = "204", description = "Disciplina deletada com sucesso"),
-        @ApiResponse(responseCode = "404", description = "Disciplina não encontrada", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Disciplina não encontrada", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Disciplina possui matrículas e cascata não foi solicitada", content = @Content)
     })
-    public ResponseEntity<Void> deletarDisciplina(@PathVariable Long id) {
-        disciplinaService.deletarDisciplina(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<ExclusaoDisciplinaResponseDTO> deletarDisciplina(@PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean cascata) {
+        ExclusaoDisciplinaResponseDTO resultado = disciplinaService.deletarDisciplina(id, cascata);
+        if (!cascata) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(resultado);
     }
 
     @GetMapping("/{id}")
@@ -92,6 +101,19 @@ public class DisciplinaController {
         return ResponseEntity.ok(disciplina);
     }
 
+    @GetMapping("/{id}/estatisticas")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR')")
+    @Operation(summary = "Estatísticas da disciplina", description = "Retorna média geral, taxa de aprovação e distribuição das médias da disciplina")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estatísticas encontradas",
+                content = @Content(schema = @Schema(implementation = EstatisticaDisciplinaResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Disciplina não encontrada", content = @Content)
+    })
+    public ResponseEntity<EstatisticaDisciplinaResponseDTO> buscarEstatisticas(@PathVariable Long id) {
+        EstatisticaDisciplinaResponseDTO estatisticas = disciplinaService.buscarEstatisticas(id);
+        return ResponseEntity.ok(estatisticas);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR', 'ROLE_ALUNO')")
     @Operation(summary = "Listar disciplinas", description = "Retorna uma lista paginada de disciplinas")
@@ -106,4 +128,18 @@ public class DisciplinaController {
         return ResponseEntity.ok(disciplinas);
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR', 'ROLE_ALUNO')")
+    @Operation(summary = "Listar disciplinas por cursor", description = "Retorna disciplinas ordenadas por nome usando paginação por cursor, sem contagem total")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<CursorResponseDTO<DisciplinaResponseDTO>> listarDisciplinasPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorResponseDTO<DisciplinaResponseDTO> disciplinas = disciplinaService.listarDisciplinasPorCursor(cursor, size);
+        return ResponseEntity.ok(disciplinas);
+    }
+
 }
@@ -1,17 +1,32 @@
 package com.sylviavitoria.apifaculdade.controller;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+import com.sylviavitoria.apifaculdade.dto.AgregacaoLogResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.dto.LogResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.enums.TipoEntidade;
 import com.sylviavitoria.apifaculdade.service.LogService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
@@ -25,17 +40,104 @@ public class LogController {
 
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    @Operation(summary = "Listar todos os logs", description = "Lista todos os logs da aplicação (Apenas ADMIN)")
-    public ResponseEntity<List<ApplicationLog>> listarTodosLogs() {
-        List<ApplicationLog> logs = logService.listarTodosLogs();
-        return ResponseEntity.ok(logs);
+    @Operation(summary = "Listar logs", description = "Lista os logs do mais recente para o mais antigo, com filtros e paginação por cursor. Os metadados não são retornados (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou período inválido")
+    })
+    public ResponseEntity<CursorResponseDTO<LogResponseDTO>> listarLogs(
+            @Parameter(description = "Nível do log (INFO, ERROR...)") @RequestParam(required = false) String level,
+            @Parameter(description = "Usuário que executou a operação") @RequestParam(required = false) String userId,
+            @Parameter(description = "Código da operação") @RequestParam(required = false) String operation,
+            @Parameter(description = "Classe que gerou o log") @RequestParam(required = false) String className,
+            @Parameter(description = "Tipo da entidade afetada (ALUNO, PROFESSOR, DISCIPLINA, MATRICULA)") @RequestParam(required = false) TipoEntidade entityType,
+            @Parameter(description = "ID da entidade afetada") @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Início do período (inclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do período (exclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "50") int size) {
+        LogFiltroDTO filtro = filtro(level, userId, operation, className, entityType, entityId, inicio, fim);
+        return ResponseEntity.ok(logService.listarLogs(filtro, cursor, size));
+    }
+
+    @GetMapping("/exportacao")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Exportar logs", description = "Exporta os logs filtrados em NDJSON, um por linha, lidos do MongoDB em fluxo sem carregar todos em memória (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Arquivo de exportação gerado"),
+        @ApiResponse(responseCode = "400", description = "Período inválido"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarLogs(
+            @Parameter(description = "Nível do log (INFO, ERROR...)") @RequestParam(required = false) String level,
+            @Parameter(description = "Usuário que executou a operação") @RequestParam(required = false) String userId,
+            @Parameter(description = "Código da operação") @RequestParam(required = false) String operation,
+            @Parameter(description = "Classe que gerou o log") @RequestParam(required = false) String className,
+            @Parameter(description = "Tipo da entidade afetada (ALUNO, PROFESSOR, DISCIPLINA, MATRICULA)") @RequestParam(required = false) TipoEntidade entityType,
+            @Parameter(description = "ID da entidade afetada") @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Início do período (inclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do período (exclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        LogFiltroDTO filtro = filtro(level, userId, operation, className, entityType, entityId, inicio, fim);
+        // Valida antes de abrir o fluxo, pois depois do início da resposta não há como devolver o erro.
+        logService.validarFiltro(filtro);
+        ContentDisposition arquivo = ContentDisposition.attachment()
+                .filename("logs.ndjson")
+                .build();
+
+        StreamingResponseBody corpo = saida -> logService.exportarLogs(filtro, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, arquivo.toString())
+                .body(corpo);
+    }
+
+    @GetMapping("/agregacoes")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Agregar logs", description = "Conta os logs e os erros por operação, nível ou usuário, opcionalmente por intervalo de tempo. A agregação roda no MongoDB e só os grupos são retornados. Sem início informado, considera as últimas 24 horas (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Agregação retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<AgregacaoLogResponseDTO> agregarLogs(
+            @Parameter(description = "Campo de agrupamento: OPERATION, LEVEL ou USER_ID") @RequestParam(defaultValue = "OPERATION") AgrupamentoLog agrupamento,
+            @Parameter(description = "Intervalo de tempo dos grupos: MINUTE, HOUR ou DAY") @RequestParam(required = false) IntervaloLog intervalo,
+            @Parameter(description = "Nível do log (INFO, ERROR...)") @RequestParam(required = false) String level,
+            @Parameter(description = "Usuário que executou a operação") @RequestParam(required = false) String userId,
+            @Parameter(description = "Código da operação") @RequestParam(required = false) String operation,
+            @Parameter(description = "Classe que gerou o log") @RequestParam(required = false) String className,
+            @Parameter(description = "Tipo da entidade afetada (ALUNO, PROFESSOR, DISCIPLINA, MATRICULA)") @RequestParam(required = false) TipoEntidade entityType,
+            @Parameter(description = "ID da entidade afetada") @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Início do período (inclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Fim do período (exclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @Parameter(description = "Quantidade máxima de grupos") @RequestParam(defaultValue = "100") int limite) {
+        LogFiltroDTO filtro = filtro(level, userId, operation, className, entityType, entityId, inicio, fim);
+        return ResponseEntity.ok(logService.agregarLogs(filtro, agrupamento, intervalo, limite));
     }
 
     @GetMapping("/recentes")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    @Operation(summary = "Buscar logs recentes", description = "Busca logs das últimas 24 horas (Apenas ADMIN)")
-    public ResponseEntity<List<ApplicationLog>> buscarLogsRecentes() {
-        List<ApplicationLog> logs = logService.buscarLogsRecentes();
-        return ResponseEntity.ok(logs);
+    @Operation(summary = "Listar logs recentes", description = "Lista os logs das últimas 24 horas, do mais recente para o mais antigo, com paginação por cursor (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<CursorResponseDTO<LogResponseDTO>> listarLogsRecentes(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(logService.listarLogsRecentes(cursor, size));
+    }
+
+    private static LogFiltroDTO filtro(String level, String userId, String operation, String className,
+            TipoEntidade entityType, Long entityId, LocalDateTime inicio, LocalDateTime fim) {
+        return LogFiltroDTO.builder()
+                .level(level)
+                .userId(userId)
+                .operation(operation)
+                .className(className)
+                .entityType(entityType != null ? entityType.name() : null)
+                .entityId(entityId)
+                .inicio(inicio)
+                .fim(fim)
+                .build();
     }
 }
@@ -1,16 +1,28 @@
 package com.sylviavitoria.apifaculdade.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.NotaRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.NotasDisciplinaRequestDTO;
+import com.sylviavitoria.apifaculdade.enums.FormatoExportacao;
 import com.sylviavitoria.apifaculdade.interfaces.MatriculaService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,6 +33,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +44,7 @@ import lombok.RequiredArgsConstructor;
 public class MatriculaController {
 
     private final MatriculaService matriculaService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -46,6 +60,37 @@ public class MatriculaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(matricula);
     }
 
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Criar matrículas em lote", description = "Permite que o administrador matricule vários alunos de uma vez. Retorna o resultado de cada item.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado",
+                     content = @Content(schema = @Schema(implementation = LoteResponseDTO.class))),
+        @ApiResponse(responseCode = "403", description = "Acesso negado", content = @Content)
+    })
+    public ResponseEntity<LoteResponseDTO> criarMatriculasEmLote(
+            @RequestBody List<MatriculaRequestDTO> matriculas) {
+        LoteResponseDTO resultado = matriculaService.criarMatriculasEmLote(matriculas.iterator());
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Criar matrículas em lote (NDJSON)", description = "Recebe uma matrícula por linha (application/x-ndjson) e processa o corpo em fluxo.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado",
+                     content = @Content(schema = @Schema(implementation = LoteResponseDTO.class))),
+        @ApiResponse(responseCode = "403", description = "Acesso negado", content = @Content)
+    })
+    public ResponseEntity<LoteResponseDTO> criarMatriculasEmLoteNdjson(HttpServletRequest request) throws IOException {
+        try (MappingIterator<MatriculaRequestDTO> matriculas = objectMapper
+                .readerFor(MatriculaRequestDTO.class)
+                .readValues(request.getInputStream())) {
+            LoteResponseDTO resultado = matriculaService.criarMatriculasEmLote(matriculas);
+            return ResponseEntity.ok(resultado);
+        }
+    }
+
     @PutMapping("/{id}/notas")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR')")
     @Operation(summary = "Atualizar notas", description = "Permite que o professor ou administrador atualize as notas de uma matrícula.")
@@ -61,6 +106,22 @@ public class MatriculaController {
         return ResponseEntity.ok(matricula);
     }
 
+    @PutMapping("/disciplinas/{disciplinaId}/notas")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR')")
+    @Operation(summary = "Atualizar notas da turma", description = "Permite que o professor ou administrador lance as notas de todos os alunos de uma disciplina de uma vez.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Notas processadas",
+                     content = @Content(schema = @Schema(implementation = LoteResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Disciplina não encontrada", content = @Content)
+    })
+    public ResponseEntity<LoteResponseDTO> atualizarNotasDaDisciplina(
+            @Parameter(description = "ID da disciplina") @PathVariable Long disciplinaId,
+            @Valid @RequestBody NotasDisciplinaRequestDTO notasRequestDTO) {
+        LoteResponseDTO resultado = matriculaService.atualizarNotasDaDisciplina(disciplinaId, notasRequestDTO);
+        return ResponseEntity.ok(resultado);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @Operation(summary = "Deletar matrícula", description = "Permite que o administrador delete uma matrícula.")
@@ -102,4 +163,41 @@ public class MatriculaController {
         Page<MatriculaResponseDTO> matriculas = matriculaService.listarMatriculas(page, size, sort);
         return ResponseEntity.ok(matriculas);
     }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_PROFESSOR')")
+    @Operation(summary = "Listar matrículas por cursor", description = "Retorna matrículas da mais recente para a mais antiga usando paginação por cursor, sem contagem total")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<CursorResponseDTO<MatriculaResponseDTO>> listarMatriculasPorCursor(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size) {
+        CursorResponseDTO<MatriculaResponseDTO> matriculas = matriculaService.listarMatriculasPorCursor(cursor, size);
+        return ResponseEntity.ok(matriculas);
+    }
+
+    @GetMapping("/exportacao")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Exportar matrículas", description = "Exporta todas as matrículas com dados do aluno e da disciplina em CSV ou NDJSON. O arquivo é gerado em fluxo, sem carregar todas as linhas em memória (Apenas ADMIN)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Arquivo de exportação gerado"),
+        @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarMatriculas(
+            @Parameter(description = "Formato do arquivo: CSV ou NDJSON") @RequestParam(defaultValue = "CSV") FormatoExportacao formato) {
+        MediaType tipo = formato == FormatoExportacao.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        ContentDisposition arquivo = ContentDisposition.attachment()
+                .filename("matriculas." + formato.name().toLowerCase())
+                .build();
+
+        StreamingResponseBody corpo = saida -> matriculaService.exportarMatriculas(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, arquivo.toString())
+                .body(corpo);
+    }
 }
\ No newline at end of file
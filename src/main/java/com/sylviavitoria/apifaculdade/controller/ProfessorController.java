@@ -1,5 +1,9 @@
 package com.sylviavitoria.apifaculdade.controller;
 
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoEmLoteRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
 import com.sylviavitoria.apifaculdade.interfaces.ProfessorService;
@@ -68,6 +72,19 @@ public class ProfessorController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/exclusao")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Deletar professores em lote", description = "Deleta os professores informados e retorna o resultado de cada ID (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Exclusão processada"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs inválida"),
+        @ApiResponse(responseCode = "409", description = "Algum professor ainda está vinculado a disciplinas; nada foi excluído")
+    })
+    public ResponseEntity<LoteResponseDTO> deletarProfessores(@Valid @RequestBody ExclusaoEmLoteRequestDTO request) {
+        LoteResponseDTO resultado = professorService.deletarProfessores(request.getIds());
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
     @Operation(summary = "Buscar professor por ID", description = "Retorna os dados de um professor pelo ID (Apenas ADMIN)")
@@ -91,6 +108,20 @@ public class ProfessorController {
         return ResponseEntity.ok(professores);
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    @Operation(summary = "Listar professores por cursor", description = "Retorna professores ordenados por nome usando paginação por cursor, sem contagem total (Apenas ADMIN)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Página retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<CursorResponseDTO<ProfessorResponseDTO>> listarProfessoresPorCursor(
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size) {
+        CursorResponseDTO<ProfessorResponseDTO> professores = professorService.listarProfessoresPorCursor(cursor, size);
+        return ResponseEntity.ok(professores);
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('ROLE_PROFESSOR')")
     @Operation(summary = "Buscar professor logado", description = "Retorna os dados do professor autenticado")
@@ -99,4 +130,23 @@ public class ProfessorController {
         ProfessorResponseDTO professor = professorService.buscarProfessorLogado();
         return ResponseEntity.ok(professor);
     }
+
+    @GetMapping("/me/disciplinas/{id}/alunos")
+    @PreAuthorize("hasAuthority('ROLE_PROFESSOR')")
+    @Operation(summary = "Listar alunos de uma disciplina do professor logado",
+            description = "Lista por cursor os alunos matriculados, com notas e status, em uma disciplina ministrada pelo professor autenticado")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Alunos listados com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "403", description = "Disciplina não pertence ao professor"),
+        @ApiResponse(responseCode = "404", description = "Disciplina não encontrada")
+    })
+    public ResponseEntity<CursorResponseDTO<AlunoMatriculadoResponseDTO>> listarAlunosDaDisciplina(
+            @Parameter(description = "ID da disciplina") @PathVariable Long id,
+            @Parameter(description = "Cursor retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "20") int size) {
+        CursorResponseDTO<AlunoMatriculadoResponseDTO> alunos =
+                professorService.listarAlunosDaDisciplinaDoProfessorLogado(id, cursor, size);
+        return ResponseEntity.ok(alunos);
+    }
 }
\ No newline at end of file
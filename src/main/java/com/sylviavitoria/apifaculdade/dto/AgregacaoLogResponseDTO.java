@@ -0,0 +1,32 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Resultado da agregação de logs em um período")
+public class AgregacaoLogResponseDTO {
+
+    @Schema(description = "Campo usado no agrupamento", example = "OPERATION")
+    private AgrupamentoLog agrupamento;
+
+    @Schema(description = "Intervalo de tempo dos grupos; nulo quando o período inteiro é agregado", example = "HOUR")
+    private IntervaloLog intervalo;
+
+    @Schema(description = "Início do período agregado (inclusivo)", example = "2025-08-07T10:30:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Fim do período agregado (exclusivo)", example = "2025-08-08T10:30:00")
+    private LocalDateTime fim;
+
+    @Schema(description = "Grupos encontrados")
+    private List<LogAgregadoResponseDTO> grupos;
+}
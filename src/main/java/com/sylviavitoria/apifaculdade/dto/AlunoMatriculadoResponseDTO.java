@@ -0,0 +1,40 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.math.BigDecimal;
+
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+@Value
+@Schema(description = "Aluno matriculado em uma disciplina, com suas notas")
+public class AlunoMatriculadoResponseDTO {
+
+    @Schema(description = "ID da matrícula", example = "1")
+    private Long matriculaId;
+
+    @Schema(description = "ID do aluno", example = "1")
+    private Long alunoId;
+
+    @Schema(description = "Nome do aluno", example = "João da Silva")
+    private String nome;
+
+    @Schema(description = "Email do aluno", example = "joao.silva@email.com")
+    private String email;
+
+    @Schema(description = "Matrícula do aluno", example = "2023001234")
+    private String matricula;
+
+    @Schema(description = "Primeira nota", example = "8.5")
+    private BigDecimal nota1;
+
+    @Schema(description = "Segunda nota", example = "7.0")
+    private BigDecimal nota2;
+
+    @Schema(description = "Média", example = "7.75")
+    private BigDecimal media;
+
+    @Schema(description = "Status da matrícula", example = "APROVADO")
+    private StatusMatricula status;
+}
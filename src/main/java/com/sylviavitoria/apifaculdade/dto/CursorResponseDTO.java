@@ -0,0 +1,26 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Página de resultados navegada por cursor")
+public class CursorResponseDTO<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> conteudo;
+
+    @Schema(description = "Quantidade de itens na página", example = "10")
+    private int tamanho;
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    private boolean temProximo;
+
+    @Schema(description = "Cursor para buscar a próxima página; nulo quando não houver mais itens",
+            example = "MTI6TWFyaWEgU2lsdmE")
+    private String proximoCursor;
+}
@@ -0,0 +1,38 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Estatísticas de notas de uma disciplina")
+public class EstatisticaDisciplinaResponseDTO {
+
+    @Schema(description = "ID da disciplina", example = "1")
+    private Long disciplinaId;
+
+    @Schema(description = "Quantidade de matrículas na disciplina", example = "40")
+    private long totalMatriculas;
+
+    @Schema(description = "Média das médias dos alunos com notas lançadas", example = "7.35")
+    private BigDecimal mediaGeral;
+
+    @Schema(description = "Percentual de aprovados entre os alunos já avaliados", example = "82.50")
+    private BigDecimal taxaAprovacao;
+
+    @Schema(description = "Quantidade de alunos aprovados", example = "33")
+    private long aprovados;
+
+    @Schema(description = "Quantidade de alunos reprovados", example = "7")
+    private long reprovados;
+
+    @Schema(description = "Quantidade de alunos cursando", example = "0")
+    private long cursando;
+
+    @Schema(description = "Quantidade de alunos por faixa de média", example = "{\"0-2\": 0, \"2-4\": 1, \"4-6\": 3, \"6-8\": 20, \"8-10\": 16}")
+    private Map<String, Long> distribuicao;
+}
@@ -0,0 +1,17 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Resultado da exclusão de uma disciplina")
+public class ExclusaoDisciplinaResponseDTO {
+
+    @Schema(description = "ID da disciplina excluída", example = "1")
+    private Long disciplinaId;
+
+    @Schema(description = "Quantidade de matrículas removidas junto com a disciplina", example = "42")
+    private int matriculasRemovidas;
+}
@@ -0,0 +1,20 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ExclusaoEmLoteRequestDTO {
+
+    @Schema(description = "IDs dos registros a excluir", example = "[1, 2, 3]", required = true)
+    @NotEmpty(message = "A lista de IDs é obrigatória")
+    @Size(max = 1000, message = "Informe no máximo 1000 IDs por requisição")
+    private List<@NotNull(message = "ID não pode ser nulo") Long> ids;
+}
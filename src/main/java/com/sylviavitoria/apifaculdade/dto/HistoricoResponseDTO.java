@@ -0,0 +1,19 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Histórico do aluno com todas as suas matrículas")
+public class HistoricoResponseDTO {
+
+    @Schema(description = "Dados do aluno")
+    private AlunoResponseDTO aluno;
+
+    @Schema(description = "Matrículas do aluno, da mais antiga para a mais recente")
+    private List<ItemHistoricoResponseDTO> matriculas;
+}
@@ -0,0 +1,23 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Resultado de um item processado em lote")
+public class ItemLoteResponseDTO {
+
+    @Schema(description = "Posição do item na requisição (a partir de 0)", example = "0")
+    private int indice;
+
+    @Schema(description = "ID do registro criado ou processado", example = "1001")
+    private Long id;
+
+    @Schema(description = "Indica se o item foi processado com sucesso", example = "true")
+    private boolean sucesso;
+
+    @Schema(description = "Mensagem de erro quando o item não foi processado", example = "Aluno não encontrado")
+    private String erro;
+}
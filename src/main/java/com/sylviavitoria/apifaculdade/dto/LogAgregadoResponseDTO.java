@@ -0,0 +1,29 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Contagem de logs de um grupo")
+public class LogAgregadoResponseDTO {
+
+    @Schema(description = "Valor do campo agrupado; no agrupamento por operação o sufixo _ERROR é removido", example = "CREATE_ALUNO")
+    private String chave;
+
+    @Schema(description = "Início do intervalo de tempo; nulo quando não há intervalo", example = "2025-08-08T10:00:00")
+    private LocalDateTime periodo;
+
+    @Schema(description = "Quantidade de logs no grupo", example = "120")
+    private long total;
+
+    @Schema(description = "Quantidade de logs de nível ERROR no grupo", example = "3")
+    private long erros;
+
+    @Schema(description = "Percentual de logs de erro no grupo", example = "2.50")
+    private BigDecimal taxaErro;
+}
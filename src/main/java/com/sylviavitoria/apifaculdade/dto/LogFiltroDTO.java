@@ -0,0 +1,19 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class LogFiltroDTO {
+    private String level;
+    private String userId;
+    private String operation;
+    private String className;
+    private String entityType;
+    private Long entityId;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+}
@@ -0,0 +1,49 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Log da aplicação, sem os metadados")
+public class LogResponseDTO {
+
+    @Schema(description = "ID do log", example = "66b4d1f2a3c5e81b2f0c9a17")
+    private String id;
+
+    @Schema(description = "Momento em que o log foi gerado", example = "2025-08-08T10:30:00")
+    private LocalDateTime timestamp;
+
+    @Schema(description = "Nível do log", example = "INFO")
+    private String level;
+
+    @Schema(description = "Mensagem do log", example = "Aluno criado com sucesso (ID: 1)")
+    private String message;
+
+    @Schema(description = "Classe que gerou o log", example = "AlunoServiceImpl")
+    private String className;
+
+    @Schema(description = "Método que gerou o log", example = "criarAluno")
+    private String method;
+
+    @Schema(description = "Usuário que executou a operação", example = "admin@email.com")
+    private String userId;
+
+    @Schema(description = "Código da operação", example = "CREATE_ALUNO")
+    private String operation;
+
+    @Schema(description = "Tipo da entidade afetada", example = "ALUNO")
+    private String entityType;
+
+    @Schema(description = "ID da entidade afetada", example = "1")
+    private Long entityId;
+
+    @Schema(description = "Resultado da operação: SUCESSO ou ERRO", example = "SUCESSO")
+    private String outcome;
+
+    @Schema(description = "Duração da operação em milissegundos", example = "42")
+    private Long durationMs;
+}
@@ -0,0 +1,25 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Relatório de processamento em lote")
+public class LoteResponseDTO {
+
+    @Schema(description = "Quantidade de itens recebidos", example = "3")
+    private int total;
+
+    @Schema(description = "Quantidade de itens processados com sucesso", example = "2")
+    private int sucessos;
+
+    @Schema(description = "Quantidade de itens com erro", example = "1")
+    private int falhas;
+
+    @Schema(description = "Resultado de cada item, na ordem da requisição")
+    private List<ItemLoteResponseDTO> itens;
+}
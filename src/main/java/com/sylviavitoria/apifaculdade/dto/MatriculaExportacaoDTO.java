@@ -0,0 +1,29 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+
+import lombok.Value;
+
+@Value
+@JsonPropertyOrder({ "id", "alunoId", "alunoNome", "alunoMatricula", "disciplinaId", "disciplinaCodigo",
+        "disciplinaNome", "professorNome", "nota1", "nota2", "media", "status", "dataMatricula" })
+public class MatriculaExportacaoDTO {
+
+    private Long id;
+    private Long alunoId;
+    private String alunoNome;
+    private String alunoMatricula;
+    private Long disciplinaId;
+    private String disciplinaCodigo;
+    private String disciplinaNome;
+    private String professorNome;
+    private BigDecimal nota1;
+    private BigDecimal nota2;
+    private BigDecimal media;
+    private StatusMatricula status;
+    private LocalDateTime dataMatricula;
+}
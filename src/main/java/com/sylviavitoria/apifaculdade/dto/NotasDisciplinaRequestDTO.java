@@ -0,0 +1,18 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class NotasDisciplinaRequestDTO {
+
+    @Schema(description = "Notas de cada aluno da turma", required = true)
+    @NotEmpty(message = "A lista de notas é obrigatória")
+    private List<@Valid NotaAlunoRequestDTO> notas;
+}
@@ -0,0 +1,19 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
+
+import lombok.Value;
+
+@Value
+public class UsuarioPrincipalDTO {
+
+    private Long id;
+
+    private String email;
+
+    private TipoUsuario tipo;
+
+    private Long alunoId;
+
+    private Long professorId;
+}
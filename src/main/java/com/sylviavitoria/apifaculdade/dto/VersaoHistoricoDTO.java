@@ -0,0 +1,19 @@
+package com.sylviavitoria.apifaculdade.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+@Value
+public class VersaoHistoricoDTO {
+
+    private LocalDateTime alunoAtualizadoEm;
+
+    private Long quantidadeMatriculas;
+
+    private LocalDateTime matriculasAtualizadasEm;
+
+    private LocalDateTime disciplinasAtualizadasEm;
+
+    private LocalDateTime professoresAtualizadosEm;
+}
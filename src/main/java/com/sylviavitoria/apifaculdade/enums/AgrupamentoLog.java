@@ -0,0 +1,17 @@
+package com.sylviavitoria.apifaculdade.enums;
+
+public enum AgrupamentoLog {
+    OPERATION("operation"),
+    LEVEL("level"),
+    USER_ID("userId");
+
+    private final String campo;
+
+    AgrupamentoLog(String campo) {
+        this.campo = campo;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+}
@@ -0,0 +1,7 @@
+package com.sylviavitoria.apifaculdade.enums;
+
+public enum IntervaloLog {
+    MINUTE,
+    HOUR,
+    DAY
+}
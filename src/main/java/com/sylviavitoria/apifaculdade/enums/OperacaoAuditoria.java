@@ -0,0 +1,66 @@
+package com.sylviavitoria.apifaculdade.enums;
+
+import java.util.Optional;
+
+public enum OperacaoAuditoria {
+    CREATE_ALUNO(TipoEntidade.ALUNO, "criarAluno", "Aluno criado com sucesso", "Erro ao criar aluno"),
+    IMPORT_ALUNOS(TipoEntidade.ALUNO, "importarAlunos", "Alunos importados em lote", "Erro ao importar alunos"),
+    UPDATE_ALUNO(TipoEntidade.ALUNO, "atualizarAluno", "Aluno atualizado com sucesso", "Erro ao atualizar aluno"),
+    DELETE_ALUNO(TipoEntidade.ALUNO, "deletarAluno", "Aluno deletado com sucesso", "Erro ao deletar aluno"),
+    DELETE_ALUNOS(TipoEntidade.ALUNO, "deletarAlunos", "Alunos deletados em lote", "Erro ao deletar alunos em lote"),
+
+    CREATE_PROFESSOR(TipoEntidade.PROFESSOR, "criarProfessor", "Professor criado com sucesso", "Erro ao criar professor"),
+    UPDATE_PROFESSOR(TipoEntidade.PROFESSOR, "atualizarProfessor", "Professor atualizado com sucesso", "Erro ao atualizar professor"),
+    DELETE_PROFESSOR(TipoEntidade.PROFESSOR, "deletarProfessor", "Professor deletado com sucesso", "Erro ao deletar professor"),
+    DELETE_PROFESSORES(TipoEntidade.PROFESSOR, "deletarProfessores", "Professores deletados em lote", "Erro ao deletar professores em lote"),
+
+    CREATE_DISCIPLINA(TipoEntidade.DISCIPLINA, "criarDisciplina", "Disciplina criada com sucesso", "Erro ao criar disciplina"),
+    UPDATE_DISCIPLINA(TipoEntidade.DISCIPLINA, "atualizarDisciplina", "Disciplina atualizada com sucesso", "Erro ao atualizar disciplina"),
+    DELETE_DISCIPLINA(TipoEntidade.DISCIPLINA, "deletarDisciplina", "Disciplina deletada com sucesso", "Erro ao deletar disciplina"),
+
+    CREATE_MATRICULA(TipoEntidade.MATRICULA, "criarMatricula", "Matrícula criada com sucesso", "Erro ao criar matrícula"),
+    CREATE_MATRICULA_LOTE(TipoEntidade.MATRICULA, "criarMatriculasEmLote", "Matrículas criadas em lote", "Erro ao criar matrículas em lote"),
+    UPDATE_NOTAS(TipoEntidade.MATRICULA, "atualizarNotas", "Notas atualizadas com sucesso", "Erro ao atualizar notas"),
+    UPDATE_NOTAS_LOTE(TipoEntidade.DISCIPLINA, "atualizarNotasDaDisciplina", "Notas atualizadas em lote", "Erro ao atualizar notas em lote"),
+    DELETE_MATRICULA(TipoEntidade.MATRICULA, "deletarMatricula", "Matrícula deletada com sucesso", "Erro ao deletar matrícula"),
+    EXPORT_MATRICULAS(TipoEntidade.MATRICULA, "exportarMatriculas", "Exportação de matrículas concluída", "Erro ao exportar matrículas");
+
+    private final TipoEntidade entidade;
+    private final String metodo;
+    private final String mensagemSucesso;
+    private final String mensagemErro;
+
+    OperacaoAuditoria(TipoEntidade entidade, String metodo, String mensagemSucesso, String mensagemErro) {
+        this.entidade = entidade;
+        this.metodo = metodo;
+        this.mensagemSucesso = mensagemSucesso;
+        this.mensagemErro = mensagemErro;
+    }
+
+    public TipoEntidade getEntidade() {
+        return entidade;
+    }
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    public String mensagem(ResultadoAuditoria resultado, Long entidadeId, String erro) {
+        StringBuilder mensagem = new StringBuilder(resultado == ResultadoAuditoria.SUCESSO ? mensagemSucesso : mensagemErro);
+        if (entidadeId != null) {
+            mensagem.append(" (ID: ").append(entidadeId).append(')');
+        }
+        if (erro != null) {
+            mensagem.append(": ").append(erro);
+        }
+        return mensagem.toString();
+    }
+
+    public static Optional<OperacaoAuditoria> de(String nome) {
+        try {
+            return Optional.of(valueOf(nome));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Optional.empty();
+        }
+    }
+}
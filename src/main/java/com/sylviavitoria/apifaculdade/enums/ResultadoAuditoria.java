@@ -0,0 +1,6 @@
+package com.sylviavitoria.apifaculdade.enums;
+
+public enum ResultadoAuditoria {
+    SUCESSO,
+    ERRO
+}
@@ -0,0 +1,8 @@
+package com.sylviavitoria.apifaculdade.enums;
+
+public enum TipoEntidade {
+    ALUNO,
+    PROFESSOR,
+    DISCIPLINA,
+    MATRICULA
+}
@@ -0,0 +1,7 @@
+package com.sylviavitoria.apifaculdade.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 
 import java.util.HashMap;
@@ -28,6 +29,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleCursorInvalido(CursorInvalidoException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("erro", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    @ExceptionHandler(PeriodoInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handlePeriodoInvalido(PeriodoInvalidoException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("erro", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
     @ExceptionHandler(EntityExistsException.class)
     public ResponseEntity<Map<String, String>> handleEntityExists(EntityExistsException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -86,4 +101,12 @@ public class GlobalExceptionHandler {
         errors.put("erro", mensagem);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
+
+    @ExceptionHandler(RuntimeJsonMappingException.class)
+    public ResponseEntity<Map<String, String>> handleRuntimeJsonMapping(RuntimeJsonMappingException ex) {
+        log.error("Erro ao converter item do corpo da requisição: {}", ex.getMessage());
+        Map<String, String> errors = new HashMap<>();
+        errors.put("erro", "Erro ao processar a requisição. Verifique o formato dos dados");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
 }
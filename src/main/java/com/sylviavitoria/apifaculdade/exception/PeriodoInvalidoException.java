@@ -0,0 +1,7 @@
+package com.sylviavitoria.apifaculdade.exception;
+
+public class PeriodoInvalidoException extends RuntimeException {
+    public PeriodoInvalidoException(String message) {
+        super(message);
+    }
+}
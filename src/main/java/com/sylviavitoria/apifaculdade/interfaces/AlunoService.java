@@ -1,16 +1,22 @@
 package com.sylviavitoria.apifaculdade.interfaces;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 
 public interface AlunoService {
     AlunoResponseDTO criarAluno(AlunoRequestDTO alunoRequestDTO);
+    LoteResponseDTO importarAlunos(Iterator<AlunoRequestDTO> alunos);
     AlunoResponseDTO atualizarAluno(Long id, AlunoRequestDTO alunoRequestDTO);
     void deletarAluno(Long id);
+    LoteResponseDTO deletarAlunos(List<Long> ids);
     AlunoResponseDTO buscarAlunoPorId(Long id);
     Page<AlunoResponseDTO> listarAlunos(int page, int size, List<String> sort);
+    CursorResponseDTO<AlunoResponseDTO> listarAlunosPorCursor(String cursor, int size);
     AlunoResponseDTO buscarAlunoLogado();
 }
\ No newline at end of file
@@ -4,14 +4,19 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.EstatisticaDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoDisciplinaResponseDTO;
 
 public interface DisciplinaService {
     DisciplinaResponseDTO criarDisciplina(DisciplinaRequestDTO disciplinaRequestDTO);
     DisciplinaResponseDTO atualizarDisciplina(Long id, DisciplinaRequestDTO disciplinaRequestDTO);
-    void deletarDisciplina(Long id);
+    ExclusaoDisciplinaResponseDTO deletarDisciplina(Long id, boolean cascata);
     DisciplinaResponseDTO buscarDisciplinaPorId(Long id);
     Page<DisciplinaResponseDTO> listarDisciplinas(int page, int size, List<String> sort);
+    CursorResponseDTO<DisciplinaResponseDTO> listarDisciplinasPorCursor(String cursor, int size);
+    EstatisticaDisciplinaResponseDTO buscarEstatisticas(Long id);
 
 }
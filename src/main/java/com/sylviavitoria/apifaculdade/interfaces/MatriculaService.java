@@ -1,18 +1,34 @@
 package com.sylviavitoria.apifaculdade.interfaces;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.HistoricoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.NotaRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.NotasDisciplinaRequestDTO;
+import com.sylviavitoria.apifaculdade.enums.FormatoExportacao;
 
 public interface MatriculaService {
     MatriculaResponseDTO criarMatricula(MatriculaRequestDTO matriculaRequestDTO);
+    LoteResponseDTO criarMatriculasEmLote(Iterator<MatriculaRequestDTO> matriculas);
     MatriculaResponseDTO atualizarNotas(Long id, NotaRequestDTO notaRequestDTO);
+    LoteResponseDTO atualizarNotasDaDisciplina(Long disciplinaId, NotasDisciplinaRequestDTO notasRequestDTO);
     void deletarMatricula(Long id);
     MatriculaResponseDTO buscarMatriculaPorId(Long id);
     Page<MatriculaResponseDTO> listarMatriculas(int page, int size, List<String> sort);
+    CursorResponseDTO<MatriculaResponseDTO> listarMatriculasPorCursor(String cursor, int size);
+    void exportarMatriculas(FormatoExportacao formato, OutputStream saida) throws IOException;
+    HistoricoResponseDTO buscarHistoricoDoAluno(Long alunoId);
+    HistoricoResponseDTO buscarHistoricoDoAlunoLogado();
+    String buscarVersaoHistoricoDoAluno(Long alunoId);
+    String buscarVersaoHistoricoDoAlunoLogado();
 
 }
\ No newline at end of file
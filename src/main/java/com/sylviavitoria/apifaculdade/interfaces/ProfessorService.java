@@ -4,6 +4,9 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
 
@@ -11,7 +14,11 @@ public interface ProfessorService {
     ProfessorResponseDTO criarProfessor(ProfessorRequestDTO professorRequestDTO);
     ProfessorResponseDTO atualizarProfessor(Long id, ProfessorRequestDTO professorRequestDTO);
     void deletarProfessor(Long id);
+    LoteResponseDTO deletarProfessores(List<Long> ids);
     ProfessorResponseDTO buscarProfessorPorId(Long id);
     Page<ProfessorResponseDTO> listarProfessores(int page, int size, List<String> sort);
+    CursorResponseDTO<ProfessorResponseDTO> listarProfessoresPorCursor(String cursor, int size);
     ProfessorResponseDTO buscarProfessorLogado();
+    CursorResponseDTO<AlunoMatriculadoResponseDTO> listarAlunosDaDisciplinaDoProfessorLogado(Long disciplinaId,
+            String cursor, int size);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.sylviavitoria.apifaculdade.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import com.sylviavitoria.apifaculdade.dto.LogResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+import com.sylviavitoria.apifaculdade.enums.ResultadoAuditoria;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface LogMapper {
+
+    @Mapping(target = "message", expression = "java(mensagem(applicationLog))")
+    LogResponseDTO toDTO(ApplicationLog applicationLog);
+
+    // Eventos de auditoria guardam só o erro em message; o texto completo é montado na leitura.
+    default String mensagem(ApplicationLog applicationLog) {
+        if (applicationLog.getOutcome() == null) {
+            return applicationLog.getMessage();
+        }
+        return OperacaoAuditoria.de(applicationLog.getOperation())
+                .map(operacao -> operacao.mensagem(ResultadoAuditoria.valueOf(applicationLog.getOutcome()),
+                        applicationLog.getEntityId(), applicationLog.getMessage()))
+                .orElse(applicationLog.getMessage());
+    }
+}
@@ -1,7 +1,10 @@
 package com.sylviavitoria.apifaculdade.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
+import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemHistoricoResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
 import com.sylviavitoria.apifaculdade.model.Matricula;
@@ -10,4 +13,10 @@ import com.sylviavitoria.apifaculdade.model.Matricula;
 public interface MatriculaMapper {
     Matricula toEntity(MatriculaRequestDTO request);
     MatriculaResponseDTO toDTO(Matricula matricula);
-}
\ No newline at end of file
+
+    @Mapping(target = "id", source = "matricula.id")
+    @Mapping(target = "disciplina", source = "disciplina")
+    MatriculaResponseDTO toDTO(Matricula matricula, DisciplinaResponseDTO disciplina);
+
+    ItemHistoricoResponseDTO toItemHistorico(Matricula matricula);
+}
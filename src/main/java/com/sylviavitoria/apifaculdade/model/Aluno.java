@@ -1,10 +1,15 @@
 package com.sylviavitoria.apifaculdade.model;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -20,7 +25,8 @@ import lombok.Setter;
 public class Aluno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_aluno")
+    @SequenceGenerator(name = "seq_aluno", sequenceName = "seq_aluno", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,4 +41,8 @@ public class Aluno {
     @Column(nullable = false)
     private String senha;
 
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
 }
@@ -24,5 +24,9 @@ public class ApplicationLog {
     private String method;
     private String userId;
     private String operation;
+    private String entityType;
+    private Long entityId;
+    private String outcome;
+    private Long durationMs;
     private Map<String, Object> metadata;
 }
@@ -0,0 +1,54 @@
+package com.sylviavitoria.apifaculdade.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Log de auditoria aguardando publicação no MongoDB. O id é o mesmo do documento em
+// application_logs, o que torna a republicação do mesmo registro inofensiva.
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_audit_outbox")
+public class AuditOutbox implements Persistable<String> {
+
+    @Id
+    @Column(length = 24)
+    private String id;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Transient
+    private boolean novo = true;
+
+    public AuditOutbox(String id, LocalDateTime criadoEm, String payload) {
+        this.id = id;
+        this.criadoEm = criadoEm;
+        this.payload = payload;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistido() {
+        this.novo = false;
+    }
+}
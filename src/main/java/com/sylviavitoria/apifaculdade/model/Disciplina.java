@@ -1,5 +1,9 @@
 package com.sylviavitoria.apifaculdade.model;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -22,7 +27,8 @@ import lombok.Setter;
 public class Disciplina {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_disciplina")
+    @SequenceGenerator(name = "seq_disciplina", sequenceName = "seq_disciplina", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -34,5 +40,9 @@ public class Disciplina {
     @ManyToOne
     @JoinColumn(name = "professor_id")
     private Professor professor;
+
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
     
 }
@@ -0,0 +1,99 @@
+package com.sylviavitoria.apifaculdade.model;
+
+import java.math.BigDecimal;
+
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_estatistica_disciplina")
+public class EstatisticaDisciplina {
+
+    public static final String[] FAIXAS = { "0-2", "2-4", "4-6", "6-8", "8-10" };
+
+    @Id
+    @Column(name = "disciplina_id")
+    private Long disciplinaId;
+
+    @Column(name = "total_matriculas", nullable = false)
+    private long totalMatriculas;
+
+    @Column(name = "total_com_media", nullable = false)
+    private long totalComMedia;
+
+    @Column(name = "soma_media", nullable = false, precision = 14, scale = 2)
+    private BigDecimal somaMedia = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long aprovados;
+
+    @Column(nullable = false)
+    private long reprovados;
+
+    @Column(nullable = false)
+    private long cursando;
+
+    @Column(name = "faixa_0_2", nullable = false)
+    private long faixa0a2;
+
+    @Column(name = "faixa_2_4", nullable = false)
+    private long faixa2a4;
+
+    @Column(name = "faixa_4_6", nullable = false)
+    private long faixa4a6;
+
+    @Column(name = "faixa_6_8", nullable = false)
+    private long faixa6a8;
+
+    @Column(name = "faixa_8_10", nullable = false)
+    private long faixa8a10;
+
+    public EstatisticaDisciplina(Long disciplinaId) {
+        this.disciplinaId = disciplinaId;
+    }
+
+    public void adicionar(BigDecimal media, StatusMatricula status) {
+        aplicar(media, status, 1);
+    }
+
+    public void remover(BigDecimal media, StatusMatricula status) {
+        aplicar(media, status, -1);
+    }
+
+    public long[] getDistribuicao() {
+        return new long[] { faixa0a2, faixa2a4, faixa4a6, faixa6a8, faixa8a10 };
+    }
+
+    private void aplicar(BigDecimal media, StatusMatricula status, int sinal) {
+        totalMatriculas += sinal;
+
+        if (status == StatusMatricula.APROVADO) {
+            aprovados += sinal;
+        } else if (status == StatusMatricula.REPROVADO) {
+            reprovados += sinal;
+        } else {
+            cursando += sinal;
+        }
+
+        if (media == null) {
+            return;
+        }
+        totalComMedia += sinal;
+        somaMedia = sinal > 0 ? somaMedia.add(media) : somaMedia.subtract(media);
+        switch (Math.min(media.intValue() / 2, 4)) {
+            case 0 -> faixa0a2 += sinal;
+            case 1 -> faixa2a4 += sinal;
+            case 2 -> faixa4a6 += sinal;
+            case 3 -> faixa6a8 += sinal;
+            default -> faixa8a10 += sinal;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.sylviavitoria.apifaculdade.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+import com.sylviavitoria.apifaculdade.enums.ResultadoAuditoria;
+
+import lombok.Getter;
+
+@Getter
+public final class EventoAuditoria {
+
+    private final OperacaoAuditoria operacao;
+    private final ResultadoAuditoria resultado;
+    private final String ator;
+    private final String erro;
+    private final LocalDateTime timestamp;
+    private String origem;
+    private Long entidadeId;
+    private Long duracaoMs;
+    private Map<String, Object> detalhes;
+
+    private EventoAuditoria(OperacaoAuditoria operacao, ResultadoAuditoria resultado, String ator, String erro,
+            LocalDateTime timestamp) {
+        this.operacao = operacao;
+        this.resultado = resultado;
+        this.ator = ator;
+        this.erro = erro;
+        this.timestamp = timestamp;
+    }
+
+    public static EventoAuditoria sucesso(OperacaoAuditoria operacao, String ator) {
+        return new EventoAuditoria(operacao, ResultadoAuditoria.SUCESSO, ator, null, LocalDateTime.now());
+    }
+
+    public static EventoAuditoria erro(OperacaoAuditoria operacao, String ator, Throwable causa) {
+        return new EventoAuditoria(operacao, ResultadoAuditoria.ERRO, ator, causa.getMessage(), LocalDateTime.now());
+    }
+
+    // A operação terminou, mas a transação que a envolvia foi desfeita depois.
+    public EventoAuditoria revertido() {
+        EventoAuditoria revertido = new EventoAuditoria(operacao, ResultadoAuditoria.ERRO, ator,
+                "Transação revertida", timestamp);
+        revertido.origem = origem;
+        revertido.entidadeId = entidadeId;
+        revertido.duracaoMs = duracaoMs;
+        revertido.detalhes = detalhes;
+        return revertido;
+    }
+
+    public EventoAuditoria origem(String classe) {
+        this.origem = classe;
+        return this;
+    }
+
+    public EventoAuditoria entidade(Long id) {
+        this.entidadeId = id;
+        return this;
+    }
+
+    public EventoAuditoria duracao(long milissegundos) {
+        this.duracaoMs = milissegundos;
+        return this;
+    }
+
+    public EventoAuditoria com(String chave, Object valor) {
+        if (detalhes == null) {
+            detalhes = new LinkedHashMap<>(4);
+        }
+        detalhes.put(chave, valor);
+        return this;
+    }
+}
@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
 
 import jakarta.persistence.*;
@@ -21,7 +23,8 @@ import lombok.Setter;
 public class Matricula {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_matricula")
+    @SequenceGenerator(name = "seq_matricula", sequenceName = "seq_matricula", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -48,6 +51,10 @@ public class Matricula {
     @Column(name = "data_matricula")
     private LocalDateTime dataMatricula = LocalDateTime.now();
 
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
     public void calcularMediaEStatus() {
         if (nota1 != null && nota2 != null) {
             this.media = nota1.add(nota2)
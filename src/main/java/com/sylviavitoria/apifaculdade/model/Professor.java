@@ -1,10 +1,15 @@
 package com.sylviavitoria.apifaculdade.model;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -19,7 +24,8 @@ import lombok.Setter;
 @Table(name = "tb_professor")
 public class Professor {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_professor")
+    @SequenceGenerator(name = "seq_professor", sequenceName = "seq_professor", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,4 +36,8 @@ public class Professor {
 
     @Column(nullable = false)
     private String senha;
+
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
 }
\ No newline at end of file
@@ -1,6 +1,15 @@
 package com.sylviavitoria.apifaculdade.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sylviavitoria.apifaculdade.model.Aluno;
@@ -8,4 +17,26 @@ import com.sylviavitoria.apifaculdade.model.Aluno;
 @Repository
 public interface AlunoRepository extends JpaRepository<Aluno, Long>  {
     boolean existsByMatricula(String matricula);
+
+    @Query("SELECT a.id FROM Aluno a WHERE a.id IN :ids")
+    Set<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.id, a.email FROM Aluno a WHERE a.id IN :ids")
+    List<Object[]> findEmailsPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Aluno a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.email FROM Aluno a WHERE a.email IN :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT a.matricula FROM Aluno a WHERE a.matricula IN :matriculas")
+    Set<String> findMatriculasExistentes(@Param("matriculas") Collection<String> matriculas);
+
+    @Query("SELECT a FROM Aluno a ORDER BY a.nome, a.id")
+    Slice<Aluno> findPrimeirosPorNome(Pageable pageable);
+
+    @Query("SELECT a FROM Aluno a WHERE a.nome > :nome OR (a.nome = :nome AND a.id > :id) ORDER BY a.nome, a.id")
+    Slice<Aluno> findProximosPorNome(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
 }
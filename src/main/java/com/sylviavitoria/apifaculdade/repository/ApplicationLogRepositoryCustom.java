@@ -0,0 +1,26 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.sylviavitoria.apifaculdade.dto.LogAgregadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+public interface ApplicationLogRepositoryCustom {
+
+    Slice<ApplicationLog> findPorFiltro(LogFiltroDTO filtro, LocalDateTime timestamp, String id, Pageable pageable);
+
+    Stream<ApplicationLog> streamPorFiltro(LogFiltroDTO filtro);
+
+    List<LogAgregadoResponseDTO> agregar(LogFiltroDTO filtro, AgrupamentoLog agrupamento, IntervaloLog intervalo,
+            int limite);
+
+    void inserirIgnorandoDuplicados(List<ApplicationLog> logs);
+}
@@ -0,0 +1,189 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.sylviavitoria.apifaculdade.dto.LogAgregadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+class ApplicationLogRepositoryCustomImpl implements ApplicationLogRepositoryCustom {
+
+    private static final int LOTE_CURSOR = 500;
+    private static final String SUFIXO_ERRO = "_ERROR";
+    private static final int CHAVE_DUPLICADA = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ZoneId fuso;
+
+    // Os períodos da agregação (dia, hora) são cortados no fuso do negócio, não no do servidor.
+    ApplicationLogRepositoryCustomImpl(MongoTemplate mongoTemplate,
+            @Value("${audit.log.aggregation.time-zone:${spring.jackson.time-zone:America/Sao_Paulo}}") ZoneId fuso) {
+        this.mongoTemplate = mongoTemplate;
+        this.fuso = fuso;
+    }
+
+    @Override
+    public Slice<ApplicationLog> findPorFiltro(LogFiltroDTO filtro, LocalDateTime timestamp, String id,
+            Pageable pageable) {
+        Query query = consultaPorCursor(filtro, timestamp, id, pageable.getPageSize() + 1);
+
+        List<ApplicationLog> logs = mongoTemplate.find(query, ApplicationLog.class);
+        boolean temProximo = logs.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProximo ? logs.subList(0, pageable.getPageSize()) : logs, pageable, temProximo);
+    }
+
+    // Ordena do mais recente para o mais antigo; o id desempata logs gravados no mesmo instante.
+    // O limite superior em timestamp fica fora do $or para virar limite da varredura do índice.
+    Query consultaPorCursor(LogFiltroDTO filtro, LocalDateTime timestamp, String id, int limite) {
+        List<Criteria> condicoes = condicoes(filtro);
+        if (timestamp != null) {
+            condicoes.add(Criteria.where("timestamp").lte(timestamp));
+            condicoes.add(new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(timestamp),
+                    Criteria.where("id").lt(new ObjectId(id))));
+        }
+        return consulta(condicoes).limit(limite);
+    }
+
+    @Override
+    public Stream<ApplicationLog> streamPorFiltro(LogFiltroDTO filtro) {
+        Query query = consulta(condicoes(filtro)).cursorBatchSize(LOTE_CURSOR);
+        return mongoTemplate.stream(query, ApplicationLog.class);
+    }
+
+    // Lote não ordenado: um documento já gravado (mesmo _id) não impede a gravação dos demais.
+    @Override
+    public void inserirIgnorandoDuplicados(List<ApplicationLog> logs) {
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, ApplicationLog.class).insert(logs).execute();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(erro -> erro.getCode() == CHAVE_DUPLICADA)) {
+                throw e;
+            }
+        }
+    }
+
+    // O filtro vira o primeiro estágio ($match) para aproveitar os índices por campo + timestamp;
+    // só os grupos saem do MongoDB.
+    @Override
+    public List<LogAgregadoResponseDTO> agregar(LogFiltroDTO filtro, AgrupamentoLog agrupamento,
+            IntervaloLog intervalo, int limite) {
+        List<AggregationOperation> estagios = new ArrayList<>();
+        List<Criteria> condicoes = condicoes(filtro);
+        if (!condicoes.isEmpty()) {
+            estagios.add(Aggregation.match(new Criteria().andOperator(condicoes)));
+        }
+
+        Document chave = new Document("chave", chaveDoGrupo(agrupamento));
+        if (intervalo != null) {
+            chave.append("periodo", new Document("$dateTrunc", new Document("date", "$timestamp")
+                    .append("unit", intervalo.name().toLowerCase())
+                    .append("timezone", fuso.getId())));
+        }
+        Document grupo = new Document("_id", chave)
+                .append("total", new Document("$sum", 1))
+                .append("erros", new Document("$sum",
+                        new Document("$cond", List.of(new Document("$eq", List.of("$level", "ERROR")), 1, 0))));
+        Document ordem = intervalo != null
+                ? new Document("_id.periodo", 1).append("total", -1)
+                : new Document("total", -1).append("_id.chave", 1);
+
+        estagios.add(contexto -> new Document("$group", grupo));
+        estagios.add(contexto -> new Document("$sort", ordem));
+        estagios.add(Aggregation.limit(limite));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(estagios), ApplicationLog.class, Document.class)
+                .getMappedResults().stream()
+                .map(this::toAgregado)
+                .toList();
+    }
+
+    // Os eventos tipados gravam a operação sem sufixo e marcam o erro no nível. O corte do sufixo
+    // _ERROR existe só para os logs gravados antes deles, que ainda chegam como <OPERACAO>_ERROR.
+    private static Object chaveDoGrupo(AgrupamentoLog agrupamento) {
+        String campo = "$" + agrupamento.getCampo();
+        if (agrupamento != AgrupamentoLog.OPERATION) {
+            return campo;
+        }
+        return new Document("$cond", List.of(
+                new Document("$regexMatch", new Document("input", campo).append("regex", SUFIXO_ERRO + "$")),
+                new Document("$substrCP", List.of(campo, 0,
+                        new Document("$subtract", List.of(new Document("$strLenCP", campo), SUFIXO_ERRO.length())))),
+                campo));
+    }
+
+    private LogAgregadoResponseDTO toAgregado(Document resultado) {
+        Document id = resultado.get("_id", Document.class);
+        Date periodo = id.getDate("periodo");
+        long total = resultado.get("total", Number.class).longValue();
+        long erros = resultado.get("erros", Number.class).longValue();
+        return LogAgregadoResponseDTO.builder()
+                .chave(id.get("chave") != null ? id.get("chave").toString() : null)
+                .periodo(periodo != null ? LocalDateTime.ofInstant(periodo.toInstant(), fuso) : null)
+                .total(total)
+                .erros(erros)
+                .taxaErro(total == 0 ? BigDecimal.ZERO
+                        : BigDecimal.valueOf(erros * 100).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    private List<Criteria> condicoes(LogFiltroDTO filtro) {
+        List<Criteria> condicoes = new ArrayList<>();
+        igual(condicoes, "level", filtro.getLevel());
+        igual(condicoes, "userId", filtro.getUserId());
+        igual(condicoes, "operation", filtro.getOperation());
+        igual(condicoes, "className", filtro.getClassName());
+        igual(condicoes, "entityType", filtro.getEntityType());
+        if (filtro.getEntityId() != null) {
+            condicoes.add(Criteria.where("entityId").is(filtro.getEntityId()));
+        }
+        if (filtro.getInicio() != null || filtro.getFim() != null) {
+            Criteria periodo = Criteria.where("timestamp");
+            if (filtro.getInicio() != null) {
+                periodo.gte(filtro.getInicio());
+            }
+            if (filtro.getFim() != null) {
+                periodo.lt(filtro.getFim());
+            }
+            condicoes.add(periodo);
+        }
+        return condicoes;
+    }
+
+    private static void igual(List<Criteria> condicoes, String campo, String valor) {
+        if (valor != null && !valor.isBlank()) {
+            condicoes.add(Criteria.where(campo).is(valor));
+        }
+    }
+
+    private static Query consulta(List<Criteria> condicoes) {
+        Query query = condicoes.isEmpty() ? new Query() : new Query(new Criteria().andOperator(condicoes));
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        query.fields().exclude("metadata");
+        return query;
+    }
+}
@@ -0,0 +1,22 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.sylviavitoria.apifaculdade.model.AuditOutbox;
+
+@Repository
+public interface AuditOutboxRepository extends JpaRepository<AuditOutbox, String> {
+
+    List<AuditOutbox> findByOrderByIdAsc(Pageable pageable);
+
+    // O id é um ObjectId, cuja ordem é a de criação; a chave primária responde sem varrer a tabela.
+    @Query("SELECT o.criadoEm FROM AuditOutbox o ORDER BY o.id ASC LIMIT 1")
+    Optional<LocalDateTime> findCriadoEmMaisAntigo();
+}
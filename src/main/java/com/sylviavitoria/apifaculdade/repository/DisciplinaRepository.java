@@ -1,8 +1,15 @@
 package com.sylviavitoria.apifaculdade.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sylviavitoria.apifaculdade.model.Disciplina;
@@ -11,5 +18,19 @@ import com.sylviavitoria.apifaculdade.model.Disciplina;
 public interface DisciplinaRepository extends JpaRepository<Disciplina, Long> {
     boolean existsByCodigo(String codigo);
     List<Disciplina> findByProfessorId(Long professorId);
-}
+    boolean existsByIdAndProfessorId(Long id, Long professorId);
+
+    @Modifying
+    @Query("DELETE FROM Disciplina d WHERE d.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT d.id FROM Disciplina d WHERE d.id IN :ids")
+    Set<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 
+    @Query("SELECT d FROM Disciplina d LEFT JOIN FETCH d.professor ORDER BY d.nome, d.id")
+    Slice<Disciplina> findPrimeirosPorNome(Pageable pageable);
+
+    @Query("SELECT d FROM Disciplina d LEFT JOIN FETCH d.professor " +
+           "WHERE d.nome > :nome OR (d.nome = :nome AND d.id > :id) ORDER BY d.nome, d.id")
+    Slice<Disciplina> findProximosPorNome(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sylviavitoria.apifaculdade.model.EstatisticaDisciplina;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface EstatisticaDisciplinaRepository extends JpaRepository<EstatisticaDisciplina, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EstatisticaDisciplina e WHERE e.disciplinaId = :disciplinaId")
+    Optional<EstatisticaDisciplina> findParaAtualizacao(@Param("disciplinaId") Long disciplinaId);
+}
@@ -1,11 +1,92 @@
 package com.sylviavitoria.apifaculdade.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.MatriculaExportacaoDTO;
+import com.sylviavitoria.apifaculdade.dto.VersaoHistoricoDTO;
 import com.sylviavitoria.apifaculdade.model.Matricula;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface MatriculaRepository extends JpaRepository<Matricula, Long> {
     boolean existsByAlunoIdAndDisciplinaId(Long alunoId, Long disciplinaId);
-}
\ No newline at end of file
+
+    @Query("SELECT m.aluno.id, m.disciplina.id FROM Matricula m " +
+           "WHERE m.aluno.id IN :alunoIds AND m.disciplina.id IN :disciplinaIds")
+    List<Object[]> findParesExistentes(@Param("alunoIds") Collection<Long> alunoIds,
+                                       @Param("disciplinaIds") Collection<Long> disciplinaIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Matricula m WHERE m.disciplina.id = :disciplinaId AND m.aluno.id IN :alunoIds")
+    List<Matricula> findParaAtualizacaoDeNotas(@Param("disciplinaId") Long disciplinaId,
+                                               @Param("alunoIds") Collection<Long> alunoIds);
+
+    @Modifying
+    @Query("DELETE FROM Matricula m WHERE m.disciplina.id = :disciplinaId")
+    int deleteByDisciplinaId(@Param("disciplinaId") Long disciplinaId);
+
+    @Query("SELECT m FROM Matricula m JOIN FETCH m.aluno a JOIN FETCH m.disciplina d LEFT JOIN FETCH d.professor " +
+           "WHERE a.id = :alunoId ORDER BY m.dataMatricula, m.id")
+    List<Matricula> findHistoricoDoAluno(@Param("alunoId") Long alunoId);
+
+    @Query("SELECT new com.sylviavitoria.apifaculdade.dto.VersaoHistoricoDTO(" +
+           "a.atualizadoEm, COUNT(m), MAX(m.atualizadoEm), MAX(d.atualizadoEm), MAX(p.atualizadoEm)) " +
+           "FROM Aluno a LEFT JOIN Matricula m ON m.aluno = a LEFT JOIN m.disciplina d LEFT JOIN d.professor p " +
+           "WHERE a.id = :alunoId GROUP BY a.id, a.atualizadoEm")
+    Optional<VersaoHistoricoDTO> findVersaoHistoricoDoAluno(@Param("alunoId") Long alunoId);
+
+    @Query("SELECT new com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO(" +
+           "m.id, a.id, a.nome, a.email, a.matricula, m.nota1, m.nota2, m.media, m.status) " +
+           "FROM Matricula m JOIN m.aluno a WHERE m.disciplina.id = :disciplinaId ORDER BY a.nome, m.id")
+    Slice<AlunoMatriculadoResponseDTO> findPrimeirosAlunosDaDisciplina(@Param("disciplinaId") Long disciplinaId,
+                                                                      Pageable pageable);
+
+    @Query("SELECT new com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO(" +
+           "m.id, a.id, a.nome, a.email, a.matricula, m.nota1, m.nota2, m.media, m.status) " +
+           "FROM Matricula m JOIN m.aluno a WHERE m.disciplina.id = :disciplinaId " +
+           "AND (a.nome > :nome OR (a.nome = :nome AND m.id > :id)) ORDER BY a.nome, m.id")
+    Slice<AlunoMatriculadoResponseDTO> findProximosAlunosDaDisciplina(@Param("disciplinaId") Long disciplinaId,
+                                                                     @Param("nome") String nome,
+                                                                     @Param("id") Long id, Pageable pageable);
+
+    @Query(value = "SELECT m FROM Matricula m JOIN FETCH m.aluno JOIN FETCH m.disciplina d LEFT JOIN FETCH d.professor",
+           countQuery = "SELECT COUNT(m) FROM Matricula m")
+    Page<Matricula> findAllComAlunoEDisciplina(Pageable pageable);
+
+    @Query("SELECT m FROM Matricula m JOIN FETCH m.aluno JOIN FETCH m.disciplina d LEFT JOIN FETCH d.professor " +
+           "ORDER BY m.dataMatricula DESC, m.id DESC")
+    Slice<Matricula> findPrimeirasPorData(Pageable pageable);
+
+    @Query("SELECT m FROM Matricula m JOIN FETCH m.aluno JOIN FETCH m.disciplina d LEFT JOIN FETCH d.professor " +
+           "WHERE m.dataMatricula < :dataMatricula OR (m.dataMatricula = :dataMatricula AND m.id < :id) " +
+           "ORDER BY m.dataMatricula DESC, m.id DESC")
+    Slice<Matricula> findProximasPorData(@Param("dataMatricula") LocalDateTime dataMatricula,
+                                        @Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.sylviavitoria.apifaculdade.dto.MatriculaExportacaoDTO(" +
+           "m.id, a.id, a.nome, a.matricula, d.id, d.codigo, d.nome, p.nome, " +
+           "m.nota1, m.nota2, m.media, m.status, m.dataMatricula) " +
+           "FROM Matricula m JOIN m.aluno a JOIN m.disciplina d LEFT JOIN d.professor p ORDER BY m.id")
+    Stream<MatriculaExportacaoDTO> streamParaExportacao();
+}
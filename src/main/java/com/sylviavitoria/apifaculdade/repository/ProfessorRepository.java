@@ -1,6 +1,14 @@
 package com.sylviavitoria.apifaculdade.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sylviavitoria.apifaculdade.model.Professor;
@@ -8,4 +16,16 @@ import com.sylviavitoria.apifaculdade.model.Professor;
 @Repository
 public interface ProfessorRepository extends JpaRepository<Professor, Long>  {
 
+    @Query("SELECT p.id, p.email FROM Professor p WHERE p.id IN :ids")
+    List<Object[]> findEmailsPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Professor p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Professor p ORDER BY p.nome, p.id")
+    Slice<Professor> findPrimeirosPorNome(Pageable pageable);
+
+    @Query("SELECT p FROM Professor p WHERE p.nome > :nome OR (p.nome = :nome AND p.id > :id) ORDER BY p.nome, p.id")
+    Slice<Professor> findProximosPorNome(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
 }
@@ -1,10 +1,16 @@
 package com.sylviavitoria.apifaculdade.repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.sylviavitoria.apifaculdade.dto.UsuarioPrincipalDTO;
 import com.sylviavitoria.apifaculdade.model.Aluno;
 import com.sylviavitoria.apifaculdade.model.Professor;
 import com.sylviavitoria.apifaculdade.model.Usuario;
@@ -14,7 +20,20 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long>  {
     boolean existsByEmail(String email);
     Optional<Usuario> findByEmail(String email);
     Optional<Usuario> findByAluno(Aluno aluno); 
-    void deleteByAluno(Aluno aluno);
     Optional<Usuario> findByProfessor(Professor professor);
-    void deleteByProfessor(Professor professor);
+
+    @Modifying
+    @Query("DELETE FROM Usuario u WHERE u.aluno.id IN :alunoIds")
+    int deleteByAlunoIdIn(@Param("alunoIds") Collection<Long> alunoIds);
+
+    @Modifying
+    @Query("DELETE FROM Usuario u WHERE u.professor.id IN :professorIds")
+    int deleteByProfessorIdIn(@Param("professorIds") Collection<Long> professorIds);
+
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.sylviavitoria.apifaculdade.dto.UsuarioPrincipalDTO(u.id, u.email, u.tipo, a.id, p.id) " +
+           "FROM Usuario u LEFT JOIN u.aluno a LEFT JOIN u.professor p WHERE u.email = :email")
+    Optional<UsuarioPrincipalDTO> findPrincipalByEmail(@Param("email") String email);
 }
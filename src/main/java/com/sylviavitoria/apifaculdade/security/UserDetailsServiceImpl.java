@@ -1,5 +1,6 @@
 package com.sylviavitoria.apifaculdade.security;
 
+import com.sylviavitoria.apifaculdade.dto.UsuarioPrincipalDTO;
 import com.sylviavitoria.apifaculdade.model.Usuario;
 import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,11 +9,15 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioPrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -20,4 +25,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
         return new UsuarioUserDetails(usuario);
     }
-}
\ No newline at end of file
+
+    // Sempre pelo cache: o principal precisa dos IDs de aluno/professor, que não vão no token.
+    public UsuarioUserDetails loadPrincipal(String email, Date emitidoEm) {
+        if (principalCache.isRevogado(email, emitidoEm)) {
+            throw new UsernameNotFoundException("Usuário não encontrado");
+        }
+        return principalCache.get(email, this::buscarPrincipal)
+                .map(UsuarioUserDetails::new)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
+    }
+
+    private Optional<UsuarioPrincipal> buscarPrincipal(String email) {
+        return usuarioRepository.findPrincipalByEmail(email).map(UserDetailsServiceImpl::toPrincipal);
+    }
+
+    private static UsuarioPrincipal toPrincipal(UsuarioPrincipalDTO dto) {
+        return new UsuarioPrincipal(dto.getId(), dto.getEmail(), dto.getTipo(), dto.getAlunoId(), dto.getProfessorId());
+    }
+}
@@ -0,0 +1,14 @@
+package com.sylviavitoria.apifaculdade.security;
+
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
+
+import lombok.Value;
+
+@Value
+public class UsuarioPrincipal {
+    Long id;
+    String email;
+    TipoUsuario tipo;
+    Long alunoId;
+    Long professorId;
+}
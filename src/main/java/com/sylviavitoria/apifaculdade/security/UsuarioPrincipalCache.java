@@ -0,0 +1,108 @@
+package com.sylviavitoria.apifaculdade.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class UsuarioPrincipalCache {
+
+    private final Cache<String, UsuarioPrincipal> cache;
+
+    // Emails de usuários excluídos (ou que trocaram de email) e o instante da revogação. Guardados
+    // pelo tempo de vida do JWT, que é o máximo que um token emitido antes disso continua válido.
+    private final Cache<String, Instant> revogados;
+
+    public UsuarioPrincipalCache(MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.revogados = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuario.principal");
+    }
+
+    public Optional<UsuarioPrincipal> get(String email, Function<String, Optional<UsuarioPrincipal>> loader) {
+        UsuarioPrincipal principal = cache.getIfPresent(email);
+        if (principal != null) {
+            return Optional.of(principal);
+        }
+        Optional<UsuarioPrincipal> loaded = loader.apply(email);
+        loaded.ifPresent(p -> cache.put(email, p));
+        return loaded;
+    }
+
+    public Optional<UsuarioPrincipal> getIfPresent(String email) {
+        return Optional.ofNullable(cache.getIfPresent(email));
+    }
+
+    public void invalidate(String... emails) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(emails);
+                }
+            });
+        }
+        evict(emails);
+    }
+
+    // Só vale depois do commit: se a exclusão for desfeita, os tokens continuam válidos.
+    public void revogar(String... emails) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrarRevogacao(emails);
+                }
+            });
+            evict(emails);
+            return;
+        }
+        registrarRevogacao(emails);
+    }
+
+    // O iat do JWT tem precisão de segundos; um token emitido no mesmo segundo da revogação é recusado.
+    public boolean isRevogado(String email, Date emitidoEm) {
+        Instant revogadoEm = revogados.getIfPresent(email);
+        return revogadoEm != null && (emitidoEm == null || !emitidoEm.toInstant().isAfter(revogadoEm));
+    }
+
+    private void registrarRevogacao(String... emails) {
+        Instant agora = Instant.now();
+        for (String email : emails) {
+            if (email != null) {
+                revogados.put(email, agora);
+            }
+        }
+        evict(emails);
+    }
+
+    private void evict(String... emails) {
+        for (String email : emails) {
+            if (email != null) {
+                cache.invalidate(email);
+            }
+        }
+    }
+}
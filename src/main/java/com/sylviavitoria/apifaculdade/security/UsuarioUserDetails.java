@@ -1,7 +1,8 @@
 package com.sylviavitoria.apifaculdade.security;
 
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.model.Usuario;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,24 +10,47 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
-@RequiredArgsConstructor
+@Getter
 public class UsuarioUserDetails implements UserDetails {
 
-    private final Usuario usuario;
+    private final Long id;
+    private final String email;
+    private final String senha;
+    private final TipoUsuario tipo;
+    private final Long alunoId;
+    private final Long professorId;
+
+    public UsuarioUserDetails(Usuario usuario) {
+        this.id = usuario.getId();
+        this.email = usuario.getEmail();
+        this.senha = usuario.getSenha();
+        this.tipo = usuario.getTipo();
+        this.alunoId = usuario.getAluno() != null ? usuario.getAluno().getId() : null;
+        this.professorId = usuario.getProfessor() != null ? usuario.getProfessor().getId() : null;
+    }
+
+    public UsuarioUserDetails(UsuarioPrincipal principal) {
+        this.id = principal.getId();
+        this.email = principal.getEmail();
+        this.senha = null;
+        this.tipo = principal.getTipo();
+        this.alunoId = principal.getAlunoId();
+        this.professorId = principal.getProfessorId();
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + usuario.getTipo().name()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + tipo.name()));
     }
 
     @Override
     public String getPassword() {
-        return usuario.getSenha();
+        return senha;
     }
 
     @Override
     public String getUsername() {
-        return usuario.getEmail();
+        return email;
     }
 
     @Override
@@ -48,4 +72,4 @@ public class UsuarioUserDetails implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,33 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.sylviavitoria.apifaculdade.audit.AuditContext;
+import com.sylviavitoria.apifaculdade.audit.Audited;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemLoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
 import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.interfaces.AlunoService;
 import com.sylviavitoria.apifaculdade.mapper.AlunoMapper;
@@ -17,11 +37,14 @@ import com.sylviavitoria.apifaculdade.repository.AlunoRepository;
 import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
+import com.sylviavitoria.apifaculdade.security.UsuarioPrincipalCache;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,128 +54,322 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AlunoServiceImpl implements AlunoService {
 
+    private static final int TAMANHO_BLOCO = 500;
+
+    // Tamanhos das colunas de tb_aluno (V1) e tb_usuario (V3).
+    private static final int TAMANHO_MAXIMO_NOME = 100;
+    private static final int TAMANHO_MAXIMO_EMAIL = 100;
+    private static final int TAMANHO_MAXIMO_MATRICULA = 20;
+
     private final AlunoRepository alunoRepository;
     private final UsuarioRepository usuarioRepository;
     private final AlunoMapper alunoMapper;
     private final PasswordEncoder passwordEncoder;
-    private final LogService logService;
+    private final UsuarioPrincipalCache principalCache;
+    private final ExecutorService hashSenhaExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.CREATE_ALUNO, entityId = "#result.id")
     public AlunoResponseDTO criarAluno(AlunoRequestDTO alunoRequestDTO) {
         log.info("Iniciando criação de aluno: {}", alunoRequestDTO.getNome());
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
+        if (usuarioRepository.existsByEmail(alunoRequestDTO.getEmail())) {
+            throw new BusinessException("Já existe um usuário com esse email");
+        }
+        if (alunoRepository.existsByMatricula(alunoRequestDTO.getMatricula())) {
+            throw new BusinessException("Já existe um aluno com essa matrícula");
+        }
+
+        Aluno aluno = alunoMapper.toEntity(alunoRequestDTO);
+        Aluno alunoSalvo = alunoRepository.save(aluno);
+
+        Usuario usuario = new Usuario();
+        usuario.setEmail(alunoSalvo.getEmail());
+        usuario.setSenha(passwordEncoder.encode(alunoRequestDTO.getSenha()));
+        usuario.setTipo(TipoUsuario.ALUNO);
+        usuario.setAluno(alunoSalvo);
+
+        usuarioRepository.save(usuario);
+        principalCache.invalidate(usuario.getEmail());
+
+        AuditContext.detalhe("nome", alunoSalvo.getNome());
+
+        return alunoMapper.toDTO(alunoSalvo);
+    }
+
+    @Override
+    @Audited(operation = OperacaoAuditoria.IMPORT_ALUNOS)
+    public LoteResponseDTO importarAlunos(Iterator<AlunoRequestDTO> alunos) {
+        log.info("Importando alunos em lote");
+
+        List<ItemLoteResponseDTO> itens = new ArrayList<>();
+        Set<String> emailsDaImportacao = new HashSet<>();
+        Set<String> matriculasDaImportacao = new HashSet<>();
+
+        while (alunos.hasNext()) {
+            List<AlunoRequestDTO> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            while (alunos.hasNext() && bloco.size() < TAMANHO_BLOCO) {
+                bloco.add(alunos.next());
+            }
+            itens.addAll(importarBlocoDeAlunos(bloco, itens.size(), emailsDaImportacao, matriculasDaImportacao));
+        }
+
+        int sucessos = (int) itens.stream().filter(ItemLoteResponseDTO::isSucesso).count();
+
+        AuditContext.detalhe("sucessos", sucessos);
+        AuditContext.detalhe("total", itens.size());
+
+        return LoteResponseDTO.builder()
+                .total(itens.size())
+                .sucessos(sucessos)
+                .falhas(itens.size() - sucessos)
+                .itens(itens)
+                .build();
+    }
+
+    private List<ItemLoteResponseDTO> importarBlocoDeAlunos(List<AlunoRequestDTO> bloco, int inicio,
+            Set<String> emailsDaImportacao, Set<String> matriculasDaImportacao) {
+        Set<String> emails = bloco.stream().map(AlunoRequestDTO::getEmail)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> matriculas = bloco.stream().map(AlunoRequestDTO::getMatricula)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Set<String> emailsExistentes = new HashSet<>();
+        if (!emails.isEmpty()) {
+            emailsExistentes.addAll(usuarioRepository.findEmailsExistentes(emails));
+            emailsExistentes.addAll(alunoRepository.findEmailsExistentes(emails));
+        }
+        Set<String> matriculasExistentes = matriculas.isEmpty() ? Set.of()
+                : alunoRepository.findMatriculasExistentes(matriculas);
+
+        ItemLoteResponseDTO[] resultados = new ItemLoteResponseDTO[bloco.size()];
+        List<Integer> posicoes = new ArrayList<>();
+        List<CompletableFuture<String>> senhas = new ArrayList<>();
+
+        for (int i = 0; i < bloco.size(); i++) {
+            AlunoRequestDTO dto = bloco.get(i);
+            String erro = validarAlunoImportado(dto);
+
+            if (erro == null && emailsExistentes.contains(dto.getEmail())) {
+                erro = "Já existe um usuário com esse email";
+            } else if (erro == null && matriculasExistentes.contains(dto.getMatricula())) {
+                erro = "Já existe um aluno com essa matrícula";
+            } else if (erro == null && emailsDaImportacao.contains(dto.getEmail())) {
+                erro = "Email repetido na importação";
+            } else if (erro == null && matriculasDaImportacao.contains(dto.getMatricula())) {
+                erro = "Matrícula repetida na importação";
+            }
+
+            if (erro != null) {
+                resultados[i] = falhaDeImportacao(inicio + i, erro);
+                continue;
+            }
+
+            emailsDaImportacao.add(dto.getEmail());
+            matriculasDaImportacao.add(dto.getMatricula());
+            posicoes.add(i);
+            senhas.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(dto.getSenha()), hashSenhaExecutor));
+        }
+
+        List<Integer> posicoesValidas = new ArrayList<>();
+        List<String> senhasCodificadas = new ArrayList<>();
+
+        for (int j = 0; j < posicoes.size(); j++) {
+            int posicao = posicoes.get(j);
+            try {
+                senhasCodificadas.add(senhas.get(j).join());
+                posicoesValidas.add(posicao);
+            } catch (CompletionException e) {
+                resultados[posicao] = falhaDeImportacao(inicio + posicao, "Senha inválida");
+            }
+        }
+
+        if (posicoesValidas.isEmpty()) {
+            return Arrays.asList(resultados);
+        }
+
+        List<Usuario> novosUsuarios = new ArrayList<>(posicoesValidas.size());
+        for (int j = 0; j < posicoesValidas.size(); j++) {
+            novosUsuarios.add(novoUsuarioImportado(bloco.get(posicoesValidas.get(j)), senhasCodificadas.get(j)));
+        }
 
         try {
-            if (usuarioRepository.existsByEmail(alunoRequestDTO.getEmail())) {
-                throw new BusinessException("Já existe um usuário com esse email");
+            gravarAlunosImportados(novosUsuarios);
+            for (int j = 0; j < novosUsuarios.size(); j++) {
+                int posicao = posicoesValidas.get(j);
+                resultados[posicao] = sucessoDeImportacao(inicio + posicao, novosUsuarios.get(j));
             }
-            if (alunoRepository.existsByMatricula(alunoRequestDTO.getMatricula())) {
-                throw new BusinessException("Já existe um aluno com essa matrícula");
+        } catch (DataAccessException e) {
+            // O bloco inteiro foi desfeito. Cada linha é regravada na sua própria transação, com
+            // entidades novas, para que o erro fique só na linha que o causou.
+            log.warn("Falha ao gravar bloco de alunos importados, gravando um a um: {}", e.getMessage());
+            novosUsuarios.clear();
+            for (int j = 0; j < posicoesValidas.size(); j++) {
+                int posicao = posicoesValidas.get(j);
+                Usuario usuario = novoUsuarioImportado(bloco.get(posicao), senhasCodificadas.get(j));
+                try {
+                    gravarAlunosImportados(List.of(usuario));
+                    novosUsuarios.add(usuario);
+                    resultados[posicao] = sucessoDeImportacao(inicio + posicao, usuario);
+                } catch (DataAccessException erro) {
+                    log.warn("Falha ao gravar aluno importado na linha {}: {}", inicio + posicao, erro.getMessage());
+                    resultados[posicao] = falhaDeImportacao(inicio + posicao, "Não foi possível gravar o aluno");
+                }
             }
+        }
+
+        if (!novosUsuarios.isEmpty()) {
+            principalCache.invalidate(novosUsuarios.stream().map(Usuario::getEmail).toArray(String[]::new));
+        }
 
-            Aluno aluno = alunoMapper.toEntity(alunoRequestDTO);
-            Aluno alunoSalvo = alunoRepository.save(aluno);
+        return Arrays.asList(resultados);
+    }
 
-            Usuario usuario = new Usuario();
-            usuario.setEmail(alunoSalvo.getEmail());
-            usuario.setSenha(passwordEncoder.encode(alunoRequestDTO.getSenha()));
-            usuario.setTipo(TipoUsuario.ALUNO);
-            usuario.setAluno(alunoSalvo);
+    private Usuario novoUsuarioImportado(AlunoRequestDTO dto, String senhaCodificada) {
+        Aluno aluno = alunoMapper.toEntity(dto);
+        aluno.setSenha(senhaCodificada);
 
-            usuarioRepository.save(usuario);
+        Usuario usuario = new Usuario();
+        usuario.setEmail(aluno.getEmail());
+        usuario.setSenha(senhaCodificada);
+        usuario.setTipo(TipoUsuario.ALUNO);
+        usuario.setAluno(aluno);
+        return usuario;
+    }
 
-            logInfo("Aluno criado com sucesso: " + alunoSalvo.getNome() + " (ID: " + alunoSalvo.getId() + ")",
-                    "criarAluno", emailUsuarioLogado, "CREATE_ALUNO");
+    private void gravarAlunosImportados(List<Usuario> usuarios) {
+        transactionTemplate.executeWithoutResult(status -> {
+            alunoRepository.saveAll(usuarios.stream().map(Usuario::getAluno).toList());
+            usuarioRepository.saveAll(usuarios);
+            // O flush pelo repositório traduz erros do banco para DataAccessException.
+            usuarioRepository.flush();
+            entityManager.clear();
+        });
+    }
 
-            return alunoMapper.toDTO(alunoSalvo);
-        } catch (Exception e) {
-            logError("Erro ao criar aluno: " + e.getMessage(),
-                    "criarAluno", emailUsuarioLogado, "CREATE_ALUNO_ERROR");
-            throw e;
+    private String validarAlunoImportado(AlunoRequestDTO dto) {
+        if (dto.getNome() == null || dto.getNome().isBlank()) {
+            return "O nome é obrigatório";
         }
+        if (dto.getEmail() == null || dto.getEmail().isBlank()) {
+            return "O email é obrigatório";
+        }
+        if (dto.getMatricula() == null || dto.getMatricula().isBlank()) {
+            return "A matrícula é obrigatória";
+        }
+        if (dto.getSenha() == null || dto.getSenha().isBlank()) {
+            return "A senha é obrigatória";
+        }
+        if (dto.getNome().length() > TAMANHO_MAXIMO_NOME) {
+            return "O nome deve ter no máximo " + TAMANHO_MAXIMO_NOME + " caracteres";
+        }
+        if (dto.getEmail().length() > TAMANHO_MAXIMO_EMAIL) {
+            return "O email deve ter no máximo " + TAMANHO_MAXIMO_EMAIL + " caracteres";
+        }
+        if (dto.getMatricula().length() > TAMANHO_MAXIMO_MATRICULA) {
+            return "A matrícula deve ter no máximo " + TAMANHO_MAXIMO_MATRICULA + " caracteres";
+        }
+        return null;
+    }
+
+    private ItemLoteResponseDTO sucessoDeImportacao(int indice, Usuario usuario) {
+        return ItemLoteResponseDTO.builder()
+                .indice(indice)
+                .id(usuario.getAluno().getId())
+                .sucesso(true)
+                .build();
+    }
+
+    private ItemLoteResponseDTO falhaDeImportacao(int indice, String erro) {
+        return ItemLoteResponseDTO.builder()
+                .indice(indice)
+                .sucesso(false)
+                .erro(erro)
+                .build();
     }
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.UPDATE_ALUNO, entityId = "#id")
     public AlunoResponseDTO atualizarAluno(Long id, AlunoRequestDTO alunoRequestDTO) {
         log.info("Atualizando aluno com ID: {}", id);
 
-        String emailUsuarioLogado = SecurityContextHolder.getContext().getAuthentication().getName();
+        Aluno alunoExistente = alunoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"));
 
-        try {
-            Aluno alunoExistente = alunoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"));
+        if (!alunoExistente.getEmail().equals(alunoRequestDTO.getEmail()) &&
+                usuarioRepository.existsByEmail(alunoRequestDTO.getEmail())) {
+            throw new BusinessException("Email já está em uso");
+        }
 
-            if (!alunoExistente.getEmail().equals(alunoRequestDTO.getEmail()) &&
-                    usuarioRepository.existsByEmail(alunoRequestDTO.getEmail())) {
-                throw new BusinessException("Email já está em uso");
-            }
-            
 
-            if (!alunoExistente.getMatricula().equals(alunoRequestDTO.getMatricula()) &&
-                    alunoRepository.existsByMatricula(alunoRequestDTO.getMatricula())) {
-                throw new BusinessException("Matrícula já está em uso");
-            }
+        if (!alunoExistente.getMatricula().equals(alunoRequestDTO.getMatricula()) &&
+                alunoRepository.existsByMatricula(alunoRequestDTO.getMatricula())) {
+            throw new BusinessException("Matrícula já está em uso");
+        }
 
-            alunoExistente.setNome(alunoRequestDTO.getNome());
-            alunoExistente.setEmail(alunoRequestDTO.getEmail());
-            alunoExistente.setMatricula(alunoRequestDTO.getMatricula());
+        alunoExistente.setNome(alunoRequestDTO.getNome());
+        alunoExistente.setEmail(alunoRequestDTO.getEmail());
+        alunoExistente.setMatricula(alunoRequestDTO.getMatricula());
 
-            Usuario usuario = usuarioRepository.findByAluno(alunoExistente)
-                    .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        Usuario usuario = usuarioRepository.findByAluno(alunoExistente)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
 
-            usuario.setEmail(alunoRequestDTO.getEmail());
-            if (alunoRequestDTO.getSenha() != null && !alunoRequestDTO.getSenha().isEmpty()) {
-                usuario.setSenha(passwordEncoder.encode(alunoRequestDTO.getSenha()));
-            }
+        String emailAnterior = usuario.getEmail();
+        usuario.setEmail(alunoRequestDTO.getEmail());
+        if (alunoRequestDTO.getSenha() != null && !alunoRequestDTO.getSenha().isEmpty()) {
+            usuario.setSenha(passwordEncoder.encode(alunoRequestDTO.getSenha()));
+        }
 
-            alunoRepository.save(alunoExistente);
-            usuarioRepository.save(usuario);
+        alunoRepository.save(alunoExistente);
+        usuarioRepository.save(usuario);
+        principalCache.invalidate(emailAnterior, usuario.getEmail());
+        if (!emailAnterior.equals(usuario.getEmail())) {
+            principalCache.revogar(emailAnterior);
+        }
 
-            logService.saveLog("INFO",
-                    "Aluno atualizado com sucesso: " + alunoExistente.getNome() + " (ID: " + id + ")",
-                    this.getClass().getSimpleName(),
-                    "atualizarAluno",
-                    emailUsuarioLogado,
-                    "UPDATE_ALUNO");
+        AuditContext.detalhe("nome", alunoExistente.getNome());
 
-            return alunoMapper.toDTO(alunoExistente);
-        } catch (Exception e) {
-            logService.saveLog("ERROR",
-                    "Erro ao atualizar aluno ID " + id + ": " + e.getMessage(),
-                    this.getClass().getSimpleName(),
-                    "atualizarAluno",
-                    emailUsuarioLogado,
-                    "UPDATE_ALUNO_ERROR");
-            throw e;
-        }
+        return alunoMapper.toDTO(alunoExistente);
     }
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.DELETE_ALUNO, entityId = "#id")
     public void deletarAluno(Long id) {
         log.info("Deletando aluno com ID: {}", id);
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
+        if (excluirAlunos(List.of(id)).isEmpty()) {
+            throw new EntityNotFoundException("Aluno não encontrado");
+        }
+    }
 
-        try {
-            Aluno aluno = alunoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"));
+    @Override
+    @Transactional
+    @Audited(operation = OperacaoAuditoria.DELETE_ALUNOS)
+    public LoteResponseDTO deletarAlunos(List<Long> ids) {
+        log.info("Deletando {} alunos em lote", ids.size());
+
+        Set<Long> excluidos = excluirAlunos(new HashSet<>(ids)).keySet();
+        LoteResponseDTO resultado = ExclusaoEmLote.resultado(ids, excluidos, "Aluno não encontrado");
 
-            String nomeAluno = aluno.getNome();
+        AuditContext.detalhe("excluidos", excluidos.size());
+        AuditContext.detalhe("total", ids.size());
 
-            usuarioRepository.deleteByAluno(aluno);
-            alunoRepository.delete(aluno);
+        return resultado;
+    }
 
-            logInfo("Aluno deletado com sucesso: " + nomeAluno + " (ID: " + id + ")",
-                    "deletarAluno", emailUsuarioLogado, "DELETE_ALUNO");
-        } catch (Exception e) {
-            logError("Erro ao deletar aluno ID " + id + ": " + e.getMessage(),
-                    "deletarAluno", emailUsuarioLogado, "DELETE_ALUNO_ERROR");
-            throw e;
+    private Map<Long, String> excluirAlunos(Collection<Long> ids) {
+        Map<Long, String> emails = ExclusaoEmLote.emailsPorId(alunoRepository.findEmailsPorIds(ids));
+        if (!emails.isEmpty()) {
+            usuarioRepository.deleteByAlunoIdIn(emails.keySet());
+            alunoRepository.deleteByIdIn(emails.keySet());
+            principalCache.revogar(emails.values().toArray(String[]::new));
         }
+        return emails;
     }
 
     @Override
@@ -180,6 +397,21 @@ public class AlunoServiceImpl implements AlunoService {
                 .map(alunoMapper::toDTO);
     }
 
+    @Override
+    public CursorResponseDTO<AlunoResponseDTO> listarAlunosPorCursor(String cursor, int size) {
+        Pageable limite = KeysetCursor.limite(size);
+        Slice<Aluno> alunos;
+        if (KeysetCursor.ausente(cursor)) {
+            alunos = alunoRepository.findPrimeirosPorNome(limite);
+        } else {
+            KeysetCursor posicao = KeysetCursor.decode(cursor);
+            alunos = alunoRepository.findProximosPorNome(posicao.getChave(), posicao.getId(), limite);
+        }
+
+        return KeysetCursor.toResponse(alunos, alunoMapper::toDTO,
+                a -> KeysetCursor.encode(a.getId(), a.getNome()));
+    }
+
     @Override
     public AlunoResponseDTO buscarAlunoLogado() {
         log.info("Buscando dados do aluno logado");
@@ -196,16 +428,4 @@ public class AlunoServiceImpl implements AlunoService {
 
         return alunoMapper.toDTO(usuario.getAluno());
     }
-
-    private void logInfo(String message, String method, String user, String action) {
-        logService.saveLog("INFO", message, this.getClass().getSimpleName(), method, user, action);
-    }
-
-    private void logError(String message, String method, String user, String action) {
-        logService.saveLog("ERROR", message, this.getClass().getSimpleName(), method, user, action);
-    }
-
-    private String getEmailUsuarioLogado() {
-        return SecurityContextHolder.getContext().getAuthentication().getName();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.sylviavitoria.apifaculdade.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+import com.sylviavitoria.apifaculdade.model.AuditOutbox;
+import com.sylviavitoria.apifaculdade.repository.ApplicationLogRepository;
+import com.sylviavitoria.apifaculdade.repository.AuditOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Publica no MongoDB os logs gravados em tb_audit_outbox. O registro só sai da tabela depois
+// que o MongoDB confirmou a gravação; se o processo cair no meio, o lote é publicado de novo
+// e os documentos já existentes são ignorados pelo _id.
+@Slf4j
+@Component
+@DependsOn("applicationLogCollectionInitializer")
+public class AuditOutboxRelay {
+
+    private final AuditOutboxRepository outboxRepository;
+    private final ApplicationLogRepository logRepository;
+    private final ObjectMapper objectMapper;
+    private final Pageable lote;
+    private final long pollIntervalMs;
+
+    private final Counter published;
+    private final Counter discarded;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private Thread relay;
+
+    public AuditOutboxRelay(AuditOutboxRepository outboxRepository,
+            ApplicationLogRepository logRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${audit.outbox.batch-size:200}") int batchSize,
+            @Value("${audit.outbox.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.outboxRepository = outboxRepository;
+        this.logRepository = logRepository;
+        this.objectMapper = objectMapper;
+        this.lote = PageRequest.of(0, batchSize);
+        this.pollIntervalMs = pollIntervalMs;
+
+        // Com o MongoDB fora do ar a outbox cresce sem limite; estes medidores mostram o acúmulo.
+        Gauge.builder("audit.outbox.pending", outboxRepository, AuditOutboxRepository::count)
+                .description("Logs de auditoria aguardando publicação no MongoDB")
+                .register(meterRegistry);
+        Gauge.builder("audit.outbox.oldest.age", outboxRepository, AuditOutboxRelay::idadeDoMaisAntigo)
+                .description("Idade do log de auditoria mais antigo aguardando publicação")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.published = meterRegistry.counter("audit.outbox.published");
+        this.discarded = meterRegistry.counter("audit.outbox.discarded");
+        this.failures = meterRegistry.counter("audit.outbox.publish.failures");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        relay = new Thread(this::relayLoop, "audit-outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (relay != null) {
+            relay.interrupt();
+            try {
+                relay.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Retorna quantos registros saíram da tabela; um lote cheio indica que pode haver mais.
+    public int publicarLote() {
+        List<AuditOutbox> pendentes = outboxRepository.findByOrderByIdAsc(lote);
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        List<ApplicationLog> logs = new ArrayList<>(pendentes.size());
+        List<String> ids = new ArrayList<>(pendentes.size());
+        for (AuditOutbox pendente : pendentes) {
+            ids.add(pendente.getId());
+            try {
+                logs.add(objectMapper.readValue(pendente.getPayload(), ApplicationLog.class));
+            } catch (JsonProcessingException e) {
+                discarded.increment();
+                log.error("Log de auditoria {} ilegível descartado: {}", pendente.getId(), e.getMessage());
+            }
+        }
+
+        if (!logs.isEmpty()) {
+            logRepository.inserirIgnorandoDuplicados(logs);
+            published.increment(logs.size());
+        }
+        outboxRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    private static double idadeDoMaisAntigo(AuditOutboxRepository outboxRepository) {
+        return outboxRepository.findCriadoEmMaisAntigo()
+                .map(criadoEm -> Duration.between(criadoEm, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                if (publicarLote() < lote.getPageSize()) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Falha ao publicar logs de auditoria no MongoDB: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrompido) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.sylviavitoria.apifaculdade.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class CatalogoCache {
+
+    private final Cache<Long, DisciplinaResponseDTO> disciplinas;
+    private final Cache<Long, ProfessorResponseDTO> professores;
+
+    public CatalogoCache(MeterRegistry meterRegistry,
+            @Value("${catalogo.cache.max-size:5000}") long maxSize,
+            @Value("${catalogo.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.disciplinas = criar(meterRegistry, "catalogo.disciplina", maxSize, ttlSeconds);
+        this.professores = criar(meterRegistry, "catalogo.professor", maxSize, ttlSeconds);
+    }
+
+    public Optional<DisciplinaResponseDTO> getDisciplina(Long id,
+            Function<Long, Optional<DisciplinaResponseDTO>> loader) {
+        return get(disciplinas, id, loader);
+    }
+
+    public Optional<ProfessorResponseDTO> getProfessor(Long id,
+            Function<Long, Optional<ProfessorResponseDTO>> loader) {
+        return get(professores, id, loader);
+    }
+
+    public void invalidateDisciplina(Long id) {
+        aposCommit(() -> disciplinas.invalidate(id));
+    }
+
+    // A disciplina em cache carrega os dados do professor, então qualquer alteração nele
+    // invalida todas as disciplinas.
+    public void invalidateProfessor(Long id) {
+        aposCommit(() -> {
+            professores.invalidate(id);
+            disciplinas.invalidateAll();
+        });
+    }
+
+    private static <T> Cache<Long, T> criar(MeterRegistry meterRegistry, String nome, long maxSize, long ttlSeconds) {
+        Cache<Long, T> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nome);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", nome)
+                .description("Proporção de leituras atendidas pelo cache")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    private static <T> Optional<T> get(Cache<Long, T> cache, Long id, Function<Long, Optional<T>> loader) {
+        T valor = cache.getIfPresent(id);
+        if (valor != null) {
+            return Optional.of(valor);
+        }
+        Optional<T> carregado = loader.apply(id);
+        carregado.ifPresent(v -> cache.put(id, v));
+        return carregado;
+    }
+
+    private void aposCommit(Runnable evict) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+        evict.run();
+    }
+}
@@ -1,23 +1,37 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.springframework.stereotype.Service;
 
+import com.sylviavitoria.apifaculdade.audit.AuditContext;
+import com.sylviavitoria.apifaculdade.audit.Audited;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.EstatisticaDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.interfaces.DisciplinaService;
 import com.sylviavitoria.apifaculdade.mapper.DisciplinaMapper;
 import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.EstatisticaDisciplina;
 import com.sylviavitoria.apifaculdade.model.Professor;
 import com.sylviavitoria.apifaculdade.repository.DisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.EstatisticaDisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.MatriculaRepository;
 import com.sylviavitoria.apifaculdade.repository.ProfessorRepository;
 
 import jakarta.transaction.Transactional;
@@ -31,107 +45,95 @@ public class DisciplinaServiceImpl implements DisciplinaService {
 
     private final DisciplinaRepository disciplinaRepository;
     private final ProfessorRepository professorRepository;
+    private final EstatisticaDisciplinaRepository estatisticaRepository;
+    private final MatriculaRepository matriculaRepository;
     private final DisciplinaMapper disciplinaMapper;
-    private final LogService logService;
+    private final CatalogoCache catalogoCache;
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.CREATE_DISCIPLINA, entityId = "#result.id")
     public DisciplinaResponseDTO criarDisciplina(DisciplinaRequestDTO disciplinaRequestDTO) {
         log.info("Iniciando criação de disciplina: {}", disciplinaRequestDTO.getNome());
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
-
-        try {
-            if (disciplinaRepository.existsByCodigo(disciplinaRequestDTO.getCodigo())) {
-                throw new BusinessException("Já existe uma disciplina com esse código");
-            }
+        if (disciplinaRepository.existsByCodigo(disciplinaRequestDTO.getCodigo())) {
+            throw new BusinessException("Já existe uma disciplina com esse código");
+        }
 
-            Disciplina disciplina = disciplinaMapper.toEntity(disciplinaRequestDTO);
+        Disciplina disciplina = disciplinaMapper.toEntity(disciplinaRequestDTO);
 
-            if (disciplinaRequestDTO.getProfessorId() != null) {
-                Professor professor = professorRepository.findById(disciplinaRequestDTO.getProfessorId())
-                        .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
-                disciplina.setProfessor(professor);
-            }
+        if (disciplinaRequestDTO.getProfessorId() != null) {
+            Professor professor = professorRepository.findById(disciplinaRequestDTO.getProfessorId())
+                    .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
+            disciplina.setProfessor(professor);
+        }
 
-            Disciplina disciplinaSalva = disciplinaRepository.save(disciplina);
+        Disciplina disciplinaSalva = disciplinaRepository.save(disciplina);
+        estatisticaRepository.save(new EstatisticaDisciplina(disciplinaSalva.getId()));
+        catalogoCache.invalidateDisciplina(disciplinaSalva.getId());
 
-            logInfo("Disciplina criada com sucesso: " + disciplinaSalva.getNome() + " (ID: " + disciplinaSalva.getId()
-                    + ")",
-                    "criarDisciplina", emailUsuarioLogado, "CREATE_DISCIPLINA");
+        AuditContext.detalhe("nome", disciplinaSalva.getNome());
 
-            return disciplinaMapper.toDTO(disciplinaSalva);
-        } catch (Exception e) {
-            logError("Erro ao criar disciplina: " + e.getMessage(), "criarDisciplina", emailUsuarioLogado,
-                    "CREATE_DISCIPLINA_ERROR");
-            throw e;
-        }
+        return disciplinaMapper.toDTO(disciplinaSalva);
     }
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.UPDATE_DISCIPLINA, entityId = "#id")
     public DisciplinaResponseDTO atualizarDisciplina(Long id, DisciplinaRequestDTO disciplinaRequestDTO) {
-        String emailUsuarioLogado = getEmailUsuarioLogado();
-        
-        try {
-            Disciplina disciplina = disciplinaRepository.findById(id)
-                    .orElseThrow(() -> new BusinessException("Disciplina não encontrada"));
-
-            if (!disciplina.getCodigo().equals(disciplinaRequestDTO.getCodigo()) &&
-                    disciplinaRepository.existsByCodigo(disciplinaRequestDTO.getCodigo())) {
-                throw new BusinessException("Já existe uma disciplina com esse código");
-            }
-
-            disciplinaMapper.updateEntity(disciplinaRequestDTO, disciplina);
-
-            if (disciplinaRequestDTO.getProfessorId() != null) {
-                Professor professor = professorRepository.findById(disciplinaRequestDTO.getProfessorId())
-                        .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
-                disciplina.setProfessor(professor);
-            }
-
-            Disciplina disciplinaAtualizada = disciplinaRepository.save(disciplina);
-            
-            logInfo("Disciplina atualizada com sucesso: " + disciplinaAtualizada.getNome() + " (ID: " + disciplinaAtualizada.getId() + ")",
-                    "atualizarDisciplina", emailUsuarioLogado, "UPDATE_DISCIPLINA");
-
-            return disciplinaMapper.toDTO(disciplinaAtualizada);
-        } catch (Exception e) {
-            logError("Erro ao atualizar disciplina: " + e.getMessage(), "atualizarDisciplina", emailUsuarioLogado, "UPDATE_DISCIPLINA_ERROR");
-            throw e;
+        Disciplina disciplina = disciplinaRepository.findById(id)
+                .orElseThrow(() -> new BusinessException("Disciplina não encontrada"));
+
+        if (!disciplina.getCodigo().equals(disciplinaRequestDTO.getCodigo()) &&
+                disciplinaRepository.existsByCodigo(disciplinaRequestDTO.getCodigo())) {
+            throw new BusinessException("Já existe uma disciplina com esse código");
         }
+
+        disciplinaMapper.updateEntity(disciplinaRequestDTO, disciplina);
+
+        if (disciplinaRequestDTO.getProfessorId() != null) {
+            Professor professor = professorRepository.findById(disciplinaRequestDTO.getProfessorId())
+                    .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
+            disciplina.setProfessor(professor);
+        }
+
+        Disciplina disciplinaAtualizada = disciplinaRepository.save(disciplina);
+        catalogoCache.invalidateDisciplina(id);
+
+        AuditContext.detalhe("nome", disciplinaAtualizada.getNome());
+
+        return disciplinaMapper.toDTO(disciplinaAtualizada);
     }
 
 
     @Override
     @Transactional
-    public void deletarDisciplina(Long id) {
-        String emailUsuarioLogado = getEmailUsuarioLogado();
+    @Audited(operation = OperacaoAuditoria.DELETE_DISCIPLINA, entityId = "#id")
+    public ExclusaoDisciplinaResponseDTO deletarDisciplina(Long id, boolean cascata) {
+        int matriculasRemovidas = cascata ? matriculaRepository.deleteByDisciplinaId(id) : 0;
 
+        int disciplinasRemovidas;
         try {
-            if (!disciplinaRepository.existsById(id)) {
-                throw new EntityNotFoundException("Disciplina não encontrada");
-            }
-
-            Disciplina disciplina = disciplinaRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Disciplina não encontrada"));
-
-            disciplinaRepository.deleteById(id);
+            disciplinasRemovidas = disciplinaRepository.deleteByIdIn(List.of(id));
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("Disciplina possui matrículas; use cascata=true para removê-las junto");
+        }
+        if (disciplinasRemovidas == 0) {
+            throw new EntityNotFoundException("Disciplina não encontrada");
+        }
+        catalogoCache.invalidateDisciplina(id);
 
-            logInfo("Disciplina deletada com sucesso: " + disciplina.getNome() + " (ID: " + disciplina.getId() + ")",
-                    "deletarDisciplina", emailUsuarioLogado, "DELETE_DISCIPLINA");
-        } catch (Exception e) {
+        AuditContext.detalhe("matriculasRemovidas", matriculasRemovidas);
 
-            logError("Erro ao deletar disciplina: " + e.getMessage(), "deletarDisciplina", emailUsuarioLogado,
-                    "DELETE_DISCIPLINA_ERROR");
-            throw e;
-        }
+        return ExclusaoDisciplinaResponseDTO.builder()
+                .disciplinaId(id)
+                .matriculasRemovidas(matriculasRemovidas)
+                .build();
     }
 
     @Override
     public DisciplinaResponseDTO buscarDisciplinaPorId(Long id) {
-        return disciplinaRepository.findById(id)
-                .map(disciplinaMapper::toDTO)
+        return catalogoCache.getDisciplina(id, chave -> disciplinaRepository.findById(chave).map(disciplinaMapper::toDTO))
                 .orElseThrow(() -> new EntityNotFoundException("Disciplina não encontrada"));
     }
 
@@ -148,15 +150,51 @@ public class DisciplinaServiceImpl implements DisciplinaService {
                 .map(disciplinaMapper::toDTO);
     }
 
-    private void logInfo(String message, String method, String user, String action) {
-        logService.saveLog("INFO", message, this.getClass().getSimpleName(), method, user, action);
-    }
+    @Override
+    public CursorResponseDTO<DisciplinaResponseDTO> listarDisciplinasPorCursor(String cursor, int size) {
+        Pageable limite = KeysetCursor.limite(size);
+        Slice<Disciplina> disciplinas;
+        if (KeysetCursor.ausente(cursor)) {
+            disciplinas = disciplinaRepository.findPrimeirosPorNome(limite);
+        } else {
+            KeysetCursor posicao = KeysetCursor.decode(cursor);
+            disciplinas = disciplinaRepository.findProximosPorNome(posicao.getChave(), posicao.getId(), limite);
+        }
 
-    private void logError(String message, String method, String user, String action) {
-        logService.saveLog("ERROR", message, this.getClass().getSimpleName(), method, user, action);
+        return KeysetCursor.toResponse(disciplinas, disciplinaMapper::toDTO,
+                d -> KeysetCursor.encode(d.getId(), d.getNome()));
     }
 
-    private String getEmailUsuarioLogado() {
-        return SecurityContextHolder.getContext().getAuthentication().getName();
+    @Override
+    public EstatisticaDisciplinaResponseDTO buscarEstatisticas(Long id) {
+        EstatisticaDisciplina estatistica = estatisticaRepository.findById(id)
+                .orElseGet(() -> {
+                    if (!disciplinaRepository.existsById(id)) {
+                        throw new EntityNotFoundException("Disciplina não encontrada");
+                    }
+                    return new EstatisticaDisciplina(id);
+                });
+
+        long avaliados = estatistica.getAprovados() + estatistica.getReprovados();
+        Map<String, Long> distribuicao = new LinkedHashMap<>();
+        long[] faixas = estatistica.getDistribuicao();
+        for (int i = 0; i < faixas.length; i++) {
+            distribuicao.put(EstatisticaDisciplina.FAIXAS[i], faixas[i]);
+        }
+
+        return EstatisticaDisciplinaResponseDTO.builder()
+                .disciplinaId(id)
+                .totalMatriculas(estatistica.getTotalMatriculas())
+                .mediaGeral(estatistica.getTotalComMedia() == 0 ? null
+                        : estatistica.getSomaMedia().divide(BigDecimal.valueOf(estatistica.getTotalComMedia()), 2,
+                                RoundingMode.HALF_UP))
+                .taxaAprovacao(avaliados == 0 ? null
+                        : BigDecimal.valueOf(estatistica.getAprovados() * 100)
+                                .divide(BigDecimal.valueOf(avaliados), 2, RoundingMode.HALF_UP))
+                .aprovados(estatistica.getAprovados())
+                .reprovados(estatistica.getReprovados())
+                .cursando(estatistica.getCursando())
+                .distribuicao(distribuicao)
+                .build();
     }
 }
@@ -0,0 +1,56 @@
+package com.sylviavitoria.apifaculdade.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sylviavitoria.apifaculdade.dto.ItemLoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
+
+// Apoio às exclusões em lote de alunos e professores: uma consulta descobre os IDs existentes
+// e os emails deles, e cada tabela recebe um único DELETE, independente da quantidade de IDs.
+final class ExclusaoEmLote {
+
+    private ExclusaoEmLote() {
+    }
+
+    static Map<Long, String> emailsPorId(Collection<Object[]> linhas) {
+        Map<Long, String> emails = new HashMap<>();
+        for (Object[] linha : linhas) {
+            emails.put((Long) linha[0], (String) linha[1]);
+        }
+        return emails;
+    }
+
+    static LoteResponseDTO resultado(List<Long> ids, Set<Long> excluidos, String mensagemNaoEncontrado) {
+        List<ItemLoteResponseDTO> itens = new ArrayList<>(ids.size());
+        Set<Long> vistos = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            String erro = null;
+            if (!vistos.add(id)) {
+                erro = "ID repetido na requisição";
+            } else if (!excluidos.contains(id)) {
+                erro = mensagemNaoEncontrado;
+            }
+            itens.add(ItemLoteResponseDTO.builder()
+                    .indice(i)
+                    .id(id)
+                    .sucesso(erro == null)
+                    .erro(erro)
+                    .build());
+        }
+
+        int sucessos = (int) itens.stream().filter(ItemLoteResponseDTO::isSucesso).count();
+        return LoteResponseDTO.builder()
+                .total(itens.size())
+                .sucessos(sucessos)
+                .falhas(itens.size() - sucessos)
+                .itens(itens)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.sylviavitoria.apifaculdade.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.exception.CursorInvalidoException;
+
+import lombok.Getter;
+
+final class KeysetCursor {
+
+    static final int TAMANHO_MAXIMO = 100;
+
+    private final String id;
+    @Getter
+    private final String chave;
+
+    private KeysetCursor(String id, String chave) {
+        this.id = id;
+        this.chave = chave;
+    }
+
+    Long getId() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new CursorInvalidoException("Cursor inválido");
+        }
+    }
+
+    String getIdTexto() {
+        return id;
+    }
+
+    LocalDateTime getChaveComoData() {
+        try {
+            return LocalDateTime.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new CursorInvalidoException("Cursor inválido");
+        }
+    }
+
+    static boolean ausente(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    static Pageable limite(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, TAMANHO_MAXIMO)));
+    }
+
+    static String encode(Object id, Object chave) {
+        String valor = id + ":" + chave;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(':');
+            if (separador <= 0) {
+                throw new CursorInvalidoException("Cursor inválido");
+            }
+            return new KeysetCursor(valor.substring(0, separador), valor.substring(separador + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException("Cursor inválido");
+        }
+    }
+
+    static <E, D> CursorResponseDTO<D> toResponse(Slice<E> slice, Function<E, D> mapper,
+            Function<E, String> cursorDe) {
+        List<E> itens = slice.getContent();
+        String proximo = slice.hasNext() && !itens.isEmpty() ? cursorDe.apply(itens.get(itens.size() - 1)) : null;
+        return CursorResponseDTO.<D>builder()
+                .conteudo(itens.stream().map(mapper).toList())
+                .tamanho(itens.size())
+                .temProximo(slice.hasNext())
+                .proximoCursor(proximo)
+                .build();
+    }
+}
@@ -1,40 +1,141 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.dto.AgregacaoLogResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.dto.LogResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+import com.sylviavitoria.apifaculdade.enums.ResultadoAuditoria;
+import com.sylviavitoria.apifaculdade.exception.CursorInvalidoException;
+import com.sylviavitoria.apifaculdade.exception.PeriodoInvalidoException;
+import com.sylviavitoria.apifaculdade.mapper.LogMapper;
 import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+import com.sylviavitoria.apifaculdade.model.AuditOutbox;
+import com.sylviavitoria.apifaculdade.model.EventoAuditoria;
 import com.sylviavitoria.apifaculdade.repository.ApplicationLogRepository;
+import com.sylviavitoria.apifaculdade.repository.AuditOutboxRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LogService {
+    static final int LIMITE_MAXIMO_GRUPOS = 1000;
+
     private final ApplicationLogRepository logRepository;
+    private final AuditOutboxRepository outboxRepository;
+    private final LogMapper logMapper;
+    private final ObjectMapper objectMapper;
     
-    public void saveLog(String level, String message, String className, String method, String userId, String operation) {
+    // Grava o log na outbox, dentro da transação em andamento quando houver; o AuditOutboxRelay
+    // publica no MongoDB depois do commit.
+    public void registrar(EventoAuditoria evento) {
+        OperacaoAuditoria operacao = evento.getOperacao();
         ApplicationLog log = new ApplicationLog();
-        log.setTimestamp(LocalDateTime.now());
-        log.setLevel(level);
-        log.setMessage(message);
-        log.setClassName(className);
-        log.setMethod(method);
-        log.setUserId(userId);
-        log.setOperation(operation);
-        
-        logRepository.save(log);
+        log.setId(new ObjectId().toHexString());
+        log.setTimestamp(evento.getTimestamp());
+        log.setLevel(evento.getResultado() == ResultadoAuditoria.SUCESSO ? "INFO" : "ERROR");
+        log.setMessage(evento.getErro());
+        log.setClassName(evento.getOrigem());
+        log.setMethod(operacao.getMetodo());
+        log.setUserId(evento.getAtor());
+        log.setOperation(operacao.name());
+        log.setEntityType(operacao.getEntidade().name());
+        log.setEntityId(evento.getEntidadeId());
+        log.setOutcome(evento.getResultado().name());
+        log.setDurationMs(evento.getDuracaoMs());
+        log.setMetadata(evento.getDetalhes());
+
+        try {
+            outboxRepository.save(new AuditOutbox(log.getId(), log.getTimestamp(), objectMapper.writeValueAsString(log)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o log de auditoria", e);
+        }
     }
     
-    public List<ApplicationLog> listarTodosLogs() {
-        return logRepository.findAll();
+    public CursorResponseDTO<LogResponseDTO> listarLogs(LogFiltroDTO filtro, String cursor, int size) {
+        validarFiltro(filtro);
+        Pageable limite = KeysetCursor.limite(size);
+
+        Slice<ApplicationLog> logs;
+        if (KeysetCursor.ausente(cursor)) {
+            logs = logRepository.findPorFiltro(filtro, null, null, limite);
+        } else {
+            KeysetCursor anterior = KeysetCursor.decode(cursor);
+            if (!ObjectId.isValid(anterior.getIdTexto())) {
+                throw new CursorInvalidoException("Cursor inválido");
+            }
+            logs = logRepository.findPorFiltro(filtro, anterior.getChaveComoData(), anterior.getIdTexto(), limite);
+        }
+
+        return KeysetCursor.toResponse(logs, logMapper::toDTO,
+                l -> KeysetCursor.encode(l.getId(), l.getTimestamp()));
+    }
+
+    public void exportarLogs(LogFiltroDTO filtro, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        long total = 0;
+        try (Stream<ApplicationLog> logs = logRepository.streamPorFiltro(filtro)) {
+            Iterator<ApplicationLog> iterator = logs.iterator();
+            while (iterator.hasNext()) {
+                writer.write(objectMapper.writeValueAsString(logMapper.toDTO(iterator.next())));
+                writer.write('\n');
+                total++;
+            }
+            writer.flush();
+        }
+        log.info("Exportação de logs concluída: {} registros", total);
     }
     
-    public List<ApplicationLog> buscarLogsRecentes() {
-        LocalDateTime agora = LocalDateTime.now();
-        LocalDateTime umDiaAtras = agora.minusDays(1);
-        return logRepository.findByTimestampBetween(umDiaAtras, agora);
+    // Sem início informado, agrega as últimas 24 horas até o fim (ou agora) para não varrer a coleção inteira.
+    public AgregacaoLogResponseDTO agregarLogs(LogFiltroDTO filtro, AgrupamentoLog agrupamento,
+            IntervaloLog intervalo, int limite) {
+        validarFiltro(filtro);
+        LocalDateTime fim = filtro.getFim() != null ? filtro.getFim() : LocalDateTime.now();
+        LocalDateTime inicio = filtro.getInicio() != null ? filtro.getInicio() : fim.minusDays(1);
+        LogFiltroDTO periodo = filtro.toBuilder().inicio(inicio).fim(fim).build();
+
+        return AgregacaoLogResponseDTO.builder()
+                .agrupamento(agrupamento)
+                .intervalo(intervalo)
+                .inicio(inicio)
+                .fim(fim)
+                .grupos(logRepository.agregar(periodo, agrupamento, intervalo,
+                        Math.max(1, Math.min(limite, LIMITE_MAXIMO_GRUPOS))))
+                .build();
+    }
+
+    public CursorResponseDTO<LogResponseDTO> listarLogsRecentes(String cursor, int size) {
+        LogFiltroDTO ultimas24Horas = LogFiltroDTO.builder()
+                .inicio(LocalDateTime.now().minusDays(1))
+                .build();
+        return listarLogs(ultimas24Horas, cursor, size);
+    }
+
+    public void validarFiltro(LogFiltroDTO filtro) {
+        if (filtro.getInicio() != null && filtro.getFim() != null && !filtro.getInicio().isBefore(filtro.getFim())) {
+            throw new PeriodoInvalidoException("A data inicial deve ser anterior à data final");
+        }
     }
 }
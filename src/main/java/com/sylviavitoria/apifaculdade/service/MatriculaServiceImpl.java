@@ -1,29 +1,73 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sylviavitoria.apifaculdade.audit.AuditContext;
+import com.sylviavitoria.apifaculdade.audit.Audited;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.HistoricoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemLoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.MatriculaExportacaoDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.NotaAlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.NotaRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.NotasDisciplinaRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.VersaoHistoricoDTO;
+import com.sylviavitoria.apifaculdade.enums.FormatoExportacao;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.interfaces.MatriculaService;
+import com.sylviavitoria.apifaculdade.mapper.AlunoMapper;
+import com.sylviavitoria.apifaculdade.mapper.DisciplinaMapper;
 import com.sylviavitoria.apifaculdade.mapper.MatriculaMapper;
 import com.sylviavitoria.apifaculdade.model.Aluno;
-import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.EstatisticaDisciplina;
 import com.sylviavitoria.apifaculdade.model.Matricula;
+import com.sylviavitoria.apifaculdade.model.Usuario;
 import com.sylviavitoria.apifaculdade.repository.AlunoRepository;
 import com.sylviavitoria.apifaculdade.repository.DisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.EstatisticaDisciplinaRepository;
 import com.sylviavitoria.apifaculdade.repository.MatriculaRepository;
+import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
+import com.sylviavitoria.apifaculdade.security.UsuarioUserDetails;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,104 +76,299 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MatriculaServiceImpl implements MatriculaService {
 
+    private static final int TAMANHO_BLOCO = 500;
+    private static final String CABECALHO_CSV = "id,aluno_id,aluno_nome,aluno_matricula,disciplina_id,"
+            + "disciplina_codigo,disciplina_nome,professor_nome,nota1,nota2,media,status,data_matricula";
+
     private final MatriculaRepository matriculaRepository;
     private final AlunoRepository alunoRepository;
     private final DisciplinaRepository disciplinaRepository;
+    private final EstatisticaDisciplinaRepository estatisticaRepository;
+    private final UsuarioRepository usuarioRepository;
     private final MatriculaMapper matriculaMapper;
-    private final LogService logService;
+    private final AlunoMapper alunoMapper;
+    private final DisciplinaMapper disciplinaMapper;
+    private final CatalogoCache catalogoCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.CREATE_MATRICULA, entityId = "#result.id")
     public MatriculaResponseDTO criarMatricula(MatriculaRequestDTO matriculaRequestDTO) {
         log.info("Criando matrícula para aluno {} na disciplina {}", 
                 matriculaRequestDTO.getAlunoId(), matriculaRequestDTO.getDisciplinaId());
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
+        if (matriculaRepository.existsByAlunoIdAndDisciplinaId(
+                matriculaRequestDTO.getAlunoId(), matriculaRequestDTO.getDisciplinaId())) {
+            throw new BusinessException("Aluno já está matriculado nesta disciplina");
+        }
+
+        Aluno aluno = alunoRepository.findById(matriculaRequestDTO.getAlunoId())
+                .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"));
+
+        DisciplinaResponseDTO disciplina = catalogoCache.getDisciplina(matriculaRequestDTO.getDisciplinaId(),
+                id -> disciplinaRepository.findById(id).map(disciplinaMapper::toDTO))
+                .orElseThrow(() -> new EntityNotFoundException("Disciplina não encontrada"));
+
+        Matricula matricula = new Matricula();
+        matricula.setAluno(aluno);
+        matricula.setDisciplina(disciplinaRepository.getReferenceById(disciplina.getId()));
+
+        Matricula matriculaSalva = matriculaRepository.save(matricula);
 
-        try {
-            if (matriculaRepository.existsByAlunoIdAndDisciplinaId(
-                    matriculaRequestDTO.getAlunoId(), matriculaRequestDTO.getDisciplinaId())) {
-                throw new BusinessException("Aluno já está matriculado nesta disciplina");
+        EstatisticaDisciplina estatistica = carregarEstatistica(disciplina.getId());
+        estatistica.adicionar(matriculaSalva.getMedia(), matriculaSalva.getStatus());
+        estatisticaRepository.save(estatistica);
+
+        AuditContext.detalhe("alunoId", aluno.getId());
+        AuditContext.detalhe("disciplinaId", disciplina.getId());
+
+        return matriculaMapper.toDTO(matriculaSalva, disciplina);
+    }
+
+    @Override
+    @Transactional
+    @Audited(operation = OperacaoAuditoria.CREATE_MATRICULA_LOTE)
+    public LoteResponseDTO criarMatriculasEmLote(Iterator<MatriculaRequestDTO> matriculas) {
+        log.info("Criando matrículas em lote");
+
+        List<ItemLoteResponseDTO> itens = new ArrayList<>();
+        Set<String> paresDaRequisicao = new HashSet<>();
+        Map<Long, Integer> novasPorDisciplina = new TreeMap<>();
+
+        while (matriculas.hasNext()) {
+            List<MatriculaRequestDTO> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            while (matriculas.hasNext() && bloco.size() < TAMANHO_BLOCO) {
+                bloco.add(matriculas.next());
             }
+            itens.addAll(processarBlocoDeMatriculas(bloco, itens.size(), paresDaRequisicao, novasPorDisciplina));
+        }
 
-            Aluno aluno = alunoRepository.findById(matriculaRequestDTO.getAlunoId())
-                    .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"));
+        // As estatísticas são travadas só no fim, em ordem de id sobre a requisição inteira, para que
+        // dois lotes concorrentes não se bloqueiem em ordens diferentes.
+        novasPorDisciplina.forEach((disciplinaId, quantidade) -> {
+            EstatisticaDisciplina estatistica = carregarEstatistica(disciplinaId);
+            for (int j = 0; j < quantidade; j++) {
+                estatistica.adicionar(null, StatusMatricula.CURSANDO);
+            }
+            estatisticaRepository.save(estatistica);
+        });
 
-            Disciplina disciplina = disciplinaRepository.findById(matriculaRequestDTO.getDisciplinaId())
-                    .orElseThrow(() -> new EntityNotFoundException("Disciplina não encontrada"));
+        int sucessos = (int) itens.stream().filter(ItemLoteResponseDTO::isSucesso).count();
 
-            Matricula matricula = new Matricula();
-            matricula.setAluno(aluno);
-            matricula.setDisciplina(disciplina);
+        AuditContext.detalhe("sucessos", sucessos);
+        AuditContext.detalhe("total", itens.size());
+
+        return LoteResponseDTO.builder()
+                .total(itens.size())
+                .sucessos(sucessos)
+                .falhas(itens.size() - sucessos)
+                .itens(itens)
+                .build();
+    }
+
+    private List<ItemLoteResponseDTO> processarBlocoDeMatriculas(List<MatriculaRequestDTO> bloco, int inicio,
+            Set<String> paresDaRequisicao, Map<Long, Integer> novasPorDisciplina) {
+        Set<Long> alunoIds = bloco.stream().map(MatriculaRequestDTO::getAlunoId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> disciplinaIds = bloco.stream().map(MatriculaRequestDTO::getDisciplinaId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Set<Long> alunosExistentes = alunoIds.isEmpty() ? Set.of() : alunoRepository.findIdsExistentes(alunoIds);
+        Set<Long> disciplinasExistentes = disciplinaIds.isEmpty() ? Set.of()
+                : disciplinaRepository.findIdsExistentes(disciplinaIds);
+
+        Set<String> paresExistentes = new HashSet<>();
+        if (!alunosExistentes.isEmpty() && !disciplinasExistentes.isEmpty()) {
+            for (Object[] par : matriculaRepository.findParesExistentes(alunosExistentes, disciplinasExistentes)) {
+                paresExistentes.add(par[0] + ":" + par[1]);
+            }
+        }
 
-            Matricula matriculaSalva = matriculaRepository.save(matricula);
+        ItemLoteResponseDTO[] resultados = new ItemLoteResponseDTO[bloco.size()];
+        List<Matricula> novasMatriculas = new ArrayList<>();
+        List<Integer> posicoes = new ArrayList<>();
+
+        for (int i = 0; i < bloco.size(); i++) {
+            MatriculaRequestDTO dto = bloco.get(i);
+            String par = dto.getAlunoId() + ":" + dto.getDisciplinaId();
+            String erro = null;
+
+            if (dto.getAlunoId() == null) {
+                erro = "ID do aluno é obrigatório";
+            } else if (dto.getDisciplinaId() == null) {
+                erro = "ID da disciplina é obrigatório";
+            } else if (!alunosExistentes.contains(dto.getAlunoId())) {
+                erro = "Aluno não encontrado";
+            } else if (!disciplinasExistentes.contains(dto.getDisciplinaId())) {
+                erro = "Disciplina não encontrada";
+            } else if (paresExistentes.contains(par)) {
+                erro = "Aluno já está matriculado nesta disciplina";
+            } else if (!paresDaRequisicao.add(par)) {
+                erro = "Matrícula repetida na requisição";
+            }
 
-            logInfo("Matrícula criada com sucesso: Aluno " + aluno.getNome() + " na disciplina " + disciplina.getNome() + 
-                    " (ID: " + matriculaSalva.getId() + ")", "criarMatricula", emailUsuarioLogado, "CREATE_MATRICULA");
+            if (erro != null) {
+                resultados[i] = ItemLoteResponseDTO.builder()
+                        .indice(inicio + i)
+                        .sucesso(false)
+                        .erro(erro)
+                        .build();
+                continue;
+            }
 
-            return matriculaMapper.toDTO(matriculaSalva);
-        } catch (Exception e) {
-            logError("Erro ao criar matrícula: " + e.getMessage(), "criarMatricula", emailUsuarioLogado, "CREATE_MATRICULA_ERROR");
-            throw e;
+            Matricula matricula = new Matricula();
+            matricula.setAluno(alunoRepository.getReferenceById(dto.getAlunoId()));
+            matricula.setDisciplina(disciplinaRepository.getReferenceById(dto.getDisciplinaId()));
+            novasMatriculas.add(matricula);
+            posicoes.add(i);
         }
+
+        if (!novasMatriculas.isEmpty()) {
+            List<Matricula> salvas = matriculaRepository.saveAll(novasMatriculas);
+            entityManager.flush();
+            entityManager.clear();
+
+            for (int j = 0; j < salvas.size(); j++) {
+                int posicao = posicoes.get(j);
+                resultados[posicao] = ItemLoteResponseDTO.builder()
+                        .indice(inicio + posicao)
+                        .id(salvas.get(j).getId())
+                        .sucesso(true)
+                        .build();
+                novasPorDisciplina.merge(bloco.get(posicao).getDisciplinaId(), 1, Integer::sum);
+            }
+        }
+
+        return Arrays.asList(resultados);
     }
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.UPDATE_NOTAS, entityId = "#id")
     public MatriculaResponseDTO atualizarNotas(Long id, NotaRequestDTO notaRequestDTO) {
         log.info("Atualizando notas da matrícula {}", id);
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
+        Matricula matricula = matriculaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Matrícula não encontrada"));
+
+        EstatisticaDisciplina estatistica = travarEstatisticaDaMatricula(matricula);
+        estatistica.remover(matricula.getMedia(), matricula.getStatus());
+
+        if (notaRequestDTO.getNota1() != null) {
+            matricula.setNota1(notaRequestDTO.getNota1());
+        }
+        if (notaRequestDTO.getNota2() != null) {
+            matricula.setNota2(notaRequestDTO.getNota2());
+        }
+
+        matricula.calcularMediaEStatus();
+        Matricula matriculaAtualizada = matriculaRepository.save(matricula);
+
+        estatistica.adicionar(matricula.getMedia(), matricula.getStatus());
+        estatisticaRepository.save(estatistica);
+
+        AuditContext.detalhe("alunoId", matricula.getAluno().getId());
+        AuditContext.detalhe("disciplinaId", matricula.getDisciplina().getId());
 
-        try {
-            Matricula matricula = matriculaRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Matrícula não encontrada"));
+        return matriculaMapper.toDTO(matriculaAtualizada);
+    }
+
+    @Override
+    @Transactional
+    @Audited(operation = OperacaoAuditoria.UPDATE_NOTAS_LOTE, entityId = "#disciplinaId")
+    public LoteResponseDTO atualizarNotasDaDisciplina(Long disciplinaId, NotasDisciplinaRequestDTO notasRequestDTO) {
+        log.info("Atualizando notas em lote da disciplina {}", disciplinaId);
+
+        if (!disciplinaRepository.existsById(disciplinaId)) {
+            throw new EntityNotFoundException("Disciplina não encontrada");
+        }
 
-            if (notaRequestDTO.getNota1() != null) {
-                matricula.setNota1(notaRequestDTO.getNota1());
+        List<NotaAlunoRequestDTO> notas = notasRequestDTO.getNotas();
+        List<Long> alunoIds = notas.stream().map(NotaAlunoRequestDTO::getAlunoId).distinct().toList();
+
+        // Mesma ordem de travas de atualizarNotas: estatística primeiro, depois as matrículas.
+        EstatisticaDisciplina estatistica = carregarEstatistica(disciplinaId);
+        Map<Long, Matricula> matriculasPorAluno = new HashMap<>();
+        for (int i = 0; i < alunoIds.size(); i += TAMANHO_BLOCO) {
+            List<Long> bloco = alunoIds.subList(i, Math.min(i + TAMANHO_BLOCO, alunoIds.size()));
+            for (Matricula matricula : matriculaRepository.findParaAtualizacaoDeNotas(disciplinaId, bloco)) {
+                matriculasPorAluno.put(matricula.getAluno().getId(), matricula);
             }
-            if (notaRequestDTO.getNota2() != null) {
-                matricula.setNota2(notaRequestDTO.getNota2());
+        }
+
+        List<ItemLoteResponseDTO> itens = new ArrayList<>(notas.size());
+        Set<Long> alunosProcessados = new HashSet<>();
+
+        for (int i = 0; i < notas.size(); i++) {
+            NotaAlunoRequestDTO nota = notas.get(i);
+            Matricula matricula = matriculasPorAluno.get(nota.getAlunoId());
+
+            String erro = null;
+            if (matricula == null) {
+                erro = "Matrícula não encontrada";
+            } else if (!alunosProcessados.add(nota.getAlunoId())) {
+                erro = "Aluno repetido na requisição";
             }
 
-            matricula.calcularMediaEStatus();
-            Matricula matriculaAtualizada = matriculaRepository.save(matricula);
+            if (erro != null) {
+                itens.add(ItemLoteResponseDTO.builder()
+                        .indice(i)
+                        .sucesso(false)
+                        .erro(erro)
+                        .build());
+                continue;
+            }
 
-            logInfo("Notas atualizadas com sucesso para matrícula ID: " + id + 
-                    " - Aluno: " + matricula.getAluno().getNome() + 
-                    " - Disciplina: " + matricula.getDisciplina().getNome(), 
-                    "atualizarNotas", emailUsuarioLogado, "UPDATE_NOTAS");
+            estatistica.remover(matricula.getMedia(), matricula.getStatus());
+            if (nota.getNota1() != null) {
+                matricula.setNota1(nota.getNota1());
+            }
+            if (nota.getNota2() != null) {
+                matricula.setNota2(nota.getNota2());
+            }
+            matricula.calcularMediaEStatus();
+            estatistica.adicionar(matricula.getMedia(), matricula.getStatus());
 
-            return matriculaMapper.toDTO(matriculaAtualizada);
-        } catch (Exception e) {
-            logError("Erro ao atualizar notas da matrícula ID " + id + ": " + e.getMessage(), 
-                    "atualizarNotas", emailUsuarioLogado, "UPDATE_NOTAS_ERROR");
-            throw e;
+            itens.add(ItemLoteResponseDTO.builder()
+                    .indice(i)
+                    .id(matricula.getId())
+                    .sucesso(true)
+                    .build());
         }
+
+        matriculaRepository.saveAll(matriculasPorAluno.values());
+        estatisticaRepository.save(estatistica);
+
+        int sucessos = alunosProcessados.size();
+
+        AuditContext.detalhe("sucessos", sucessos);
+        AuditContext.detalhe("total", notas.size());
+
+        return LoteResponseDTO.builder()
+                .total(notas.size())
+                .sucessos(sucessos)
+                .falhas(notas.size() - sucessos)
+                .itens(itens)
+                .build();
     }
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.DELETE_MATRICULA, entityId = "#id")
     public void deletarMatricula(Long id) {
-        String emailUsuarioLogado = getEmailUsuarioLogado();
-
-        try {
-            Matricula matricula = matriculaRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Matrícula não encontrada"));
+        Matricula matricula = matriculaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Matrícula não encontrada"));
 
-            String nomeAluno = matricula.getAluno().getNome();
-            String nomeDisciplina = matricula.getDisciplina().getNome();
+        EstatisticaDisciplina estatistica = travarEstatisticaDaMatricula(matricula);
+        matriculaRepository.delete(matricula);
 
-            matriculaRepository.delete(matricula);
+        estatistica.remover(matricula.getMedia(), matricula.getStatus());
+        estatisticaRepository.save(estatistica);
 
-            logInfo("Matrícula deletada com sucesso: Aluno " + nomeAluno + 
-                    " da disciplina " + nomeDisciplina + " (ID: " + id + ")", 
-                    "deletarMatricula", emailUsuarioLogado, "DELETE_MATRICULA");
-        } catch (Exception e) {
-            logError("Erro ao deletar matrícula ID " + id + ": " + e.getMessage(), 
-                    "deletarMatricula", emailUsuarioLogado, "DELETE_MATRICULA_ERROR");
-            throw e;
-        }
+        AuditContext.detalhe("alunoId", matricula.getAluno().getId());
+        AuditContext.detalhe("disciplinaId", matricula.getDisciplina().getId());
     }
 
     @Override
@@ -148,16 +387,148 @@ public class MatriculaServiceImpl implements MatriculaService {
             pageable = PageRequest.of(page, size, Sort.by("dataMatricula").descending());
         }
 
-        return matriculaRepository.findAll(pageable)
+        return matriculaRepository.findAllComAlunoEDisciplina(pageable)
                 .map(matriculaMapper::toDTO);
     }
 
-        private void logInfo(String message, String method, String user, String action) {
-        logService.saveLog("INFO", message, this.getClass().getSimpleName(), method, user, action);
+    @Override
+    public CursorResponseDTO<MatriculaResponseDTO> listarMatriculasPorCursor(String cursor, int size) {
+        Pageable limite = KeysetCursor.limite(size);
+        Slice<Matricula> matriculas;
+        if (KeysetCursor.ausente(cursor)) {
+            matriculas = matriculaRepository.findPrimeirasPorData(limite);
+        } else {
+            KeysetCursor posicao = KeysetCursor.decode(cursor);
+            matriculas = matriculaRepository.findProximasPorData(posicao.getChaveComoData(), posicao.getId(), limite);
+        }
+
+        return KeysetCursor.toResponse(matriculas, matriculaMapper::toDTO,
+                m -> KeysetCursor.encode(m.getId(), m.getDataMatricula()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Audited(operation = OperacaoAuditoria.EXPORT_MATRICULAS)
+    public void exportarMatriculas(FormatoExportacao formato, OutputStream saida) throws IOException {
+        log.info("Exportando matrículas em {}", formato);
+
+        AuditContext.detalhe("formato", formato.name());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        long total = 0;
+
+        try (Stream<MatriculaExportacaoDTO> linhas = matriculaRepository.streamParaExportacao()) {
+            if (formato == FormatoExportacao.CSV) {
+                writer.write(CABECALHO_CSV);
+                writer.write('\n');
+            }
+
+            Iterator<MatriculaExportacaoDTO> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                MatriculaExportacaoDTO linha = iterator.next();
+                writer.write(formato == FormatoExportacao.CSV ? toCsv(linha) : objectMapper.writeValueAsString(linha));
+                writer.write('\n');
+                total++;
+            }
+            writer.flush();
+        } finally {
+            AuditContext.detalhe("registros", total);
+        }
     }
 
-    private void logError(String message, String method, String user, String action) {
-        logService.saveLog("ERROR", message, this.getClass().getSimpleName(), method, user, action);
+    @Override
+    @Transactional(readOnly = true)
+    public HistoricoResponseDTO buscarHistoricoDoAluno(Long alunoId) {
+        log.info("Buscando histórico do aluno com ID: {}", alunoId);
+
+        List<Matricula> matriculas = matriculaRepository.findHistoricoDoAluno(alunoId);
+        Aluno aluno = matriculas.isEmpty()
+                ? alunoRepository.findById(alunoId)
+                        .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"))
+                : matriculas.get(0).getAluno();
+
+        return HistoricoResponseDTO.builder()
+                .aluno(alunoMapper.toDTO(aluno))
+                .matriculas(matriculas.stream().map(matriculaMapper::toItemHistorico).toList())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HistoricoResponseDTO buscarHistoricoDoAlunoLogado() {
+        return buscarHistoricoDoAluno(getAlunoIdLogado());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String buscarVersaoHistoricoDoAluno(Long alunoId) {
+        VersaoHistoricoDTO versao = matriculaRepository.findVersaoHistoricoDoAluno(alunoId)
+                .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado"));
+
+        return versao.getAlunoAtualizadoEm() + "|" + versao.getQuantidadeMatriculas() + "|"
+                + versao.getMatriculasAtualizadasEm() + "|" + versao.getDisciplinasAtualizadasEm() + "|"
+                + versao.getProfessoresAtualizadosEm();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String buscarVersaoHistoricoDoAlunoLogado() {
+        return buscarVersaoHistoricoDoAluno(getAlunoIdLogado());
+    }
+
+    private EstatisticaDisciplina carregarEstatistica(Long disciplinaId) {
+        return estatisticaRepository.findParaAtualizacao(disciplinaId)
+                .orElseGet(() -> new EstatisticaDisciplina(disciplinaId));
+    }
+
+    // Toda alteração de notas da disciplina passa pela trava da estatística; a matrícula é relida
+    // (e travada) depois dela para que a contribuição subtraída seja a que está gravada.
+    private EstatisticaDisciplina travarEstatisticaDaMatricula(Matricula matricula) {
+        EstatisticaDisciplina estatistica = carregarEstatistica(matricula.getDisciplina().getId());
+        entityManager.refresh(matricula, LockModeType.PESSIMISTIC_WRITE);
+        return estatistica;
+    }
+
+    private String toCsv(MatriculaExportacaoDTO linha) {
+        return String.join(",",
+                csv(linha.getId()),
+                csv(linha.getAlunoId()),
+                csv(linha.getAlunoNome()),
+                csv(linha.getAlunoMatricula()),
+                csv(linha.getDisciplinaId()),
+                csv(linha.getDisciplinaCodigo()),
+                csv(linha.getDisciplinaNome()),
+                csv(linha.getProfessorNome()),
+                csv(linha.getNota1()),
+                csv(linha.getNota2()),
+                csv(linha.getMedia()),
+                csv(linha.getStatus()),
+                csv(linha.getDataMatricula()));
+    }
+
+    private String csv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+
+    private Long getAlunoIdLogado() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof UsuarioUserDetails userDetails && userDetails.getAlunoId() != null) {
+            return userDetails.getAlunoId();
+        }
+
+        Usuario usuario = usuarioRepository.findByEmail(getEmailUsuarioLogado())
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+
+        if (usuario.getTipo() != TipoUsuario.ALUNO || usuario.getAluno() == null) {
+            throw new BusinessException("Usuário não é um aluno");
+        }
+        return usuario.getAluno().getId();
     }
 
     private String getEmailUsuarioLogado() {
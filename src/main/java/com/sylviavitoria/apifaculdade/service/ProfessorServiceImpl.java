@@ -1,18 +1,30 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 
+import com.sylviavitoria.apifaculdade.audit.AuditContext;
+import com.sylviavitoria.apifaculdade.audit.Audited;
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
 import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
@@ -20,8 +32,11 @@ import com.sylviavitoria.apifaculdade.interfaces.ProfessorService;
 import com.sylviavitoria.apifaculdade.mapper.ProfessorMapper;
 import com.sylviavitoria.apifaculdade.model.Professor;
 import com.sylviavitoria.apifaculdade.model.Usuario;
+import com.sylviavitoria.apifaculdade.repository.DisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.MatriculaRepository;
 import com.sylviavitoria.apifaculdade.repository.ProfessorRepository;
 import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
+import com.sylviavitoria.apifaculdade.security.UsuarioPrincipalCache;
 import com.sylviavitoria.apifaculdade.security.UsuarioUserDetails;
 
 import lombok.RequiredArgsConstructor;
@@ -34,100 +49,110 @@ public class ProfessorServiceImpl implements ProfessorService {
 
     private final ProfessorRepository professorRepository;
     private final UsuarioRepository usuarioRepository;
+    private final DisciplinaRepository disciplinaRepository;
+    private final MatriculaRepository matriculaRepository;
     private final ProfessorMapper professorMapper;
     private final PasswordEncoder passwordEncoder;
-    private final LogService logService;
+    private final UsuarioPrincipalCache principalCache;
+    private final CatalogoCache catalogoCache;
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.CREATE_PROFESSOR, entityId = "#result.id")
     public ProfessorResponseDTO criarProfessor(ProfessorRequestDTO professorRequestDTO) {
         log.info("Iniciando criação de professor: {}", professorRequestDTO.getNome());
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
-
-        try {
-            if (usuarioRepository.existsByEmail(professorRequestDTO.getEmail())) {
-                throw new BusinessException("Email já cadastrado");
-            }
+        if (usuarioRepository.existsByEmail(professorRequestDTO.getEmail())) {
+            throw new BusinessException("Email já cadastrado");
+        }
 
-            Professor professor = professorMapper.toEntity(professorRequestDTO);
-            professor = professorRepository.save(professor);
+        Professor professor = professorMapper.toEntity(professorRequestDTO);
+        professor = professorRepository.save(professor);
 
-            Usuario usuario = new Usuario();
-            usuario.setEmail(professorRequestDTO.getEmail());
-            usuario.setSenha(passwordEncoder.encode(professorRequestDTO.getSenha()));
-            usuario.setTipo(TipoUsuario.PROFESSOR);
-            usuario.setProfessor(professor);
-            usuarioRepository.save(usuario);
+        Usuario usuario = new Usuario();
+        usuario.setEmail(professorRequestDTO.getEmail());
+        usuario.setSenha(passwordEncoder.encode(professorRequestDTO.getSenha()));
+        usuario.setTipo(TipoUsuario.PROFESSOR);
+        usuario.setProfessor(professor);
+        usuarioRepository.save(usuario);
+        principalCache.invalidate(usuario.getEmail());
 
-            logInfo("Professor criado com sucesso: " + professorRequestDTO.getNome()  + " (ID: " + professor.getId() + ")", "criarProfessor", emailUsuarioLogado, "CREATE_PROFESSOR");
+        AuditContext.detalhe("nome", professorRequestDTO.getNome());
 
-            return professorMapper.toDTO(professor);
-        } catch (Exception e) {
-            logError("Erro ao criar professor: " + e.getMessage(), "criarProfessor", emailUsuarioLogado, "CREATE_PROFESSOR_ERROR");
-            throw e;
-        }
+        return professorMapper.toDTO(professor);
     }
 
     @Override
     @Transactional
+    @Audited(operation = OperacaoAuditoria.UPDATE_PROFESSOR, entityId = "#id")
     public ProfessorResponseDTO atualizarProfessor(Long id, ProfessorRequestDTO professorRequestDTO) {
         log.info("Atualizando professor com ID: {}", id);
 
-        String emailUsuarioLogado = getEmailUsuarioLogado();
+        Professor professor = professorRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
+
+        Professor professorAtualizado = professorMapper.toEntity(professorRequestDTO);
+        professorAtualizado.setId(professor.getId());
+        professorAtualizado = professorRepository.save(professorAtualizado);
 
-        try {
-            Professor professor = professorRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
+        Usuario usuario = usuarioRepository.findByProfessor(professor)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+        String emailAnterior = usuario.getEmail();
+        usuario.setEmail(professorRequestDTO.getEmail());
+        usuario.setSenha(passwordEncoder.encode(professorRequestDTO.getSenha()));
+        usuarioRepository.save(usuario);
+        principalCache.invalidate(emailAnterior, usuario.getEmail());
+        if (!emailAnterior.equals(usuario.getEmail())) {
+            principalCache.revogar(emailAnterior);
+        }
+        catalogoCache.invalidateProfessor(id);
 
-            Professor professorAtualizado = professorMapper.toEntity(professorRequestDTO);
-            professorAtualizado.setId(professor.getId());
-            professorAtualizado = professorRepository.save(professorAtualizado);
+        AuditContext.detalhe("nome", professorAtualizado.getNome());
 
-            Usuario usuario = usuarioRepository.findByProfessor(professor)
-                    .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
-            usuario.setEmail(professorRequestDTO.getEmail());
-            usuario.setSenha(passwordEncoder.encode(professorRequestDTO.getSenha()));
-            usuarioRepository.save(usuario);
+        return professorMapper.toDTO(professorAtualizado);
+    }
 
-            logInfo("Professor atualizado com sucesso: " + professorAtualizado.getNome() + " (ID: " + id + ")",
-                    "atualizarProfessor", emailUsuarioLogado, "UPDATE_PROFESSOR");
+    @Override
+    @Transactional
+    @Audited(operation = OperacaoAuditoria.DELETE_PROFESSOR, entityId = "#id")
+    public void deletarProfessor(Long id) {
+        log.info("Iniciando exclusão do professor ID: {}", id);
 
-            return professorMapper.toDTO(professorAtualizado);
-        } catch (Exception e) {
-            logError("Erro ao atualizar professor ID " + id + ": " + e.getMessage(),
-                    "atualizarProfessor", emailUsuarioLogado, "UPDATE_PROFESSOR_ERROR");
-            throw e;
+        if (excluirProfessores(List.of(id)).isEmpty()) {
+            throw new EntityNotFoundException("Professor não encontrado");
         }
+
+        log.info("Professor deletado com sucesso: {}", id);
     }
 
     @Override
     @Transactional
-    public void deletarProfessor(Long id) {
-        String emailUsuarioLogado = getEmailUsuarioLogado();
-        
-        try {
-            Professor professor = professorRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
-            
-            log.info("Iniciando exclusão do professor: {}", professor.getNome());
-            
-            usuarioRepository.deleteByProfessor(professor);
-            professorRepository.delete(professor);
-            
-            logInfo("Professor deletado com sucesso: " + professor.getNome(), "deletarProfessor", emailUsuarioLogado, "DELETE_PROFESSOR");
-            log.info("Professor deletado com sucesso: {}", professor.getNome());
-        } catch (Exception e) {
-            logError("Erro ao deletar professor: " + e.getMessage(), "deletarProfessor", emailUsuarioLogado, "DELETE_PROFESSOR");
-            log.error("Erro ao deletar professor: {}", e.getMessage(), e);
-            throw e;
+    @Audited(operation = OperacaoAuditoria.DELETE_PROFESSORES)
+    public LoteResponseDTO deletarProfessores(List<Long> ids) {
+        log.info("Deletando {} professores em lote", ids.size());
+
+        Set<Long> excluidos = excluirProfessores(new HashSet<>(ids)).keySet();
+        LoteResponseDTO resultado = ExclusaoEmLote.resultado(ids, excluidos, "Professor não encontrado");
+
+        AuditContext.detalhe("excluidos", excluidos.size());
+        AuditContext.detalhe("total", ids.size());
+        return resultado;
+    }
+
+    private Map<Long, String> excluirProfessores(Collection<Long> ids) {
+        Map<Long, String> emails = ExclusaoEmLote.emailsPorId(professorRepository.findEmailsPorIds(ids));
+        if (!emails.isEmpty()) {
+            usuarioRepository.deleteByProfessorIdIn(emails.keySet());
+            professorRepository.deleteByIdIn(emails.keySet());
+            principalCache.revogar(emails.values().toArray(String[]::new));
+            emails.keySet().forEach(catalogoCache::invalidateProfessor);
         }
+        return emails;
     }
 
     @Override
     public ProfessorResponseDTO buscarProfessorPorId(Long id) {
-        return professorRepository.findById(id)
-                .map(professorMapper::toDTO)
+        return catalogoCache.getProfessor(id, chave -> professorRepository.findById(chave).map(professorMapper::toDTO))
                 .orElseThrow(() -> new EntityNotFoundException("Professor não encontrado"));
     }
 
@@ -144,6 +169,21 @@ public class ProfessorServiceImpl implements ProfessorService {
                 .map(professorMapper::toDTO);
     }
 
+    @Override
+    public CursorResponseDTO<ProfessorResponseDTO> listarProfessoresPorCursor(String cursor, int size) {
+        Pageable limite = KeysetCursor.limite(size);
+        Slice<Professor> professores;
+        if (KeysetCursor.ausente(cursor)) {
+            professores = professorRepository.findPrimeirosPorNome(limite);
+        } else {
+            KeysetCursor posicao = KeysetCursor.decode(cursor);
+            professores = professorRepository.findProximosPorNome(posicao.getChave(), posicao.getId(), limite);
+        }
+
+        return KeysetCursor.toResponse(professores, professorMapper::toDTO,
+                p -> KeysetCursor.encode(p.getId(), p.getNome()));
+    }
+
     @Override
     public ProfessorResponseDTO buscarProfessorLogado() {
         UsuarioUserDetails userDetails = (UsuarioUserDetails) SecurityContextHolder.getContext()
@@ -159,12 +199,46 @@ public class ProfessorServiceImpl implements ProfessorService {
         return professorMapper.toDTO(usuario.getProfessor());
     }
 
-    private void logInfo(String message, String method, String user, String action) {
-        logService.saveLog("INFO", message, this.getClass().getSimpleName(), method, user, action);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponseDTO<AlunoMatriculadoResponseDTO> listarAlunosDaDisciplinaDoProfessorLogado(
+            Long disciplinaId, String cursor, int size) {
+        Long professorId = getProfessorIdLogado();
+
+        if (!disciplinaRepository.existsByIdAndProfessorId(disciplinaId, professorId)) {
+            if (!disciplinaRepository.existsById(disciplinaId)) {
+                throw new EntityNotFoundException("Disciplina não encontrada");
+            }
+            throw new AccessDeniedException("Disciplina não pertence ao professor logado");
+        }
+
+        Pageable limite = KeysetCursor.limite(size);
+        Slice<AlunoMatriculadoResponseDTO> alunos;
+        if (KeysetCursor.ausente(cursor)) {
+            alunos = matriculaRepository.findPrimeirosAlunosDaDisciplina(disciplinaId, limite);
+        } else {
+            KeysetCursor posicao = KeysetCursor.decode(cursor);
+            alunos = matriculaRepository.findProximosAlunosDaDisciplina(disciplinaId, posicao.getChave(),
+                    posicao.getId(), limite);
+        }
+
+        return KeysetCursor.toResponse(alunos, aluno -> aluno,
+                a -> KeysetCursor.encode(a.getMatriculaId(), a.getNome()));
     }
 
-    private void logError(String message, String method, String user, String action) {
-        logService.saveLog("ERROR", message, this.getClass().getSimpleName(), method, user, action);
+    private Long getProfessorIdLogado() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof UsuarioUserDetails userDetails && userDetails.getProfessorId() != null) {
+            return userDetails.getProfessorId();
+        }
+
+        Usuario usuario = usuarioRepository.findByEmail(getEmailUsuarioLogado())
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
+
+        if (usuario.getProfessor() == null) {
+            throw new BusinessException("Usuário não é um professor");
+        }
+        return usuario.getProfessor().getId();
     }
 
     private String getEmailUsuarioLogado() {
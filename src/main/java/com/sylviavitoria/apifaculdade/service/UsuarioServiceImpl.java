@@ -11,6 +11,7 @@ import com.sylviavitoria.apifaculdade.mapper.UsuarioMapper;
 import com.sylviavitoria.apifaculdade.model.Usuario;
 import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
+import com.sylviavitoria.apifaculdade.security.UsuarioPrincipalCache;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class UsuarioServiceImpl implements UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final UsuarioMapper usuarioMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UsuarioPrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -40,6 +42,7 @@ public class UsuarioServiceImpl implements UsuarioService {
         usuario.setTipo(TipoUsuario.ADMIN);
 
         Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        principalCache.invalidate(usuarioSalvo.getEmail());
 
         return usuarioMapper.toResponse(usuarioSalvo);
     }
@@ -0,0 +1,33 @@
+CREATE TABLE tb_estatistica_disciplina (
+    disciplina_id BIGINT PRIMARY KEY,
+    total_matriculas BIGINT NOT NULL DEFAULT 0,
+    total_com_media BIGINT NOT NULL DEFAULT 0,
+    soma_media DECIMAL(14,2) NOT NULL DEFAULT 0,
+    aprovados BIGINT NOT NULL DEFAULT 0,
+    reprovados BIGINT NOT NULL DEFAULT 0,
+    cursando BIGINT NOT NULL DEFAULT 0,
+    faixa_0_2 BIGINT NOT NULL DEFAULT 0,
+    faixa_2_4 BIGINT NOT NULL DEFAULT 0,
+    faixa_4_6 BIGINT NOT NULL DEFAULT 0,
+    faixa_6_8 BIGINT NOT NULL DEFAULT 0,
+    faixa_8_10 BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_estatistica_disciplina FOREIGN KEY (disciplina_id) REFERENCES tb_disciplina(id) ON DELETE CASCADE
+);
+
+INSERT INTO tb_estatistica_disciplina (disciplina_id, total_matriculas, total_com_media, soma_media,
+        aprovados, reprovados, cursando, faixa_0_2, faixa_2_4, faixa_4_6, faixa_6_8, faixa_8_10)
+SELECT d.id,
+       COUNT(m.id),
+       COUNT(m.media),
+       COALESCE(SUM(m.media), 0),
+       SUM(CASE WHEN m.status = 'APROVADO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.status = 'REPROVADO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.id IS NOT NULL AND COALESCE(m.status, 'CURSANDO') NOT IN ('APROVADO', 'REPROVADO') THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.media < 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.media >= 2 AND m.media < 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.media >= 4 AND m.media < 6 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.media >= 6 AND m.media < 8 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN m.media >= 8 THEN 1 ELSE 0 END)
+FROM tb_disciplina d
+LEFT JOIN tb_matricula m ON m.disciplina_id = d.id
+GROUP BY d.id;
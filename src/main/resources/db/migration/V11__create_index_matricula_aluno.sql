@@ -0,0 +1 @@
+CREATE INDEX idx_matricula_aluno_data ON tb_matricula (aluno_id, data_matricula);
@@ -0,0 +1 @@
+CREATE INDEX idx_matricula_disciplina ON tb_matricula (disciplina_id);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_disciplina_professor ON tb_disciplina (professor_id);
+CREATE INDEX idx_usuario_aluno ON tb_usuario (aluno_id);
+CREATE INDEX idx_usuario_professor ON tb_usuario (professor_id);
@@ -0,0 +1,5 @@
+CREATE TABLE tb_audit_outbox (
+    id CHAR(24) PRIMARY KEY,
+    criado_em TIMESTAMP NOT NULL,
+    payload TEXT NOT NULL
+);
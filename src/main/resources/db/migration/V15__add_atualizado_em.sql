@@ -0,0 +1,4 @@
+ALTER TABLE tb_aluno ADD COLUMN atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE tb_professor ADD COLUMN atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE tb_disciplina ADD COLUMN atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE tb_matricula ADD COLUMN atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
@@ -0,0 +1,221 @@
+package com.sylviavitoria.apifaculdade.audit;
+
+import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+import com.sylviavitoria.apifaculdade.enums.ResultadoAuditoria;
+import com.sylviavitoria.apifaculdade.exception.BusinessException;
+import com.sylviavitoria.apifaculdade.model.EventoAuditoria;
+import com.sylviavitoria.apifaculdade.service.LogService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditAspect Tests")
+class AuditAspectTest {
+
+    @Mock
+    private LogService logService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ServicoAuditado servico;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ServicoAuditado());
+        factory.addAspect(new AuditAspect(logService, transactionManager));
+        servico = factory.getProxy();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@email.com", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TransactionSynchronizationManager.clear();
+    }
+
+    private void iniciarTransacao(boolean somenteLeitura) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(somenteLeitura);
+    }
+
+    private void concluirTransacao(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(status));
+    }
+
+    private void verificarNovaTransacao() {
+        verify(transactionManager).getTransaction(argThat(definicao ->
+                definicao.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    @DisplayName("Deve registrar sucesso com o ID do retorno, duração e detalhes")
+    void deveRegistrarSucesso() {
+        AlunoResponseDTO resultado = servico.criar("Maria");
+
+        assertThat(resultado.getId()).isEqualTo(10L);
+        EventoAuditoria evento = eventoRegistrado();
+        assertThat(evento.getOperacao()).isEqualTo(OperacaoAuditoria.CREATE_ALUNO);
+        assertThat(evento.getResultado()).isEqualTo(ResultadoAuditoria.SUCESSO);
+        assertThat(evento.getAtor()).isEqualTo("admin@email.com");
+        assertThat(evento.getOrigem()).isEqualTo("ServicoAuditado");
+        assertThat(evento.getEntidadeId()).isEqualTo(10L);
+        assertThat(evento.getDuracaoMs()).isNotNull().isGreaterThanOrEqualTo(0L);
+        assertThat(evento.getDetalhes()).containsExactly(entry("nome", "Maria"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar erro com o ID do parâmetro e relançar a exceção")
+    void deveRegistrarErroERelancar() {
+        assertThatThrownBy(() -> servico.deletar(7L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Aluno possui matrículas");
+
+        EventoAuditoria evento = eventoRegistrado();
+        assertThat(evento.getOperacao()).isEqualTo(OperacaoAuditoria.DELETE_ALUNO);
+        assertThat(evento.getResultado()).isEqualTo(ResultadoAuditoria.ERRO);
+        assertThat(evento.getErro()).isEqualTo("Aluno possui matrículas");
+        assertThat(evento.getOrigem()).isEqualTo("ServicoAuditado");
+        assertThat(evento.getEntidadeId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Deve registrar evento sem ID quando a expressão não se aplica ao erro")
+    void deveRegistrarErroSemIdQuandoNaoHaResultado() {
+        assertThatThrownBy(() -> servico.criar(null)).isInstanceOf(BusinessException.class);
+
+        EventoAuditoria evento = eventoRegistrado();
+        assertThat(evento.getResultado()).isEqualTo(ResultadoAuditoria.ERRO);
+        assertThat(evento.getEntidadeId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve registrar o sucesso dentro da transação da operação")
+    void deveRegistrarSucessoNaTransacao() {
+        iniciarTransacao(false);
+
+        servico.criar("Maria");
+
+        assertThat(eventoRegistrado().getResultado()).isEqualTo(ResultadoAuditoria.SUCESSO);
+        concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+        verify(logService).registrar(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve registrar como erro em nova transação quando a transação é revertida")
+    void deveRegistrarErroQuandoTransacaoRevertida() {
+        iniciarTransacao(false);
+
+        servico.criar("Maria");
+        concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        ArgumentCaptor<EventoAuditoria> captor = ArgumentCaptor.forClass(EventoAuditoria.class);
+        verify(logService, times(2)).registrar(captor.capture());
+        EventoAuditoria revertido = captor.getAllValues().get(1);
+        assertThat(revertido.getResultado()).isEqualTo(ResultadoAuditoria.ERRO);
+        assertThat(revertido.getErro()).isEqualTo("Transação revertida");
+        assertThat(revertido.getOrigem()).isEqualTo("ServicoAuditado");
+        assertThat(revertido.getEntidadeId()).isEqualTo(10L);
+        assertThat(revertido.getDetalhes()).containsExactly(entry("nome", "Maria"));
+        verificarNovaTransacao();
+    }
+
+    @Test
+    @DisplayName("Deve registrar o erro em nova transação depois que a transação termina")
+    void deveRegistrarErroAposTransacao() {
+        iniciarTransacao(false);
+
+        assertThatThrownBy(() -> servico.deletar(7L)).isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(logService);
+        concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(eventoRegistrado().getResultado()).isEqualTo(ResultadoAuditoria.ERRO);
+        verificarNovaTransacao();
+    }
+
+    @Test
+    @DisplayName("Deve registrar fora da transação somente leitura")
+    void deveRegistrarForaDeTransacaoSomenteLeitura() {
+        iniciarTransacao(true);
+
+        servico.criar("Maria");
+
+        verifyNoInteractions(logService);
+        concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(eventoRegistrado().getResultado()).isEqualTo(ResultadoAuditoria.SUCESSO);
+        verificarNovaTransacao();
+    }
+
+    @Test
+    @DisplayName("Não deve trocar a exceção da operação por falha ao registrar o erro")
+    void naoDeveTrocarExcecaoPorFalhaDoRegistro() {
+        doThrow(new IllegalStateException("banco indisponível")).when(logService).registrar(any());
+
+        assertThatThrownBy(() -> servico.deletar(7L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Aluno possui matrículas");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar detalhes fora de um método auditado")
+    void deveIgnorarDetalhesForaDeMetodoAuditado() {
+        AuditContext.detalhe("nome", "Maria");
+
+        servico.deletar(1L);
+
+        assertThat(eventoRegistrado().getDetalhes()).isNull();
+    }
+
+    private EventoAuditoria eventoRegistrado() {
+        ArgumentCaptor<EventoAuditoria> captor = ArgumentCaptor.forClass(EventoAuditoria.class);
+        verify(logService).registrar(captor.capture());
+        return captor.getValue();
+    }
+
+    static class ServicoAuditado {
+
+        @Audited(operation = OperacaoAuditoria.CREATE_ALUNO, entityId = "#result.id")
+        public AlunoResponseDTO criar(String nome) {
+            if (nome == null) {
+                throw new BusinessException("Nome é obrigatório");
+            }
+            AuditContext.detalhe("nome", nome);
+            return AlunoResponseDTO.builder().id(10L).nome(nome).build();
+        }
+
+        @Audited(operation = OperacaoAuditoria.DELETE_ALUNO, entityId = "#id")
+        public void deletar(Long id) {
+            if (id == 7L) {
+                throw new BusinessException("Aluno possui matrículas");
+            }
+        }
+    }
+}
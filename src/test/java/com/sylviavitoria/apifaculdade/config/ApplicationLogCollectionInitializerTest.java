@@ -0,0 +1,214 @@
+package com.sylviavitoria.apifaculdade.config;
+
+import com.sylviavitoria.apifaculdade.enums.LogCollectionMode;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ApplicationLogCollectionInitializer Tests")
+class ApplicationLogCollectionInitializerTest {
+
+    private static final String COLECAO = "application_logs";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(ApplicationLog.class)).thenReturn(COLECAO);
+        when(mongoTemplate.indexOps(COLECAO)).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of());
+    }
+
+    private ApplicationLogCollectionInitializer criar(LogCollectionMode mode, long retentionDays) {
+        return new ApplicationLogCollectionInitializer(mongoTemplate, mode, retentionDays, 1, 0, Granularity.SECONDS);
+    }
+
+    private void colecaoExistente(Document info) {
+        List<Document> firstBatch = info == null ? List.of() : List.of(info.append("name", COLECAO));
+        when(mongoTemplate.executeCommand(argThat((Document d) -> d.containsKey("listCollections"))))
+                .thenReturn(new Document("cursor", new Document("firstBatch", firstBatch)));
+    }
+
+    private List<Document> indicesCriados() {
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, atLeastOnce()).createIndex(captor.capture());
+        return captor.getAllValues().stream().map(IndexDefinition::getIndexOptions).toList();
+    }
+
+    @Test
+    @DisplayName("Deve criar os índices por timestamp, level, userId, operation e entidade com TTL na coleção padrão")
+    void deveCriarIndicesComTtl() {
+        colecaoExistente(new Document("type", "collection").append("options", new Document()));
+
+        criar(LogCollectionMode.STANDARD, 30).preparar();
+
+        List<Document> indices = indicesCriados();
+        assertThat(indices).extracting(d -> d.getString("name")).containsExactlyInAnyOrder(
+                ApplicationLogCollectionInitializer.IDX_TIMESTAMP,
+                ApplicationLogCollectionInitializer.IDX_TIMESTAMP_ID,
+                ApplicationLogCollectionInitializer.IDX_LEVEL_TIMESTAMP,
+                ApplicationLogCollectionInitializer.IDX_USER_TIMESTAMP,
+                ApplicationLogCollectionInitializer.IDX_OPERATION_TIMESTAMP,
+                ApplicationLogCollectionInitializer.IDX_ENTITY_TIMESTAMP);
+        assertThat(indices).filteredOn(d -> d.containsKey("expireAfterSeconds"))
+                .singleElement()
+                .satisfies(d -> {
+                    assertThat(d.getString("name")).isEqualTo(ApplicationLogCollectionInitializer.IDX_TIMESTAMP);
+                    assertThat(d.getLong("expireAfterSeconds")).isEqualTo(Duration.ofDays(30).toSeconds());
+                });
+        verify(mongoTemplate, never()).createCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve terminar os índices da listagem em timestamp e _id decrescentes")
+    void deveTerminarIndicesEmTimestampEId() {
+        colecaoExistente(new Document("type", "collection"));
+
+        criar(LogCollectionMode.STANDARD, 30).preparar();
+
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, atLeastOnce()).createIndex(captor.capture());
+        assertThat(captor.getAllValues())
+                .filteredOn(i -> !ApplicationLogCollectionInitializer.IDX_TIMESTAMP.equals(i.getIndexOptions().getString("name")))
+                .hasSize(5)
+                .allSatisfy(i -> {
+                    List<String> chaves = List.copyOf(i.getIndexKeys().keySet());
+                    assertThat(chaves.subList(chaves.size() - 2, chaves.size())).containsExactly("timestamp", "_id");
+                    assertThat(i.getIndexKeys().get("timestamp")).isEqualTo(-1);
+                    assertThat(i.getIndexKeys().get("_id")).isEqualTo(-1);
+                });
+    }
+
+    @Test
+    @DisplayName("Deve remover os índices compostos antigos sem _id")
+    void deveRemoverIndicesAntigos() {
+        colecaoExistente(new Document("type", "collection"));
+        Index antigo = new Index().on("level", Direction.ASC).on("timestamp", Direction.DESC)
+                .named("idx_log_level_timestamp");
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+                new Document(antigo.getIndexOptions()).append("key", antigo.getIndexKeys()))));
+
+        criar(LogCollectionMode.STANDARD, 30).preparar();
+
+        InOrder ordem = inOrder(indexOperations);
+        ordem.verify(indexOperations).dropIndex("idx_log_level_timestamp");
+        ordem.verify(indexOperations).createIndex(argThat(i ->
+                ApplicationLogCollectionInitializer.IDX_LEVEL_TIMESTAMP.equals(i.getIndexOptions().getString("name"))));
+    }
+
+    @Test
+    @DisplayName("Não deve definir TTL quando a retenção estiver desativada")
+    void naoDeveDefinirTtlSemRetencao() {
+        colecaoExistente(new Document("type", "collection"));
+
+        criar(LogCollectionMode.STANDARD, 0).preparar();
+
+        assertThat(indicesCriados()).noneMatch(d -> d.containsKey("expireAfterSeconds"));
+    }
+
+    @Test
+    @DisplayName("Deve alterar o TTL do índice existente quando a retenção mudar")
+    void deveAlterarTtlExistente() {
+        colecaoExistente(new Document("type", "collection"));
+        Index antigo = new Index().on("timestamp", Direction.DESC)
+                .named(ApplicationLogCollectionInitializer.IDX_TIMESTAMP).expire(Duration.ofDays(90));
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+                new Document(antigo.getIndexOptions()).append("key", antigo.getIndexKeys()))));
+
+        criar(LogCollectionMode.STANDARD, 30).preparar();
+
+        verify(mongoTemplate).executeCommand(argThat((Document d) -> COLECAO.equals(d.get("collMod"))
+                && d.get("index", Document.class).getLong("expireAfterSeconds") == Duration.ofDays(30).toSeconds()));
+        verify(indexOperations, never()).dropIndex(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve remover o índice TTL existente quando a retenção for desativada")
+    void deveRemoverTtlExistente() {
+        colecaoExistente(new Document("type", "collection"));
+        Index antigo = new Index().on("timestamp", Direction.DESC)
+                .named(ApplicationLogCollectionInitializer.IDX_TIMESTAMP).expire(Duration.ofDays(90));
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+                new Document(antigo.getIndexOptions()).append("key", antigo.getIndexKeys()))));
+
+        criar(LogCollectionMode.STANDARD, 0).preparar();
+
+        verify(indexOperations).dropIndex(ApplicationLogCollectionInitializer.IDX_TIMESTAMP);
+    }
+
+    @Test
+    @DisplayName("Deve criar coleção capped sem TTL quando ela não existir")
+    void deveCriarColecaoCapped() {
+        colecaoExistente(null);
+
+        criar(LogCollectionMode.CAPPED, 30).preparar();
+
+        ArgumentCaptor<CollectionOptions> captor = ArgumentCaptor.forClass(CollectionOptions.class);
+        verify(mongoTemplate).createCollection(eq(COLECAO), captor.capture());
+        assertThat(captor.getValue().getCapped()).contains(true);
+        assertThat(captor.getValue().getSize()).contains(1024L * 1024);
+        assertThat(indicesCriados()).hasSize(6).noneMatch(d -> d.containsKey("expireAfterSeconds"));
+    }
+
+    @Test
+    @DisplayName("Deve criar coleção de série temporal com retenção na própria coleção")
+    void deveCriarColecaoSerieTemporal() {
+        colecaoExistente(null);
+
+        criar(LogCollectionMode.TIME_SERIES, 30).preparar();
+
+        ArgumentCaptor<CollectionOptions> captor = ArgumentCaptor.forClass(CollectionOptions.class);
+        verify(mongoTemplate).createCollection(eq(COLECAO), captor.capture());
+        CollectionOptions.TimeSeriesOptions timeSeries = captor.getValue().getTimeSeriesOptions().orElseThrow();
+        assertThat(timeSeries.getTimeField()).isEqualTo("timestamp");
+        assertThat(timeSeries.getGranularity()).isEqualTo(Granularity.SECONDS);
+        assertThat(timeSeries.getExpireAfter()).isEqualTo(Duration.ofDays(30));
+        assertThat(indicesCriados()).hasSize(6).noneMatch(d -> d.containsKey("expireAfterSeconds"));
+    }
+
+    @Test
+    @DisplayName("Não deve impedir a inicialização quando o MongoDB estiver indisponível")
+    void naoDeveFalharSemMongo() {
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("timeout"));
+
+        assertThatCode(() -> criar(LogCollectionMode.STANDARD, 30).preparar()).doesNotThrowAnyException();
+        verify(indexOperations, never()).createIndex(any());
+    }
+}
@@ -3,8 +3,15 @@ package com.sylviavitoria.apifaculdade.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sylviavitoria.apifaculdade.dto.AlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.HistoricoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemHistoricoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemLoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
+import com.sylviavitoria.apifaculdade.exception.CursorInvalidoException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.interfaces.AlunoService;
+import com.sylviavitoria.apifaculdade.interfaces.MatriculaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,8 +27,12 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -44,6 +55,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("AlunoController Tests")
 class AlunoControllerTest {
 
+    private static final String VERSAO_HISTORICO =
+            "2025-01-01T10:00|1|2025-01-01T10:00|2025-01-01T10:00|2025-01-01T10:00";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -53,6 +67,9 @@ class AlunoControllerTest {
     @MockitoBean
     private AlunoService alunoService;
 
+    @MockitoBean
+    private MatriculaService matriculaService;
+
     private AlunoRequestDTO alunoRequestDTO;
     private AlunoResponseDTO alunoResponseDTO;
 
@@ -252,6 +269,45 @@ class AlunoControllerTest {
         verify(alunoService, times(1)).listarAlunos(eq(0), eq(5), eq(sortParams));
     }
 
+    @Test
+    @DisplayName("Deve listar alunos por cursor")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveListarAlunosPorCursor() throws Exception {
+
+        CursorResponseDTO<AlunoResponseDTO> pagina = CursorResponseDTO.<AlunoResponseDTO>builder()
+                .conteudo(List.of(alunoResponseDTO))
+                .tamanho(1)
+                .temProximo(true)
+                .proximoCursor("MTpKb8OjbyBkYSBTaWx2YQ")
+                .build();
+        when(alunoService.listarAlunosPorCursor(eq("MDpB"), eq(1))).thenReturn(pagina);
+
+        mockMvc.perform(get("/api/v1/alunos/cursor")
+                        .param("cursor", "MDpB")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].id").value(1L))
+                .andExpect(jsonPath("$.temProximo").value(true))
+                .andExpect(jsonPath("$.proximoCursor").value("MTpKb8OjbyBkYSBTaWx2YQ"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(alunoService, times(1)).listarAlunosPorCursor(eq("MDpB"), eq(1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando cursor é inválido")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar400QuandoCursorInvalido() throws Exception {
+
+        when(alunoService.listarAlunosPorCursor(eq("invalido"), eq(10)))
+                .thenThrow(new CursorInvalidoException("Cursor inválido"));
+
+        mockMvc.perform(get("/api/v1/alunos/cursor")
+                        .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("Cursor inválido"));
+    }
+
     @Test
     @DisplayName("Deve buscar dados do aluno logado com sucesso quando usuário é ALUNO")
     @WithMockUser(authorities = "ROLE_ALUNO")
@@ -277,4 +333,179 @@ class AlunoControllerTest {
 
         verifyNoInteractions(alunoService);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve importar alunos a partir de CSV")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveImportarAlunosAPartirDeCsv() throws Exception {
+
+        List<AlunoRequestDTO> recebidos = new ArrayList<>();
+        when(alunoService.importarAlunos(any())).thenAnswer(invocation -> {
+            Iterator<AlunoRequestDTO> alunos = invocation.getArgument(0);
+            alunos.forEachRemaining(recebidos::add);
+            return LoteResponseDTO.builder()
+                    .total(2).sucessos(2).falhas(0)
+                    .itens(List.of(
+                            ItemLoteResponseDTO.builder().indice(0).id(10L).sucesso(true).build(),
+                            ItemLoteResponseDTO.builder().indice(1).id(11L).sucesso(true).build()))
+                    .build();
+        });
+
+        String csv = """
+                nome,email,matricula,senha
+                "Silva, João",joao.silva@email.com,2023001234,123456
+                Maria Souza , maria@email.com,2023001235,abc
+
+                """;
+
+        mockMvc.perform(post("/api/v1/alunos/importacao")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucessos").value(2))
+                .andExpect(jsonPath("$.itens[1].id").value(11L));
+
+        assertThat(recebidos).hasSize(2);
+        assertThat(recebidos.get(0).getNome()).isEqualTo("Silva, João");
+        assertThat(recebidos.get(1).getNome()).isEqualTo("Maria Souza");
+        assertThat(recebidos.get(1).getEmail()).isEqualTo("maria@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando CSV possui coluna desconhecida")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar400QuandoCsvPossuiColunaDesconhecida() throws Exception {
+
+        when(alunoService.importarAlunos(any())).thenAnswer(invocation -> {
+            Iterator<AlunoRequestDTO> alunos = invocation.getArgument(0);
+            alunos.forEachRemaining(aluno -> { });
+            return null;
+        });
+
+        mockMvc.perform(post("/api/v1/alunos/importacao")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("nome,email,telefone\nJoão,joao@email.com,9999\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar histórico do aluno logado com ETag")
+    @WithMockUser(authorities = "ROLE_ALUNO")
+    void deveRetornarHistoricoDoAlunoLogadoComEtag() throws Exception {
+
+        when(matriculaService.buscarVersaoHistoricoDoAlunoLogado()).thenReturn(VERSAO_HISTORICO);
+        when(matriculaService.buscarHistoricoDoAlunoLogado()).thenReturn(criarHistorico());
+
+        mockMvc.perform(get("/api/v1/alunos/me/matriculas"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.aluno.id").value(1L))
+                .andExpect(jsonPath("$.matriculas[0].media").value(8.0));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 sem carregar o histórico quando a versão não mudou")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar304QuandoHistoricoNaoMudou() throws Exception {
+
+        when(matriculaService.buscarVersaoHistoricoDoAluno(1L)).thenReturn(VERSAO_HISTORICO);
+        when(matriculaService.buscarHistoricoDoAluno(1L)).thenReturn(criarHistorico());
+
+        String etag = mockMvc.perform(get("/api/v1/alunos/1/matriculas"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/alunos/1/matriculas").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(matriculaService, times(1)).buscarHistoricoDoAluno(1L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 200 com novo ETag quando a versão do histórico mudou")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar200QuandoVersaoDoHistoricoMudou() throws Exception {
+
+        when(matriculaService.buscarVersaoHistoricoDoAluno(1L))
+                .thenReturn(VERSAO_HISTORICO, "2025-01-01T10:00|2|2025-01-02T08:00|2025-01-01T10:00|2025-01-01T10:00");
+        when(matriculaService.buscarHistoricoDoAluno(1L)).thenReturn(criarHistorico());
+
+        String etag = mockMvc.perform(get("/api/v1/alunos/1/matriculas"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        String novoEtag = mockMvc.perform(get("/api/v1/alunos/1/matriculas").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aluno.id").value(1L))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(novoEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao buscar histórico de aluno inexistente")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar404AoBuscarHistoricoDeAlunoInexistente() throws Exception {
+
+        when(matriculaService.buscarVersaoHistoricoDoAluno(99L))
+                .thenThrow(new EntityNotFoundException("Aluno não encontrado"));
+
+        mockMvc.perform(get("/api/v1/alunos/99/matriculas"))
+                .andExpect(status().isNotFound());
+
+        verify(matriculaService, never()).buscarHistoricoDoAluno(99L);
+    }
+
+    private HistoricoResponseDTO criarHistorico() {
+        return HistoricoResponseDTO.builder()
+                .aluno(alunoResponseDTO)
+                .matriculas(List.of(ItemHistoricoResponseDTO.builder()
+                        .id(1L)
+                        .nota1(new BigDecimal("7.0"))
+                        .nota2(new BigDecimal("9.0"))
+                        .media(new BigDecimal("8.0"))
+                        .build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve deletar alunos em lote quando usuário é ADMIN")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveDeletarAlunosEmLote() throws Exception {
+
+        when(alunoService.deletarAlunos(List.of(1L, 2L))).thenReturn(LoteResponseDTO.builder()
+                .total(2)
+                .sucessos(1)
+                .falhas(1)
+                .itens(List.of(
+                        ItemLoteResponseDTO.builder().indice(0).id(1L).sucesso(true).build(),
+                        ItemLoteResponseDTO.builder().indice(1).id(2L).sucesso(false).erro("Aluno não encontrado").build()))
+                .build());
+
+        mockMvc.perform(post("/api/v1/alunos/exclusao")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucessos").value(1))
+                .andExpect(jsonPath("$.itens[1].erro").value("Aluno não encontrado"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao deletar alunos em lote sem IDs")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar400AoDeletarAlunosEmLoteSemIds() throws Exception {
+
+        mockMvc.perform(post("/api/v1/alunos/exclusao")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(alunoService, never()).deletarAlunos(any());
+    }
+}
@@ -3,6 +3,8 @@ package com.sylviavitoria.apifaculdade.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.EstatisticaDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoDisciplinaResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.interfaces.DisciplinaService;
@@ -22,7 +24,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -175,6 +179,36 @@ class DisciplinaControllerTest {
         verifyNoInteractions(disciplinaService);
     }
 
+    @Test
+    @DisplayName("Deve deletar disciplina em cascata e informar matrículas removidas")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveDeletarDisciplinaEmCascata() throws Exception {
+
+        when(disciplinaService.deletarDisciplina(1L, true)).thenReturn(ExclusaoDisciplinaResponseDTO.builder()
+                .disciplinaId(1L)
+                .matriculasRemovidas(42)
+                .build());
+
+        mockMvc.perform(delete("/api/v1/disciplinas/{id}", 1L)
+                        .param("cascata", "true")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matriculasRemovidas").value(42));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 204 ao deletar disciplina sem cascata")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar204AoDeletarDisciplinaSemCascata() throws Exception {
+
+        when(disciplinaService.deletarDisciplina(1L, false)).thenReturn(ExclusaoDisciplinaResponseDTO.builder()
+                .disciplinaId(1L)
+                .build());
+
+        mockMvc.perform(delete("/api/v1/disciplinas/{id}", 1L).with(csrf()))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     @DisplayName("Deve buscar disciplina por ID com sucesso quando usuário é ADMIN")
     @WithMockUser(authorities = "ROLE_ADMIN")
@@ -221,6 +255,33 @@ class DisciplinaControllerTest {
         verify(disciplinaService, times(1)).buscarDisciplinaPorId(disciplinaId);
     }
 
+    @Test
+    @DisplayName("Deve retornar estatísticas da disciplina quando usuário é PROFESSOR")
+    @WithMockUser(authorities = "ROLE_PROFESSOR")
+    void deveRetornarEstatisticasDaDisciplinaQuandoUsuarioEhProfessor() throws Exception {
+
+        EstatisticaDisciplinaResponseDTO estatisticas = EstatisticaDisciplinaResponseDTO.builder()
+                .disciplinaId(1L)
+                .totalMatriculas(4)
+                .mediaGeral(new BigDecimal("6.50"))
+                .taxaAprovacao(new BigDecimal("66.67"))
+                .aprovados(2)
+                .reprovados(1)
+                .cursando(1)
+                .distribuicao(Map.of("8-10", 2L))
+                .build();
+        when(disciplinaService.buscarEstatisticas(1L)).thenReturn(estatisticas);
+
+        mockMvc.perform(get("/api/v1/disciplinas/{id}/estatisticas", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatriculas").value(4))
+                .andExpect(jsonPath("$.mediaGeral").value(6.5))
+                .andExpect(jsonPath("$.taxaAprovacao").value(66.67))
+                .andExpect(jsonPath("$.distribuicao['8-10']").value(2));
+
+        verify(disciplinaService, times(1)).buscarEstatisticas(1L);
+    }
+
     @Test
     @DisplayName("Deve listar disciplinas com sucesso quando usuário é ADMIN")
     @WithMockUser(authorities = "ROLE_ADMIN")
@@ -0,0 +1,220 @@
+package com.sylviavitoria.apifaculdade.controller;
+
+import com.sylviavitoria.apifaculdade.dto.AgregacaoLogResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogAgregadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.dto.LogResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.exception.PeriodoInvalidoException;
+import com.sylviavitoria.apifaculdade.service.LogService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = LogController.class,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+        classes = {
+            com.sylviavitoria.apifaculdade.security.JwtAuthFilter.class,
+            com.sylviavitoria.apifaculdade.security.JwtUtil.class,
+            com.sylviavitoria.apifaculdade.security.UserDetailsServiceImpl.class,
+            com.sylviavitoria.apifaculdade.config.SecurityConfig.class
+        }))
+@TestPropertySource(properties = {
+    "spring.security.enabled=false",
+    "jwt.secret=test-secret",
+    "jwt.expiration=86400000"
+})
+@DisplayName("LogController Tests")
+class LogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LogService logService;
+
+    @Test
+    @DisplayName("Deve listar logs com filtros e cursor")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveListarLogsComFiltros() throws Exception {
+        LogResponseDTO logResponseDTO = LogResponseDTO.builder()
+                .id("66b4d1f2a3c5e81b2f0c9a17")
+                .timestamp(LocalDateTime.of(2025, 8, 8, 10, 30))
+                .level("ERROR")
+                .operation("CREATE_ALUNO")
+                .build();
+        when(logService.listarLogs(any(LogFiltroDTO.class), eq("abc"), eq(20)))
+                .thenReturn(CursorResponseDTO.<LogResponseDTO>builder()
+                        .conteudo(List.of(logResponseDTO))
+                        .tamanho(1)
+                        .temProximo(true)
+                        .proximoCursor("def")
+                        .build());
+
+        mockMvc.perform(get("/api/v1/logs")
+                        .param("level", "ERROR")
+                        .param("operation", "CREATE_ALUNO")
+                        .param("inicio", "2025-08-01T00:00:00")
+                        .param("fim", "2025-08-09T00:00:00")
+                        .param("cursor", "abc")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].id").value("66b4d1f2a3c5e81b2f0c9a17"))
+                .andExpect(jsonPath("$.conteudo[0].metadata").doesNotExist())
+                .andExpect(jsonPath("$.proximoCursor").value("def"));
+
+        ArgumentCaptor<LogFiltroDTO> captor = ArgumentCaptor.forClass(LogFiltroDTO.class);
+        verify(logService).listarLogs(captor.capture(), eq("abc"), eq(20));
+        assertThat(captor.getValue()).isEqualTo(LogFiltroDTO.builder()
+                .level("ERROR")
+                .operation("CREATE_ALUNO")
+                .inicio(LocalDateTime.of(2025, 8, 1, 0, 0))
+                .fim(LocalDateTime.of(2025, 8, 9, 0, 0))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve listar logs recentes paginados por cursor")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveListarLogsRecentesPorCursor() throws Exception {
+        when(logService.listarLogsRecentes("abc", 20))
+                .thenReturn(CursorResponseDTO.<LogResponseDTO>builder()
+                        .conteudo(List.of())
+                        .tamanho(0)
+                        .temProximo(false)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/logs/recentes")
+                        .param("cursor", "abc")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo").isEmpty())
+                .andExpect(jsonPath("$.temProximo").value(false));
+
+        verify(logService).listarLogsRecentes("abc", 20);
+    }
+
+    @Test
+    @DisplayName("Deve exportar logs filtrados em NDJSON")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveExportarLogsEmNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(1);
+            saida.write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(logService).exportarLogs(any(LogFiltroDTO.class), any(OutputStream.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/logs/exportacao").param("userId", "admin@email.com"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"logs.ndjson\""))
+                .andExpect(content().string("{\"id\":\"1\"}\n"));
+
+        verify(logService).exportarLogs(eq(LogFiltroDTO.builder().userId("admin@email.com").build()),
+                any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 antes de iniciar a exportação quando o período for inválido")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar400NaExportacaoComPeriodoInvalido() throws Exception {
+        doThrow(new PeriodoInvalidoException("A data inicial deve ser anterior à data final"))
+                .when(logService).validarFiltro(any(LogFiltroDTO.class));
+
+        mockMvc.perform(get("/api/v1/logs/exportacao")
+                        .param("inicio", "2025-08-09T00:00:00")
+                        .param("fim", "2025-08-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("A data inicial deve ser anterior à data final"));
+
+        verify(logService, never()).exportarLogs(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 na listagem quando o período for inválido")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar400NaListagemComPeriodoInvalido() throws Exception {
+        when(logService.listarLogs(any(LogFiltroDTO.class), isNull(), eq(50)))
+                .thenThrow(new PeriodoInvalidoException("A data inicial deve ser anterior à data final"));
+
+        mockMvc.perform(get("/api/v1/logs")
+                        .param("inicio", "2025-08-09T00:00:00")
+                        .param("fim", "2025-08-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("A data inicial deve ser anterior à data final"));
+    }
+
+    @Test
+    @DisplayName("Deve agregar logs por operação e intervalo")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveAgregarLogs() throws Exception {
+        LocalDateTime inicio = LocalDateTime.of(2025, 8, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2025, 8, 2, 0, 0);
+        when(logService.agregarLogs(any(LogFiltroDTO.class), eq(AgrupamentoLog.OPERATION), eq(IntervaloLog.DAY), eq(20)))
+                .thenReturn(AgregacaoLogResponseDTO.builder()
+                        .agrupamento(AgrupamentoLog.OPERATION)
+                        .intervalo(IntervaloLog.DAY)
+                        .inicio(inicio)
+                        .fim(fim)
+                        .grupos(List.of(LogAgregadoResponseDTO.builder()
+                                .chave("CREATE_ALUNO")
+                                .periodo(inicio)
+                                .total(40)
+                                .erros(1)
+                                .taxaErro(new BigDecimal("2.50"))
+                                .build()))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/logs/agregacoes")
+                        .param("intervalo", "DAY")
+                        .param("inicio", "2025-08-01T00:00:00")
+                        .param("fim", "2025-08-02T00:00:00")
+                        .param("limite", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.agrupamento").value("OPERATION"))
+                .andExpect(jsonPath("$.grupos[0].chave").value("CREATE_ALUNO"))
+                .andExpect(jsonPath("$.grupos[0].erros").value(1))
+                .andExpect(jsonPath("$.grupos[0].taxaErro").value(2.50));
+
+        verify(logService).agregarLogs(eq(LogFiltroDTO.builder().inicio(inicio).fim(fim).build()),
+                eq(AgrupamentoLog.OPERATION), eq(IntervaloLog.DAY), eq(20));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para agrupamento desconhecido")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveRetornar400ParaAgrupamentoDesconhecido() throws Exception {
+        mockMvc.perform(get("/api/v1/logs/agregacoes").param("agrupamento", "CLASSE"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(logService);
+    }
+}
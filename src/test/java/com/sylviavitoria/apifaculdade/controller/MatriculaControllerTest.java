@@ -3,10 +3,13 @@ package com.sylviavitoria.apifaculdade.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemLoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.NotaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.FormatoExportacao;
 import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.interfaces.MatriculaService;
@@ -25,9 +28,13 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -343,4 +350,142 @@ class MatriculaControllerTest {
         verifyNoInteractions(matriculaService);
     }
 
+    @Test
+    @DisplayName("Deve criar matrículas em lote quando usuário é ADMIN")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveCriarMatriculasEmLoteQuandoUsuarioEhAdmin() throws Exception {
+
+        LoteResponseDTO lote = LoteResponseDTO.builder()
+                .total(1)
+                .sucessos(1)
+                .falhas(0)
+                .itens(List.of(ItemLoteResponseDTO.builder().indice(0).id(1L).sucesso(true).build()))
+                .build();
+        when(matriculaService.criarMatriculasEmLote(any())).thenReturn(lote);
+
+        mockMvc.perform(post("/api/v1/matriculas/lote")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(matriculaRequestDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.sucessos").value(1))
+                .andExpect(jsonPath("$.itens[0].id").value(1L));
+
+        verify(matriculaService, times(1)).criarMatriculasEmLote(any());
+    }
+
+    @Test
+    @DisplayName("Deve ler matrículas em lote no formato NDJSON")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveLerMatriculasEmLoteNoFormatoNdjson() throws Exception {
+
+        when(matriculaService.criarMatriculasEmLote(any())).thenAnswer(invocation -> {
+            Iterator<MatriculaRequestDTO> itens = invocation.getArgument(0);
+            int total = 0;
+            while (itens.hasNext()) {
+                itens.next();
+                total++;
+            }
+            return LoteResponseDTO.builder().total(total).sucessos(total).falhas(0).itens(List.of()).build();
+        });
+
+        mockMvc.perform(post("/api/v1/matriculas/lote")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"alunoId\":1,\"disciplinaId\":1}\n{\"alunoId\":2,\"disciplinaId\":1}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 403 ao tentar criar matrículas em lote sem ser ADMIN")
+    @WithMockUser(authorities = "ROLE_PROFESSOR")
+    void deveRetornar403AoCriarMatriculasEmLoteSemSerAdmin() throws Exception {
+
+        mockMvc.perform(post("/api/v1/matriculas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(matriculaRequestDTO))))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(matriculaService);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar notas da turma quando usuário é PROFESSOR")
+    @WithMockUser(authorities = "ROLE_PROFESSOR")
+    void deveAtualizarNotasDaTurmaQuandoUsuarioEhProfessor() throws Exception {
+
+        LoteResponseDTO lote = LoteResponseDTO.builder()
+                .total(1)
+                .sucessos(1)
+                .falhas(0)
+                .itens(List.of(ItemLoteResponseDTO.builder().indice(0).id(1L).sucesso(true).build()))
+                .build();
+        when(matriculaService.atualizarNotasDaDisciplina(eq(1L), any())).thenReturn(lote);
+
+        mockMvc.perform(put("/api/v1/matriculas/disciplinas/{disciplinaId}/notas", 1L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"notas\":[{\"alunoId\":1,\"nota1\":8.5,\"nota2\":7.0}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sucessos").value(1))
+                .andExpect(jsonPath("$.itens[0].id").value(1L));
+
+        verify(matriculaService, times(1)).atualizarNotasDaDisciplina(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao lançar nota da turma fora do intervalo")
+    @WithMockUser(authorities = "ROLE_PROFESSOR")
+    void deveRetornar400AoLancarNotaDaTurmaForaDoIntervalo() throws Exception {
+
+        mockMvc.perform(put("/api/v1/matriculas/disciplinas/{disciplinaId}/notas", 1L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"notas\":[{\"alunoId\":1,\"nota1\":11.0,\"nota2\":7.0}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(matriculaService);
+    }
+
+    @Test
+    @DisplayName("Deve exportar matrículas em CSV como anexo")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveExportarMatriculasEmCsv() throws Exception {
+
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(1);
+            saida.write("id,aluno_id\n1,1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(matriculaService).exportarMatriculas(eq(FormatoExportacao.CSV), any(OutputStream.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/matriculas/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"matriculas.csv\""))
+                .andExpect(content().string("id,aluno_id\n1,1\n"));
+    }
+
+    @Test
+    @DisplayName("Deve exportar matrículas em NDJSON")
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void deveExportarMatriculasEmNdjson() throws Exception {
+
+        MvcResult resultado = mockMvc.perform(get("/api/v1/matriculas/exportacao")
+                        .param("formato", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"matriculas.ndjson\""));
+
+        verify(matriculaService).exportarMatriculas(eq(FormatoExportacao.NDJSON), any(OutputStream.class));
+    }
 }
@@ -1,8 +1,11 @@
 package com.sylviavitoria.apifaculdade.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.interfaces.ProfessorService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +18,13 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -190,4 +196,39 @@ class ProfessorControllerTest {
                 .andExpect(jsonPath("$.nome").value("Maria Silva"))
                 .andExpect(jsonPath("$.email").value("maria.silva@universidade.com"));
     }
+
+    @Test
+    @DisplayName("Deve listar alunos de disciplina do professor logado")
+    @WithMockUser(authorities = "ROLE_PROFESSOR")
+    void deveListarAlunosDeDisciplinaDoProfessorLogado() throws Exception {
+
+        AlunoMatriculadoResponseDTO aluno = new AlunoMatriculadoResponseDTO(10L, 1L, "Ana", "ana@email.com",
+                "2023001", null, null, null, StatusMatricula.CURSANDO);
+        when(professorService.listarAlunosDaDisciplinaDoProfessorLogado(5L, "abc", 10))
+                .thenReturn(CursorResponseDTO.<AlunoMatriculadoResponseDTO>builder()
+                        .conteudo(List.of(aluno))
+                        .tamanho(1)
+                        .temProximo(false)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/professores/me/disciplinas/5/alunos")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].matriculaId").value(10L))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Ana"))
+                .andExpect(jsonPath("$.temProximo").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 403 ao listar alunos de disciplina de outro professor")
+    @WithMockUser(authorities = "ROLE_PROFESSOR")
+    void deveRetornar403AoListarAlunosDeDisciplinaDeOutroProfessor() throws Exception {
+
+        when(professorService.listarAlunosDaDisciplinaDoProfessorLogado(eq(5L), isNull(), anyInt()))
+                .thenThrow(new AccessDeniedException("Disciplina não pertence ao professor logado"));
+
+        mockMvc.perform(get("/api/v1/professores/me/disciplinas/5/alunos"))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,63 @@
+package com.sylviavitoria.apifaculdade.model;
+
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EstatisticaDisciplina Tests")
+class EstatisticaDisciplinaTest {
+
+    private EstatisticaDisciplina estatistica;
+
+    @BeforeEach
+    void setUp() {
+        estatistica = new EstatisticaDisciplina(1L);
+    }
+
+    @Test
+    @DisplayName("Deve colocar as médias nos limites das faixas na faixa de cima")
+    void deveClassificarLimitesDasFaixas() {
+        estatistica.adicionar(new BigDecimal("0.00"), StatusMatricula.REPROVADO);
+        estatistica.adicionar(new BigDecimal("1.99"), StatusMatricula.REPROVADO);
+        estatistica.adicionar(new BigDecimal("2.00"), StatusMatricula.REPROVADO);
+        estatistica.adicionar(new BigDecimal("7.99"), StatusMatricula.APROVADO);
+        estatistica.adicionar(new BigDecimal("8.00"), StatusMatricula.APROVADO);
+        estatistica.adicionar(new BigDecimal("10.00"), StatusMatricula.APROVADO);
+
+        assertThat(estatistica.getDistribuicao()).containsExactly(2, 1, 0, 1, 2);
+        assertThat(estatistica.getTotalComMedia()).isEqualTo(6);
+        assertThat(estatistica.getSomaMedia()).isEqualByComparingTo("29.98");
+    }
+
+    @Test
+    @DisplayName("Deve contar matrícula sem média apenas no total e no status")
+    void deveContarMatriculaSemMedia() {
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+        estatistica.adicionar(null, null);
+
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(2);
+        assertThat(estatistica.getCursando()).isEqualTo(2);
+        assertThat(estatistica.getTotalComMedia()).isZero();
+        assertThat(estatistica.getDistribuicao()).containsExactly(0, 0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Deve desfazer exatamente a contribuição ao remover")
+    void deveDesfazerContribuicaoAoRemover() {
+        estatistica.adicionar(new BigDecimal("6.50"), StatusMatricula.APROVADO);
+        estatistica.adicionar(new BigDecimal("10.00"), StatusMatricula.APROVADO);
+
+        estatistica.remover(new BigDecimal("10.00"), StatusMatricula.APROVADO);
+
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(1);
+        assertThat(estatistica.getAprovados()).isEqualTo(1);
+        assertThat(estatistica.getTotalComMedia()).isEqualTo(1);
+        assertThat(estatistica.getSomaMedia()).isEqualByComparingTo("6.50");
+        assertThat(estatistica.getDistribuicao()).containsExactly(0, 0, 0, 1, 0);
+    }
+}
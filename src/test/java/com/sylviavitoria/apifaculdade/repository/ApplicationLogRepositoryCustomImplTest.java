@@ -0,0 +1,247 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import com.sylviavitoria.apifaculdade.dto.LogAgregadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ApplicationLogRepositoryCustomImpl Tests")
+class ApplicationLogRepositoryCustomImplTest {
+
+    // Diferente do fuso padrão dos containers (UTC), para que o teste não passe por coincidência.
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ApplicationLogRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ApplicationLogRepositoryCustomImpl(mongoTemplate, FUSO);
+    }
+
+    private Query consultaExecutada() {
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(ApplicationLog.class));
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar filtros, ordenação decrescente e excluir os metadados")
+    void deveMontarConsultaComFiltros() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 8, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2025, 8, 2, 0, 0);
+        LogFiltroDTO filtro = LogFiltroDTO.builder()
+                .level("ERROR").userId("admin@email.com").operation("CREATE_ALUNO").className(" ")
+                .entityType("ALUNO").entityId(7L)
+                .inicio(inicio).fim(fim)
+                .build();
+        when(mongoTemplate.find(any(Query.class), eq(ApplicationLog.class))).thenReturn(List.of());
+
+        repository.findPorFiltro(filtro, null, null, PageRequest.of(0, 20));
+
+        Query query = consultaExecutada();
+        assertThat(query.getQueryObject().getList("$and", Document.class)).containsExactly(
+                new Document("level", "ERROR"),
+                new Document("userId", "admin@email.com"),
+                new Document("operation", "CREATE_ALUNO"),
+                new Document("entityType", "ALUNO"),
+                new Document("entityId", 7L),
+                new Document("timestamp", new Document("$gte", inicio).append("$lt", fim)));
+        assertThat(query.getSortObject()).isEqualTo(new Document("timestamp", -1).append("id", -1));
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("metadata", 0));
+        assertThat(query.getLimit()).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("Deve continuar depois do timestamp e do id do cursor")
+    void deveAplicarCursor() {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 8, 1, 10, 0);
+        ObjectId id = new ObjectId();
+        when(mongoTemplate.find(any(Query.class), eq(ApplicationLog.class))).thenReturn(List.of());
+
+        repository.findPorFiltro(LogFiltroDTO.builder().build(), timestamp, id.toHexString(), PageRequest.of(0, 20));
+
+        List<Document> condicoes = consultaExecutada().getQueryObject().getList("$and", Document.class);
+        assertThat(condicoes.get(0)).isEqualTo(new Document("timestamp", new Document("$lte", timestamp)));
+        assertThat(condicoes.get(1).getList("$or", Document.class)).containsExactly(
+                new Document("timestamp", new Document("$lt", timestamp)),
+                new Document("id", new Document("$lt", id)));
+    }
+
+    @Test
+    @DisplayName("Deve indicar próxima página quando vier um registro além do tamanho")
+    void deveIndicarProximaPagina() {
+        when(mongoTemplate.find(any(Query.class), eq(ApplicationLog.class)))
+                .thenReturn(List.of(new ApplicationLog(), new ApplicationLog(), new ApplicationLog()));
+
+        Slice<ApplicationLog> pagina = repository.findPorFiltro(LogFiltroDTO.builder().build(), null, null,
+                PageRequest.of(0, 2));
+
+        assertThat(pagina.getContent()).hasSize(2);
+        assertThat(pagina.hasNext()).isTrue();
+        assertThat(consultaExecutada().getQueryObject()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ler o stream pelo cursor do MongoDB com lotes")
+    void deveUsarCursorNoStream() {
+        when(mongoTemplate.stream(any(Query.class), eq(ApplicationLog.class))).thenReturn(Stream.empty());
+
+        repository.streamPorFiltro(LogFiltroDTO.builder().level("INFO").build());
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(captor.capture(), eq(ApplicationLog.class));
+        assertThat(captor.getValue().getMeta().getCursorBatchSize()).isEqualTo(500);
+        assertThat(captor.getValue().getFieldsObject()).isEqualTo(new Document("metadata", 0));
+        assertThat(captor.getValue().getLimit()).isZero();
+    }
+
+    private List<Document> pipelineExecutado() {
+        ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(ApplicationLog.class), eq(Document.class));
+        return captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    @Test
+    @DisplayName("Deve agregar por operação juntando sucesso e erro da mesma operação")
+    void deveAgregarPorOperacao() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 8, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2025, 8, 2, 0, 0);
+        Document resultado = new Document("_id", new Document("chave", "CREATE_ALUNO"))
+                .append("total", 40).append("erros", 1);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ApplicationLog.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(resultado), new Document()));
+
+        List<LogAgregadoResponseDTO> grupos = repository.agregar(
+                LogFiltroDTO.builder().inicio(inicio).fim(fim).build(), AgrupamentoLog.OPERATION, null, 50);
+
+        List<Document> pipeline = pipelineExecutado();
+        assertThat(pipeline).extracting(d -> d.keySet().iterator().next())
+                .containsExactly("$match", "$group", "$sort", "$limit");
+        assertThat(pipeline.get(0).get("$match", Document.class).getList("$and", Document.class)).containsExactly(
+                new Document("timestamp", new Document("$gte", inicio).append("$lt", fim)));
+        Document grupo = pipeline.get(1).get("$group", Document.class);
+        assertThat(grupo.get("_id", Document.class).toJson()).contains("$regexMatch", "_ERROR$", "$operation");
+        assertThat(grupo.get("_id", Document.class)).doesNotContainKey("periodo");
+        assertThat(pipeline.get(2).get("$sort", Document.class)).isEqualTo(new Document("total", -1).append("_id.chave", 1));
+        assertThat(pipeline.get(3).get("$limit")).isEqualTo(50L);
+
+        assertThat(grupos).singleElement().satisfies(g -> {
+            assertThat(g.getChave()).isEqualTo("CREATE_ALUNO");
+            assertThat(g.getPeriodo()).isNull();
+            assertThat(g.getTotal()).isEqualTo(40);
+            assertThat(g.getErros()).isEqualTo(1);
+            assertThat(g.getTaxaErro()).isEqualByComparingTo(new BigDecimal("2.50"));
+        });
+    }
+
+    @Test
+    @DisplayName("Deve agregar por usuário em intervalos de hora")
+    void deveAgregarPorUsuarioEHora() {
+        LocalDateTime hora = LocalDateTime.of(2025, 8, 1, 10, 0);
+        Document resultado = new Document("_id", new Document("chave", "admin@email.com")
+                .append("periodo", Date.from(hora.atZone(FUSO).toInstant())))
+                .append("total", 7L).append("erros", 0);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ApplicationLog.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(resultado), new Document()));
+
+        List<LogAgregadoResponseDTO> grupos = repository.agregar(
+                LogFiltroDTO.builder().level("INFO").build(), AgrupamentoLog.USER_ID, IntervaloLog.HOUR, 10);
+
+        List<Document> pipeline = pipelineExecutado();
+        Document chave = pipeline.get(1).get("$group", Document.class).get("_id", Document.class);
+        assertThat(chave.get("chave")).isEqualTo("$userId");
+        assertThat(chave.get("periodo", Document.class).get("$dateTrunc", Document.class))
+                .containsEntry("date", "$timestamp")
+                .containsEntry("unit", "hour")
+                .containsEntry("timezone", "America/Sao_Paulo");
+        assertThat(pipeline.get(2).get("$sort", Document.class)).isEqualTo(new Document("_id.periodo", 1).append("total", -1));
+
+        assertThat(grupos).singleElement().satisfies(g -> {
+            assertThat(g.getChave()).isEqualTo("admin@email.com");
+            assertThat(g.getPeriodo()).isEqualTo(hora);
+            assertThat(g.getTaxaErro()).isEqualByComparingTo(BigDecimal.ZERO);
+        });
+    }
+
+    @Test
+    @DisplayName("Deve ignorar logs já gravados ao inserir o lote")
+    void deveIgnorarDuplicadosAoInserir() {
+        BulkOperations bulk = configurarBulk(falhaEmLote(11000, 11000));
+
+        repository.inserirIgnorandoDuplicados(List.of(new ApplicationLog(), new ApplicationLog()));
+
+        verify(bulk).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve propagar falha do lote que não seja de chave duplicada")
+    void devePropagarOutrasFalhasAoInserir() {
+        configurarBulk(falhaEmLote(11000, 121));
+
+        assertThatThrownBy(() -> repository.inserirIgnorandoDuplicados(List.of(new ApplicationLog())))
+                .isInstanceOf(BulkOperationException.class);
+    }
+
+    private BulkOperations configurarBulk(BulkOperationException falha) {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, ApplicationLog.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        when(bulk.execute()).thenThrow(falha);
+        return bulk;
+    }
+
+    private static BulkOperationException falhaEmLote(int... codigos) {
+        List<BulkWriteError> erros = new ArrayList<>();
+        for (int i = 0; i < codigos.length; i++) {
+            erros.add(new BulkWriteError(codigos[i], "erro " + codigos[i], new BsonDocument(), i));
+        }
+        return new BulkOperationException("Falha no lote", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), erros, null, new ServerAddress(), Set.of()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+import com.sylviavitoria.apifaculdade.model.Aluno;
+import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.EstatisticaDisciplina;
+import com.sylviavitoria.apifaculdade.model.Matricula;
+import com.sylviavitoria.apifaculdade.model.Professor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("Backfill de tb_estatistica_disciplina (V10)")
+class EstatisticaDisciplinaBackfillTest {
+
+    private static final String MIGRATION = "db/migration/V10__create_table_estatistica_disciplina.sql";
+
+    @Autowired
+    private EstatisticaDisciplinaRepository estatisticaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private int sequencia;
+
+    @Test
+    @DisplayName("Deve recalcular as estatísticas das matrículas já existentes")
+    void deveRecalcularEstatisticasExistentes() throws IOException {
+        Professor professor = new Professor();
+        professor.setNome("Professor Backfill");
+        professor.setEmail("backfill@teste.com");
+        professor.setSenha("senha123");
+        entityManager.persist(professor);
+
+        Disciplina comMatriculas = criarDisciplina(professor, "BKF1");
+        Disciplina semMatriculas = criarDisciplina(professor, "BKF2");
+        matricular(comMatriculas, "2.00", "2.00");
+        matricular(comMatriculas, "7.98", "8.00");
+        matricular(comMatriculas, "10.00", "10.00");
+        matricular(comMatriculas, null, null);
+        entityManager.flush();
+
+        entityManager.getEntityManager().createNativeQuery("DELETE FROM tb_estatistica_disciplina").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery(comandoDeBackfill()).executeUpdate();
+        entityManager.clear();
+
+        EstatisticaDisciplina estatistica = estatisticaRepository.findById(comMatriculas.getId()).orElseThrow();
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(4);
+        assertThat(estatistica.getTotalComMedia()).isEqualTo(3);
+        assertThat(estatistica.getSomaMedia()).isEqualByComparingTo("19.99");
+        assertThat(estatistica.getAprovados()).isEqualTo(2);
+        assertThat(estatistica.getReprovados()).isEqualTo(1);
+        assertThat(estatistica.getCursando()).isEqualTo(1);
+        assertThat(estatistica.getDistribuicao()).containsExactly(0, 1, 0, 1, 1);
+
+        EstatisticaDisciplina vazia = estatisticaRepository.findById(semMatriculas.getId()).orElseThrow();
+        assertThat(vazia.getTotalMatriculas()).isZero();
+        assertThat(vazia.getCursando()).isZero();
+        assertThat(vazia.getSomaMedia()).isEqualByComparingTo("0");
+    }
+
+    private Disciplina criarDisciplina(Professor professor, String codigo) {
+        Disciplina disciplina = new Disciplina();
+        disciplina.setNome("Disciplina " + codigo);
+        disciplina.setCodigo(codigo);
+        disciplina.setProfessor(professor);
+        return entityManager.persist(disciplina);
+    }
+
+    private void matricular(Disciplina disciplina, String nota1, String nota2) {
+        sequencia++;
+        Aluno aluno = new Aluno();
+        aluno.setNome("Aluno Backfill " + sequencia);
+        aluno.setEmail("aluno.backfill" + sequencia + "@teste.com");
+        aluno.setMatricula("BKF" + sequencia);
+        aluno.setSenha("senha123");
+        entityManager.persist(aluno);
+
+        Matricula matricula = new Matricula();
+        matricula.setAluno(aluno);
+        matricula.setDisciplina(disciplina);
+        matricula.setStatus(StatusMatricula.CURSANDO);
+        if (nota1 != null) {
+            matricula.setNota1(new BigDecimal(nota1));
+            matricula.setNota2(new BigDecimal(nota2));
+            matricula.calcularMediaEStatus();
+        }
+        entityManager.persist(matricula);
+    }
+
+    private static String comandoDeBackfill() throws IOException {
+        String script = new ClassPathResource(MIGRATION).getContentAsString(StandardCharsets.UTF_8);
+        String comando = script.substring(script.indexOf("INSERT INTO")).trim();
+        return comando.endsWith(";") ? comando.substring(0, comando.length() - 1) : comando;
+    }
+}
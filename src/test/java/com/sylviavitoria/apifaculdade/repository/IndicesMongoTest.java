@@ -0,0 +1,123 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.sylviavitoria.apifaculdade.config.ApplicationLogCollectionInitializer;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(ApplicationLogCollectionInitializer.class)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Índices no MongoDB")
+class IndicesMongoTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 8, 1, 0, 0);
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationLogRepository logRepository;
+
+    private ApplicationLogRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ApplicationLogRepositoryCustomImpl(mongoTemplate, ZoneId.of("America/Sao_Paulo"));
+        logRepository.deleteAll();
+        List<ApplicationLog> logs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ApplicationLog log = new ApplicationLog();
+            log.setId(new ObjectId().toHexString());
+            log.setTimestamp(BASE.plusMinutes(i / 3));
+            log.setLevel(i % 7 == 0 ? "ERROR" : "INFO");
+            log.setUserId("usuario" + (i % 5) + "@email.com");
+            log.setOperation(i % 2 == 0 ? "CREATE_ALUNO" : "UPDATE_ALUNO");
+            log.setEntityType("ALUNO");
+            log.setEntityId((long) (i % 10));
+            logs.add(log);
+        }
+        logRepository.insert(logs);
+    }
+
+    static Stream<Arguments> filtros() {
+        LogFiltroDTO periodo = LogFiltroDTO.builder().inicio(BASE.plusMinutes(10)).fim(BASE.plusMinutes(80)).build();
+        return Stream.of(
+                Arguments.of("sem filtro", LogFiltroDTO.builder().build()),
+                Arguments.of("período", periodo),
+                Arguments.of("level", periodo.toBuilder().level("ERROR").build()),
+                Arguments.of("userId", LogFiltroDTO.builder().userId("usuario1@email.com").build()),
+                Arguments.of("operation", LogFiltroDTO.builder().operation("CREATE_ALUNO").build()),
+                Arguments.of("entidade", LogFiltroDTO.builder().entityType("ALUNO").entityId(3L).build()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filtros")
+    @DisplayName("Deve ler a primeira página na ordem do índice, sem SORT em memória")
+    void deveLerPrimeiraPaginaSemOrdenacao(String nome, LogFiltroDTO filtro) {
+        assertThat(estagios(explicar(repository.consultaPorCursor(filtro, null, null, 21)))).doesNotContain("SORT");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filtros")
+    @DisplayName("Deve continuar a partir do cursor na ordem do índice, sem SORT em memória")
+    void deveContinuarDoCursorSemOrdenacao(String nome, LogFiltroDTO filtro) {
+        Query query = repository.consultaPorCursor(filtro, BASE.plusMinutes(50), new ObjectId().toHexString(), 21);
+
+        assertThat(estagios(explicar(query))).doesNotContain("SORT");
+    }
+
+    private Document explicar(Query query) {
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(ApplicationLog.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(ApplicationLog.class))
+                .find(mapper.getMappedObject(query.getQueryObject(), entidade))
+                .sort(mapper.getMappedSort(query.getSortObject(), entidade))
+                .limit(query.getLimit())
+                .explain();
+    }
+
+    private static List<String> estagios(Object no) {
+        List<String> estagios = new ArrayList<>();
+        if (no instanceof Document documento) {
+            if (documento.get("stage") instanceof String estagio) {
+                estagios.add(estagio);
+            }
+            documento.values().forEach(valor -> estagios.addAll(estagios(valor)));
+        } else if (no instanceof List<?> lista) {
+            lista.forEach(item -> estagios.addAll(estagios(item)));
+        }
+        return estagios;
+    }
+}
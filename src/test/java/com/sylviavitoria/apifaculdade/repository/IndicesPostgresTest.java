@@ -0,0 +1,57 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@ActiveProfiles("postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Índices no PostgreSQL")
+class IndicesPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Com poucas linhas o planejador prefere varredura sequencial mesmo com índice disponível.
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+        "SELECT * FROM tb_matricula WHERE disciplina_id = 1     | idx_matricula_disciplina",
+        "SELECT * FROM tb_matricula WHERE aluno_id = 1 ORDER BY data_matricula | idx_matricula_aluno_data",
+        "SELECT * FROM tb_disciplina WHERE professor_id = 1     | idx_disciplina_professor",
+        "SELECT * FROM tb_usuario WHERE aluno_id = 1            | idx_usuario_aluno",
+        "SELECT * FROM tb_usuario WHERE professor_id = 1        | idx_usuario_professor",
+        "DELETE FROM tb_usuario WHERE aluno_id = 1              | idx_usuario_aluno",
+        "DELETE FROM tb_usuario WHERE professor_id = 1          | idx_usuario_professor"
+    })
+    @DisplayName("Deve usar o índice esperado")
+    void deveUsarIndice(String sql, String indice) {
+        List<String> plano = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        assertThat(String.join("\n", plano)).contains(indice);
+    }
+}
@@ -0,0 +1,201 @@
+package com.sylviavitoria.apifaculdade.repository;
+
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.MatriculaExportacaoDTO;
+import com.sylviavitoria.apifaculdade.model.Aluno;
+import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.Matricula;
+import com.sylviavitoria.apifaculdade.model.Professor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("MatriculaRepository Tests")
+class MatriculaRepositoryTest {
+
+    @Autowired
+    private MatriculaRepository matriculaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int p = 0; p < 3; p++) {
+            Professor professor = new Professor();
+            professor.setNome("Professor " + p);
+            professor.setEmail("professor" + p + "@teste.com");
+            professor.setSenha("senha123");
+            entityManager.persist(professor);
+
+            Disciplina disciplina = new Disciplina();
+            disciplina.setNome("Disciplina " + p);
+            disciplina.setCodigo("DSC" + p);
+            disciplina.setProfessor(professor);
+            entityManager.persist(disciplina);
+
+            for (int a = 0; a < 10; a++) {
+                Aluno aluno = new Aluno();
+                aluno.setNome("Aluno " + p + "-" + a);
+                aluno.setEmail("aluno" + p + "-" + a + "@teste.com");
+                aluno.setMatricula("MAT" + p + a);
+                aluno.setSenha("senha123");
+                entityManager.persist(aluno);
+
+                Matricula matricula = new Matricula();
+                matricula.setAluno(aluno);
+                matricula.setDisciplina(disciplina);
+                entityManager.persist(matricula);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve listar página de matrículas com uma consulta de dados e uma de contagem")
+    void deveListarPaginaSemConsultasAdicionais() {
+        Page<Matricula> pagina = matriculaRepository.findAllComAlunoEDisciplina(
+                PageRequest.of(0, 20, Sort.by("dataMatricula").descending()));
+
+        pagina.forEach(matricula -> {
+            matricula.getAluno().getNome();
+            matricula.getDisciplina().getProfessor().getNome();
+        });
+
+        assertThat(pagina.getContent()).hasSize(20);
+        assertThat(pagina.getTotalElements()).isGreaterThanOrEqualTo(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve manter o número de consultas ao ordenar por associação")
+    void deveListarOrdenandoPorAssociacao() {
+        Page<Matricula> pagina = matriculaRepository.findAllComAlunoEDisciplina(
+                PageRequest.of(1, 10, Sort.by("aluno.nome")));
+
+        pagina.forEach(matricula -> matricula.getDisciplina().getProfessor().getNome());
+
+        assertThat(pagina.getContent()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as matrículas por cursor sem repetir itens nem contar registros")
+    void devePercorrerMatriculasPorCursor() {
+        Set<Long> visitados = new HashSet<>();
+        Pageable limite = PageRequest.of(0, 7);
+
+        Slice<Matricula> pagina = matriculaRepository.findPrimeirasPorData(limite);
+        int consultas = 1;
+        pagina.forEach(m -> visitados.add(m.getId()));
+        while (pagina.hasNext()) {
+            Matricula ultima = pagina.getContent().get(pagina.getNumberOfElements() - 1);
+            pagina = matriculaRepository.findProximasPorData(ultima.getDataMatricula(), ultima.getId(), limite);
+            pagina.forEach(m -> {
+                assertThat(visitados.add(m.getId())).isTrue();
+                m.getDisciplina().getProfessor().getNome();
+            });
+            consultas++;
+        }
+
+        assertThat(visitados).hasSize((int) matriculaRepository.count());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(consultas + 1);
+    }
+
+    @Test
+    @DisplayName("Deve ler matrículas para exportação em fluxo com uma única consulta")
+    void deveLerMatriculasParaExportacaoEmFluxo() {
+        long quantidade;
+        try (Stream<MatriculaExportacaoDTO> linhas = matriculaRepository.streamParaExportacao()) {
+            quantidade = linhas
+                    .peek(linha -> assertThat(linha.getProfessorNome()).isNotNull())
+                    .count();
+        }
+
+        assertThat(quantidade).isGreaterThanOrEqualTo(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve montar o histórico do aluno com uma única consulta")
+    void deveMontarHistoricoDoAlunoComUmaConsulta() {
+        Aluno aluno = entityManager.getEntityManager()
+                .createQuery("SELECT a FROM Aluno a WHERE a.matricula = 'MAT00'", Aluno.class)
+                .getSingleResult();
+        Disciplina outraDisciplina = entityManager.getEntityManager()
+                .createQuery("SELECT d FROM Disciplina d WHERE d.codigo = 'DSC1'", Disciplina.class)
+                .getSingleResult();
+        Matricula matricula = new Matricula();
+        matricula.setAluno(aluno);
+        matricula.setDisciplina(outraDisciplina);
+        entityManager.persist(matricula);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<Matricula> historico = matriculaRepository.findHistoricoDoAluno(aluno.getId());
+
+        historico.forEach(m -> {
+            assertThat(m.getAluno().getId()).isEqualTo(aluno.getId());
+            m.getDisciplina().getProfessor().getNome();
+        });
+        assertThat(historico).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer alunos de uma disciplina por cursor em ordem de nome")
+    void devePercorrerAlunosDaDisciplinaPorCursor() {
+        Long disciplinaId = entityManager.getEntityManager()
+                .createQuery("SELECT d.id FROM Disciplina d WHERE d.codigo = 'DSC2'", Long.class)
+                .getSingleResult();
+        statistics.clear();
+        Pageable limite = PageRequest.of(0, 4);
+
+        List<String> nomes = new ArrayList<>();
+        Slice<AlunoMatriculadoResponseDTO> pagina = matriculaRepository.findPrimeirosAlunosDaDisciplina(disciplinaId, limite);
+        int consultas = 1;
+        pagina.forEach(a -> nomes.add(a.getNome()));
+        while (pagina.hasNext()) {
+            AlunoMatriculadoResponseDTO ultimo = pagina.getContent().get(pagina.getNumberOfElements() - 1);
+            pagina = matriculaRepository.findProximosAlunosDaDisciplina(disciplinaId, ultimo.getNome(),
+                    ultimo.getMatriculaId(), limite);
+            pagina.forEach(a -> nomes.add(a.getNome()));
+            consultas++;
+        }
+
+        assertThat(nomes).hasSize(10).isSorted().allMatch(nome -> nome.startsWith("Aluno 2-"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(consultas);
+    }
+}
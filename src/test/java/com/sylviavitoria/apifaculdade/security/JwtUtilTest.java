@@ -0,0 +1,90 @@
+package com.sylviavitoria.apifaculdade.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "minha-chave-secreta-supersegura-para-jwt";
+
+    private MeterRegistry meterRegistry;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = criarJwtUtil(86400000L);
+    }
+
+    private JwtUtil criarJwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil(meterRegistry);
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        ReflectionTestUtils.setField(util, "cacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+
+    private double contagem(String resultado) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", resultado)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Deve extrair claims de token válido")
+    void deveExtrairClaimsDeTokenValido() {
+        String token = jwtUtil.generateToken("admin@exemplo.com");
+
+        Optional<Claims> claims = jwtUtil.extractValidClaims(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("admin@exemplo.com");
+        assertThat(jwtUtil.isTokenValid(token)).isTrue();
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("admin@exemplo.com");
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar claims em cache para o mesmo token")
+    void deveReutilizarClaimsEmCache() {
+        String token = jwtUtil.generateToken("admin@exemplo.com");
+
+        Claims primeira = jwtUtil.extractValidClaims(token).orElseThrow();
+        Claims segunda = jwtUtil.extractValidClaims(token).orElseThrow();
+
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(contagem("miss")).isEqualTo(1.0);
+        assertThat(contagem("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token com assinatura adulterada")
+    void deveRejeitarTokenAdulterado() {
+        String token = jwtUtil.generateToken("admin@exemplo.com");
+        jwtUtil.extractValidClaims(token);
+
+        String adulterado = token.substring(0, token.length() - 2) + "xx";
+
+        assertThat(jwtUtil.extractValidClaims(adulterado)).isEmpty();
+        assertThat(jwtUtil.isTokenValid("token-invalido")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token expirado")
+    void deveRejeitarTokenExpirado() {
+        JwtUtil expirado = criarJwtUtil(-1000L);
+        String token = expirado.generateToken("admin@exemplo.com");
+
+        assertThat(expirado.extractValidClaims(token)).isEmpty();
+    }
+}
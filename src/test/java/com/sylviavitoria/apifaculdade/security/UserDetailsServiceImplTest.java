@@ -0,0 +1,104 @@
+package com.sylviavitoria.apifaculdade.security;
+
+import com.sylviavitoria.apifaculdade.dto.UsuarioPrincipalDTO;
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
+import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetailsServiceImpl Tests")
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private UsuarioPrincipalCache principalCache;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new UsuarioPrincipalCache(new SimpleMeterRegistry(), 100, 300, 86_400_000);
+        userDetailsService = new UserDetailsServiceImpl(usuarioRepository, principalCache);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas uma vez e manter os IDs no principal")
+    void deveConsultarBancoUmaVezEManterIds() {
+        UsuarioPrincipalDTO principal = new UsuarioPrincipalDTO(1L, "aluno@email.com", TipoUsuario.ALUNO, 10L, null);
+        when(usuarioRepository.findPrincipalByEmail("aluno@email.com")).thenReturn(Optional.of(principal));
+
+        UsuarioUserDetails primeiro = userDetailsService.loadPrincipal("aluno@email.com", new Date());
+        UsuarioUserDetails segundo = userDetailsService.loadPrincipal("aluno@email.com", new Date());
+
+        assertThat(primeiro.getAlunoId()).isEqualTo(10L);
+        assertThat(segundo.getAuthorities()).extracting("authority").containsExactly("ROLE_ALUNO");
+        verify(usuarioRepository, times(1)).findPrincipalByEmail("aluno@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco novamente após invalidação")
+    void deveConsultarBancoNovamenteAposInvalidacao() {
+        UsuarioPrincipalDTO principal = new UsuarioPrincipalDTO(1L, "aluno@email.com", TipoUsuario.ALUNO, 10L, null);
+        when(usuarioRepository.findPrincipalByEmail("aluno@email.com")).thenReturn(Optional.of(principal));
+
+        userDetailsService.loadPrincipal("aluno@email.com", new Date());
+        principalCache.invalidate("aluno@email.com");
+        userDetailsService.loadPrincipal("aluno@email.com", new Date());
+
+        verify(usuarioRepository, times(2)).findPrincipalByEmail("aluno@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando usuário não existir")
+    void deveLancarExcecaoQuandoUsuarioNaoExistir() {
+        when(usuarioRepository.findPrincipalByEmail("nada@email.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadPrincipal("nada@email.com", new Date()))
+                .isInstanceOf(UsernameNotFoundException.class)
+                .hasMessage("Usuário não encontrado");
+    }
+
+    @Test
+    @DisplayName("Deve recusar token emitido antes da exclusão do usuário")
+    void deveRecusarTokenEmitidoAntesDaExclusao() {
+        Date emitidoEm = new Date(System.currentTimeMillis() - 60_000);
+
+        principalCache.revogar("prof@email.com");
+
+        assertThatThrownBy(() -> userDetailsService.loadPrincipal("prof@email.com", emitidoEm))
+                .isInstanceOf(UsernameNotFoundException.class)
+                .hasMessage("Usuário não encontrado");
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar token emitido depois da revogação do email")
+    void deveAceitarTokenEmitidoDepoisDaRevogacao() {
+        UsuarioPrincipalDTO principal = new UsuarioPrincipalDTO(2L, "prof@email.com", TipoUsuario.PROFESSOR, null, 20L);
+        when(usuarioRepository.findPrincipalByEmail("prof@email.com")).thenReturn(Optional.of(principal));
+        principalCache.revogar("prof@email.com");
+        Date emitidoEm = new Date(System.currentTimeMillis() + 1_000);
+
+        UsuarioUserDetails userDetails = userDetailsService.loadPrincipal("prof@email.com", emitidoEm);
+
+        assertThat(userDetails.getUsername()).isEqualTo("prof@email.com");
+        assertThat(userDetails.getProfessorId()).isEqualTo(20L);
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_PROFESSOR");
+    }
+}
@@ -2,14 +2,20 @@ package com.sylviavitoria.apifaculdade.service;
 
 import com.sylviavitoria.apifaculdade.dto.AlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemLoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
+import com.sylviavitoria.apifaculdade.exception.CursorInvalidoException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.mapper.AlunoMapper;
 import com.sylviavitoria.apifaculdade.model.Aluno;
 import com.sylviavitoria.apifaculdade.model.Usuario;
 import com.sylviavitoria.apifaculdade.repository.AlunoRepository;
 import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
+import com.sylviavitoria.apifaculdade.security.UsuarioPrincipalCache;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,21 +28,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.contains;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("AlunoServiceImpl Tests")
@@ -54,8 +68,15 @@ class AlunoServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+
+    @Mock
+    private UsuarioPrincipalCache principalCache;
+
     @Mock
-    private LogService logService;
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
 
     @Mock
     private SecurityContext securityContext;
@@ -70,6 +91,7 @@ class AlunoServiceImplTest {
     private Aluno aluno;
     private AlunoResponseDTO alunoResponseDTO;
     private Usuario usuario;
+    private ExecutorService hashSenhaExecutor;
 
     @BeforeEach
     void setUp() {
@@ -104,15 +126,14 @@ class AlunoServiceImplTest {
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        if (hashSenhaExecutor != null) {
+            hashSenhaExecutor.shutdownNow();
+        }
     }
 
     @Test
     @DisplayName("Deve criar aluno com sucesso")
     void deveCriarAlunoComSucesso() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-        SecurityContextHolder.setContext(securityContext);
-
         when(usuarioRepository.existsByEmail("joao@email.com")).thenReturn(false);
         when(alunoRepository.existsByMatricula("2023001")).thenReturn(false);
         when(alunoMapper.toEntity(alunoRequestDTO)).thenReturn(aluno);
@@ -144,16 +165,11 @@ class AlunoServiceImplTest {
             u.getAluno() != null
         ));
         verify(alunoMapper).toDTO(aluno);
-        verify(logService).saveLog(eq("INFO"), contains("Aluno criado com sucesso"), eq("AlunoServiceImpl"), eq("criarAluno"), eq("admin@email.com"), eq("CREATE_ALUNO"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando email já existe")
     void deveLancarExcecaoQuandoEmailJaExiste() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-        SecurityContextHolder.setContext(securityContext);
-
         when(usuarioRepository.existsByEmail("joao@email.com")).thenReturn(true);
 
         assertThatThrownBy(() -> alunoService.criarAluno(alunoRequestDTO))
@@ -164,16 +180,11 @@ class AlunoServiceImplTest {
         verifyNoInteractions(alunoRepository);
         verifyNoInteractions(alunoMapper);
         verifyNoInteractions(passwordEncoder);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar aluno"), eq("AlunoServiceImpl"), eq("criarAluno"), eq("admin@email.com"), eq("CREATE_ALUNO_ERROR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando matrícula já existe")
     void deveLancarExcecaoQuandoMatriculaJaExiste() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-        SecurityContextHolder.setContext(securityContext);
-
         when(usuarioRepository.existsByEmail("joao@email.com")).thenReturn(false);
         when(alunoRepository.existsByMatricula("2023001")).thenReturn(true);
 
@@ -186,7 +197,6 @@ class AlunoServiceImplTest {
         verifyNoMoreInteractions(alunoRepository);
         verifyNoInteractions(alunoMapper);
         verifyNoInteractions(passwordEncoder);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar aluno"), eq("AlunoServiceImpl"), eq("criarAluno"), eq("admin@email.com"), eq("CREATE_ALUNO_ERROR"));
     }
 
     @Test
@@ -281,41 +291,95 @@ class AlunoServiceImplTest {
     }
 
     @Test
-    @DisplayName("Deve deletar aluno com sucesso")
-    void deveDeletarAlunoComSucesso() {
+    @DisplayName("Deve listar primeira página por cursor sem consulta de contagem")
+    void deveListarPrimeiraPaginaPorCursor() {
+        Aluno outroAluno = new Aluno();
+        outroAluno.setId(2L);
+        outroAluno.setNome("Maria Souza");
 
-        SecurityContext securityContext = mock(SecurityContext.class);
-        Authentication authentication = mock(Authentication.class);
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
+        Pageable limite = PageRequest.of(0, 2);
+        when(alunoRepository.findPrimeirosPorNome(limite))
+                .thenReturn(new SliceImpl<>(List.of(aluno, outroAluno), limite, true));
+        when(alunoMapper.toDTO(any(Aluno.class))).thenReturn(alunoResponseDTO);
 
-        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        CursorResponseDTO<AlunoResponseDTO> resultado = alunoService.listarAlunosPorCursor(null, 2);
+
+        assertThat(resultado.getConteudo()).hasSize(2);
+        assertThat(resultado.isTemProximo()).isTrue();
+        assertThat(resultado.getProximoCursor()).isNotBlank();
+
+        verify(alunoRepository, never()).findAll(any(Pageable.class));
+        verify(alunoRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve continuar listagem a partir do cursor da página anterior")
+    void deveContinuarListagemAPartirDoCursor() {
+        Pageable limite = PageRequest.of(0, 2);
+        Aluno ultimoDaPagina = new Aluno();
+        ultimoDaPagina.setId(7L);
+        ultimoDaPagina.setNome("Carlos Lima");
+        when(alunoRepository.findPrimeirosPorNome(limite))
+                .thenReturn(new SliceImpl<>(List.of(ultimoDaPagina), limite, true));
+        when(alunoRepository.findProximosPorNome("Carlos Lima", 7L, limite))
+                .thenReturn(new SliceImpl<>(List.of(aluno), limite, false));
+        when(alunoMapper.toDTO(any(Aluno.class))).thenReturn(alunoResponseDTO);
+
+        String cursor = alunoService.listarAlunosPorCursor(null, 2).getProximoCursor();
+        CursorResponseDTO<AlunoResponseDTO> resultado = alunoService.listarAlunosPorCursor(cursor, 2);
+
+        assertThat(resultado.getConteudo()).hasSize(1);
+        assertThat(resultado.isTemProximo()).isFalse();
+        assertThat(resultado.getProximoCursor()).isNull();
+        verify(alunoRepository).findProximosPorNome("Carlos Lima", 7L, limite);
+    }
+
+    @Test
+    @DisplayName("Deve limitar o tamanho da página por cursor")
+    void deveLimitarTamanhoDaPaginaPorCursor() {
+        Pageable limite = PageRequest.of(0, 100);
+        when(alunoRepository.findPrimeirosPorNome(limite))
+                .thenReturn(new SliceImpl<>(List.of(), limite, false));
+
+        alunoService.listarAlunosPorCursor(null, 5000);
+
+        verify(alunoRepository).findPrimeirosPorNome(limite);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando cursor é inválido")
+    void deveLancarExcecaoQuandoCursorInvalido() {
+        assertThatThrownBy(() -> alunoService.listarAlunosPorCursor("@@invalido@@", 10))
+                .isInstanceOf(CursorInvalidoException.class)
+                .hasMessage("Cursor inválido");
+
+        verifyNoInteractions(alunoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve deletar aluno com sucesso")
+    void deveDeletarAlunoComSucesso() {
+        when(alunoRepository.findEmailsPorIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, "joao.silva@email.com" }));
 
         alunoService.deletarAluno(1L);
 
-        verify(alunoRepository).findById(1L);
-        verify(usuarioRepository).deleteByAluno(aluno);
-        verify(alunoRepository).delete(aluno);
-        verify(logService).saveLog(eq("INFO"), contains("Aluno deletado com sucesso"), eq("AlunoServiceImpl"), eq("deletarAluno"), eq("admin@email.com"), eq("DELETE_ALUNO"));
+        verify(usuarioRepository).deleteByAlunoIdIn(Set.of(1L));
+        verify(alunoRepository).deleteByIdIn(Set.of(1L));
+        verify(principalCache).revogar("joao.silva@email.com");
+        verify(alunoRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar aluno não encontrado")
     void deveLancarExcecaoAoDeletarAlunoNaoEncontrado() {
-        SecurityContext securityContext = mock(SecurityContext.class);
-        Authentication authentication = mock(Authentication.class);
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-
-        when(alunoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(alunoRepository.findEmailsPorIds(List.of(1L))).thenReturn(List.of());
 
         assertThatThrownBy(() -> alunoService.deletarAluno(1L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Aluno não encontrado");
 
-        verify(alunoRepository).findById(1L);
+        verify(alunoRepository).findEmailsPorIds(List.of(1L));
         verifyNoMoreInteractions(alunoRepository);
         verifyNoInteractions(usuarioRepository);
     }
@@ -323,13 +387,6 @@ class AlunoServiceImplTest {
     @Test
     @DisplayName("Deve atualizar aluno com sucesso")
     void deveAtualizarAlunoComSucesso() {
-
-        SecurityContext securityContext = mock(SecurityContext.class);
-        Authentication authentication = mock(Authentication.class);
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-
         AlunoRequestDTO requestAtualizado = new AlunoRequestDTO();
         requestAtualizado.setNome("João Silva Atualizado");
         requestAtualizado.setEmail("joao.novo@email.com");
@@ -357,19 +414,12 @@ class AlunoServiceImplTest {
         verify(alunoRepository).save(aluno);
         verify(usuarioRepository).save(usuario);
         verify(alunoMapper).toDTO(aluno);
-        verify(logService).saveLog(eq("INFO"), contains("Aluno atualizado com sucesso"), eq("AlunoServiceImpl"), eq("atualizarAluno"), eq("admin@email.com"), eq("UPDATE_ALUNO"));
+        verify(principalCache).revogar("joao@email.com");
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar aluno não encontrado")
     void deveLancarExcecaoAoAtualizarAlunoNaoEncontrado() {
-
-        SecurityContext securityContext = mock(SecurityContext.class);
-        Authentication authentication = mock(Authentication.class);
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-
         when(alunoRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> alunoService.atualizarAluno(1L, alunoRequestDTO))
@@ -386,13 +436,6 @@ class AlunoServiceImplTest {
     @Test
     @DisplayName("Deve lançar exceção ao atualizar com email já em uso")
     void deveLancarExcecaoAoAtualizarComEmailJaEmUso() {
-
-        SecurityContext securityContext = mock(SecurityContext.class);
-        Authentication authentication = mock(Authentication.class);
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-
         AlunoRequestDTO requestComEmailExistente = new AlunoRequestDTO();
         requestComEmailExistente.setNome("João Silva");
         requestComEmailExistente.setEmail("outro@email.com");
@@ -414,13 +457,6 @@ class AlunoServiceImplTest {
     @Test
     @DisplayName("Deve lançar exceção ao atualizar com matrícula já em uso")
     void deveLancarExcecaoAoAtualizarComMatriculaJaEmUso() {
-
-        SecurityContext securityContext = mock(SecurityContext.class);
-        Authentication authentication = mock(Authentication.class);
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-
         AlunoRequestDTO requestComMatriculaExistente = new AlunoRequestDTO();
         requestComMatriculaExistente.setNome("João Silva");
         requestComMatriculaExistente.setEmail("joao@email.com");
@@ -497,4 +533,186 @@ class AlunoServiceImplTest {
         verifyNoInteractions(alunoMapper);
     }
 
+    @Test
+    @DisplayName("Deve importar alunos válidos e reportar erro por linha")
+    void deveImportarAlunosReportandoErrosPorLinha() {
+        configurarImportacao();
+        when(usuarioRepository.findEmailsExistentes(any())).thenReturn(Set.of("existente@email.com"));
+        when(alunoRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findMatriculasExistentes(any())).thenReturn(Set.of("2023999"));
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+        when(alunoMapper.toEntity(any(AlunoRequestDTO.class))).thenAnswer(inv -> {
+            AlunoRequestDTO dto = inv.getArgument(0);
+            Aluno novo = new Aluno();
+            novo.setNome(dto.getNome());
+            novo.setEmail(dto.getEmail());
+            novo.setMatricula(dto.getMatricula());
+            return novo;
+        });
+        when(alunoRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Aluno> salvos = inv.getArgument(0);
+            long id = 100;
+            for (Aluno salvo : salvos) {
+                salvo.setId(id++);
+            }
+            return salvos;
+        });
+
+        List<AlunoRequestDTO> linhas = List.of(
+                alunoImportado("Ana", "ana@email.com", "2024001", "senhaAna"),
+                alunoImportado("Bruno", "existente@email.com", "2024002", "senha"),
+                alunoImportado("Carla", "carla@email.com", "2023999", "senha"),
+                alunoImportado("Davi", "ana@email.com", "2024004", "senha"),
+                alunoImportado("", "eva@email.com", "2024005", "senha"),
+                alunoImportado("Fábio", "fabio@email.com", "2024006", "senhaFabio"));
+
+        LoteResponseDTO resultado = alunoService.importarAlunos(linhas.iterator());
+
+        assertThat(resultado.getTotal()).isEqualTo(6);
+        assertThat(resultado.getSucessos()).isEqualTo(2);
+        assertThat(resultado.getFalhas()).isEqualTo(4);
+        assertThat(resultado.getItens().get(0).getId()).isEqualTo(100L);
+        assertThat(resultado.getItens().get(1).getErro()).isEqualTo("Já existe um usuário com esse email");
+        assertThat(resultado.getItens().get(2).getErro()).isEqualTo("Já existe um aluno com essa matrícula");
+        assertThat(resultado.getItens().get(3).getErro()).isEqualTo("Email repetido na importação");
+        assertThat(resultado.getItens().get(4).getErro()).isEqualTo("O nome é obrigatório");
+        assertThat(resultado.getItens().get(5).getId()).isEqualTo(101L);
+
+        verify(usuarioRepository).saveAll(argThat((List<Usuario> usuarios) -> usuarios.size() == 2
+                && usuarios.get(0).getSenha().equals("hash-senhaAna")
+                && usuarios.get(0).getTipo() == TipoUsuario.ALUNO));
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve consultar unicidade uma vez por bloco de importação")
+    void deveConsultarUnicidadeUmaVezPorBloco() {
+        configurarImportacao();
+        when(usuarioRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findMatriculasExistentes(any())).thenReturn(Set.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(alunoMapper.toEntity(any(AlunoRequestDTO.class))).thenAnswer(inv -> new Aluno());
+
+        List<AlunoRequestDTO> linhas = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            linhas.add(alunoImportado("Aluno " + i, "aluno" + i + "@email.com", "M" + i, "senha"));
+        }
+
+        LoteResponseDTO resultado = alunoService.importarAlunos(linhas.iterator());
+
+        assertThat(resultado.getSucessos()).isEqualTo(1200);
+        verify(usuarioRepository, times(3)).findEmailsExistentes(any());
+        verify(alunoRepository, times(3)).findMatriculasExistentes(any());
+        verify(alunoRepository, times(3)).saveAll(anyList());
+        verify(usuarioRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve marcar linhas do bloco como falha quando a gravação falha")
+    void deveMarcarBlocoComoFalhaQuandoGravacaoFalha() {
+        configurarImportacao();
+        when(usuarioRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findMatriculasExistentes(any())).thenReturn(Set.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(alunoMapper.toEntity(any(AlunoRequestDTO.class))).thenAnswer(inv -> new Aluno());
+        when(alunoRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        LoteResponseDTO resultado = alunoService.importarAlunos(List.of(
+                alunoImportado("Ana", "ana@email.com", "2024001", "senha")).iterator());
+
+        assertThat(resultado.getFalhas()).isEqualTo(1);
+        assertThat(resultado.getItens().get(0).getErro()).isEqualTo("Não foi possível gravar o aluno");
+        verify(principalCache, never()).invalidate(any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Deve regravar linha a linha e marcar só a linha que falhou quando o bloco falha")
+    void deveRegravarLinhaALinhaQuandoBlocoFalha() {
+        configurarImportacao();
+        when(usuarioRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findMatriculasExistentes(any())).thenReturn(Set.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(alunoMapper.toEntity(any(AlunoRequestDTO.class))).thenAnswer(inv -> {
+            AlunoRequestDTO dto = inv.getArgument(0);
+            Aluno novo = new Aluno();
+            novo.setEmail(dto.getEmail());
+            return novo;
+        });
+        when(alunoRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("valor inválido"))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("valor inválido"));
+
+        LoteResponseDTO resultado = alunoService.importarAlunos(List.of(
+                alunoImportado("Ana", "ana@email.com", "2024001", "senha"),
+                alunoImportado("Bia", "bia@email.com", "2024002", "senha")).iterator());
+
+        assertThat(resultado.getSucessos()).isEqualTo(1);
+        assertThat(resultado.getItens().get(0).isSucesso()).isTrue();
+        assertThat(resultado.getItens().get(1).getErro()).isEqualTo("Não foi possível gravar o aluno");
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        verify(alunoMapper, times(4)).toEntity(any(AlunoRequestDTO.class));
+        verify(principalCache).invalidate("ana@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve recusar campos maiores que as colunas antes de gravar")
+    void deveRecusarCamposMaioresQueAsColunas() {
+        configurarImportacao();
+        when(usuarioRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findEmailsExistentes(any())).thenReturn(Set.of());
+        when(alunoRepository.findMatriculasExistentes(any())).thenReturn(Set.of());
+
+        LoteResponseDTO resultado = alunoService.importarAlunos(List.of(
+                alunoImportado("A".repeat(101), "ana@email.com", "2024001", "senha"),
+                alunoImportado("Bia", "b".repeat(92) + "@email.com", "2024002", "senha"),
+                alunoImportado("Caio", "caio@email.com", "2".repeat(21), "senha")).iterator());
+
+        assertThat(resultado.getFalhas()).isEqualTo(3);
+        assertThat(resultado.getItens()).extracting(ItemLoteResponseDTO::getErro).containsExactly(
+                "O nome deve ter no máximo 100 caracteres",
+                "O email deve ter no máximo 100 caracteres",
+                "A matrícula deve ter no máximo 20 caracteres");
+        verifyNoInteractions(passwordEncoder, transactionTemplate);
+    }
+
+    private void configurarImportacao() {
+        hashSenhaExecutor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(alunoService, "hashSenhaExecutor", hashSenhaExecutor);
+        lenient().doAnswer(inv -> {
+            Consumer<Object> acao = inv.getArgument(0);
+            acao.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private AlunoRequestDTO alunoImportado(String nome, String email, String matricula, String senha) {
+        AlunoRequestDTO dto = new AlunoRequestDTO();
+        dto.setNome(nome);
+        dto.setEmail(email);
+        dto.setMatricula(matricula);
+        dto.setSenha(senha);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Deve deletar alunos em lote reportando inexistentes e repetidos")
+    void deveDeletarAlunosEmLote() {
+        when(alunoRepository.findEmailsPorIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(
+                new Object[] { 1L, "a1@email.com" },
+                new Object[] { 3L, "a3@email.com" }));
+
+        LoteResponseDTO resultado = alunoService.deletarAlunos(List.of(1L, 2L, 3L, 1L));
+
+        assertThat(resultado.getTotal()).isEqualTo(4);
+        assertThat(resultado.getSucessos()).isEqualTo(2);
+        assertThat(resultado.getItens().get(1).getErro()).isEqualTo("Aluno não encontrado");
+        assertThat(resultado.getItens().get(3).getErro()).isEqualTo("ID repetido na requisição");
+        verify(usuarioRepository).deleteByAlunoIdIn(Set.of(1L, 3L));
+        verify(alunoRepository).deleteByIdIn(Set.of(1L, 3L));
+        verify(alunoRepository, times(1)).findEmailsPorIds(any());
+    }
 }
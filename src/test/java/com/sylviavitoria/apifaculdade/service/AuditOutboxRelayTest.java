@@ -0,0 +1,162 @@
+package com.sylviavitoria.apifaculdade.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+import com.sylviavitoria.apifaculdade.model.AuditOutbox;
+import com.sylviavitoria.apifaculdade.repository.ApplicationLogRepository;
+import com.sylviavitoria.apifaculdade.repository.AuditOutboxRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditOutboxRelay Tests")
+class AuditOutboxRelayTest {
+
+    @Mock
+    private AuditOutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationLogRepository logRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MeterRegistry meterRegistry;
+    private AuditOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new AuditOutboxRelay(outboxRepository, logRepository, objectMapper, meterRegistry, 2, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    private AuditOutbox criarPendente(String operation) throws Exception {
+        ApplicationLog log = new ApplicationLog();
+        log.setId(new ObjectId().toHexString());
+        log.setTimestamp(LocalDateTime.of(2025, 8, 8, 10, 30));
+        log.setLevel("INFO");
+        log.setOperation(operation);
+        return new AuditOutbox(log.getId(), log.getTimestamp(), objectMapper.writeValueAsString(log));
+    }
+
+    @Test
+    @DisplayName("Deve publicar o lote no MongoDB e removê-lo da outbox")
+    void devePublicarLoteERemoverDaOutbox() throws Exception {
+        AuditOutbox primeiro = criarPendente("CREATE_ALUNO");
+        AuditOutbox segundo = criarPendente("DELETE_ALUNO");
+        when(outboxRepository.findByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(primeiro, segundo));
+
+        int publicados = relay.publicarLote();
+
+        assertThat(publicados).isEqualTo(2);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ApplicationLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(logRepository).inserirIgnorandoDuplicados(captor.capture());
+        assertThat(captor.getValue()).extracting(ApplicationLog::getId)
+                .containsExactly(primeiro.getId(), segundo.getId());
+        assertThat(captor.getValue()).extracting(ApplicationLog::getOperation)
+                .containsExactly("CREATE_ALUNO", "DELETE_ALUNO");
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(primeiro.getId(), segundo.getId()));
+        assertThat(meterRegistry.counter("audit.outbox.published").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve manter os registros na outbox quando o MongoDB falhar")
+    void deveManterRegistrosQuandoMongoFalhar() throws Exception {
+        when(outboxRepository.findByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(criarPendente("CREATE_ALUNO")));
+        doThrow(new DataAccessResourceFailureException("MongoDB indisponível"))
+                .when(logRepository).inserirIgnorandoDuplicados(anyList());
+
+        assertThatThrownBy(() -> relay.publicarLote()).isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro ilegível sem bloquear o lote")
+    void deveDescartarRegistroIlegivel() throws Exception {
+        AuditOutbox valido = criarPendente("CREATE_ALUNO");
+        AuditOutbox ilegivel = new AuditOutbox(new ObjectId().toHexString(), LocalDateTime.now(), "{");
+        when(outboxRepository.findByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(valido, ilegivel));
+
+        relay.publicarLote();
+
+        verify(logRepository).inserirIgnorandoDuplicados(argThat(logs -> logs.size() == 1));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(valido.getId(), ilegivel.getId()));
+        assertThat(meterRegistry.counter("audit.outbox.discarded").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o MongoDB quando a outbox estiver vazia")
+    void naoDeveAcessarMongoComOutboxVazia() {
+        when(outboxRepository.findByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(relay.publicarLote()).isZero();
+
+        verifyNoInteractions(logRepository);
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve expor a quantidade e a idade dos logs pendentes na outbox")
+    void deveExporAcumuloDaOutbox() {
+        when(outboxRepository.count()).thenReturn(42L);
+        when(outboxRepository.findCriadoEmMaisAntigo()).thenReturn(Optional.of(LocalDateTime.now().minusMinutes(5)));
+
+        assertThat(meterRegistry.get("audit.outbox.pending").gauge().value()).isEqualTo(42.0);
+        assertThat(meterRegistry.get("audit.outbox.oldest.age").gauge().value()).isBetween(299.0, 310.0);
+    }
+
+    @Test
+    @DisplayName("Deve informar idade zero quando a outbox estiver vazia")
+    void deveInformarIdadeZeroComOutboxVazia() {
+        when(outboxRepository.findCriadoEmMaisAntigo()).thenReturn(Optional.empty());
+
+        assertThat(meterRegistry.get("audit.outbox.oldest.age").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo em segundo plano depois de uma falha do MongoDB")
+    void deveTentarDeNovoDepoisDeFalha() throws Exception {
+        AuditOutbox pendente = criarPendente("CREATE_ALUNO");
+        when(outboxRepository.findByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(pendente))
+                .thenReturn(List.of(pendente))
+                .thenReturn(List.of());
+        doThrow(new DataAccessResourceFailureException("MongoDB indisponível"))
+                .doNothing()
+                .when(logRepository).inserirIgnorandoDuplicados(anyList());
+
+        relay.start();
+
+        verify(outboxRepository, timeout(2000)).deleteAllByIdInBatch(List.of(pendente.getId()));
+        verify(logRepository, times(2)).inserirIgnorandoDuplicados(anyList());
+        assertThat(meterRegistry.counter("audit.outbox.publish.failures").count()).isEqualTo(1);
+    }
+}
@@ -2,39 +2,45 @@ package com.sylviavitoria.apifaculdade.service;
 
 import com.sylviavitoria.apifaculdade.dto.DisciplinaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.EstatisticaDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ExclusaoDisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.mapper.DisciplinaMapper;
 import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.EstatisticaDisciplina;
 import com.sylviavitoria.apifaculdade.model.Professor;
 import com.sylviavitoria.apifaculdade.repository.DisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.EstatisticaDisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.MatriculaRepository;
 import com.sylviavitoria.apifaculdade.repository.ProfessorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.*;
-import static org.mockito.ArgumentMatchers.contains;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("DisciplinaServiceImpl Tests")
@@ -47,16 +53,17 @@ class DisciplinaServiceImplTest {
     private ProfessorRepository professorRepository;
 
     @Mock
-    private DisciplinaMapper disciplinaMapper;
+    private EstatisticaDisciplinaRepository estatisticaRepository;
 
     @Mock
-    private LogService logService;
+    private MatriculaRepository matriculaRepository;
 
     @Mock
-    private SecurityContext securityContext;
+    private DisciplinaMapper disciplinaMapper;
 
-    @Mock
-    private Authentication authentication;
+
+    @Spy
+    private CatalogoCache catalogoCache = new CatalogoCache(new SimpleMeterRegistry(), 100, 600);
 
     @InjectMocks
     private DisciplinaServiceImpl disciplinaService;
@@ -98,22 +105,9 @@ class DisciplinaServiceImplTest {
         disciplinaResponseDTO.setProfessor(professorResponseDTO);
     }
 
-    @AfterEach
-    void tearDown() {
-        SecurityContextHolder.clearContext();
-    }
-
-    private void configurarSecurityContext() {
-        SecurityContextHolder.setContext(securityContext);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("admin@email.com");
-    }
-
     @Test
     @DisplayName("Deve criar disciplina com sucesso")
     void deveCriarDisciplinaComSucesso() {
-        configurarSecurityContext();
-
         when(disciplinaRepository.existsByCodigo("AED101")).thenReturn(false);
         when(disciplinaMapper.toEntity(disciplinaRequestDTO)).thenReturn(disciplina);
         when(professorRepository.findById(1L)).thenReturn(Optional.of(professor));
@@ -133,14 +127,11 @@ class DisciplinaServiceImplTest {
         verify(professorRepository).findById(1L);
         verify(disciplinaRepository).save(disciplina);
         verify(disciplinaMapper).toDTO(disciplina);
-        verify(logService).saveLog(eq("INFO"), contains("Disciplina criada com sucesso"), eq("DisciplinaServiceImpl"), eq("criarDisciplina"), eq("admin@email.com"), eq("CREATE_DISCIPLINA"));
     }
 
     @Test
     @DisplayName("Deve criar disciplina sem professor com sucesso")
     void deveCriarDisciplinaSemProfessorComSucesso() {
-        configurarSecurityContext();
-
         disciplinaRequestDTO.setProfessorId(null);
         disciplina.setProfessor(null);
         disciplinaResponseDTO.setProfessor(null);
@@ -163,14 +154,11 @@ class DisciplinaServiceImplTest {
         verify(disciplinaRepository).save(disciplina);
         verify(disciplinaMapper).toDTO(disciplina);
         verifyNoInteractions(professorRepository);
-        verify(logService).saveLog(eq("INFO"), contains("Disciplina criada com sucesso"), eq("DisciplinaServiceImpl"), eq("criarDisciplina"), eq("admin@email.com"), eq("CREATE_DISCIPLINA"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando código já existe")
     void deveLancarExcecaoQuandoCodigoJaExiste() {
-        configurarSecurityContext();
-
         when(disciplinaRepository.existsByCodigo("AED101")).thenReturn(true);
 
         assertThatThrownBy(() -> disciplinaService.criarDisciplina(disciplinaRequestDTO))
@@ -181,14 +169,11 @@ class DisciplinaServiceImplTest {
         verifyNoInteractions(disciplinaMapper);
         verifyNoInteractions(professorRepository);
         verifyNoMoreInteractions(disciplinaRepository);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar disciplina"), eq("DisciplinaServiceImpl"), eq("criarDisciplina"), eq("admin@email.com"), eq("CREATE_DISCIPLINA_ERROR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando professor não encontrado")
     void deveLancarExcecaoQuandoProfessorNaoEncontrado() {
-        configurarSecurityContext();
-
         when(disciplinaRepository.existsByCodigo("AED101")).thenReturn(false);
         when(disciplinaMapper.toEntity(disciplinaRequestDTO)).thenReturn(disciplina);
         when(professorRepository.findById(1L)).thenReturn(Optional.empty());
@@ -201,7 +186,6 @@ class DisciplinaServiceImplTest {
         verify(disciplinaMapper).toEntity(disciplinaRequestDTO);
         verify(professorRepository).findById(1L);
         verifyNoMoreInteractions(disciplinaRepository);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar disciplina"), eq("DisciplinaServiceImpl"), eq("criarDisciplina"), eq("admin@email.com"), eq("CREATE_DISCIPLINA_ERROR"));
     }
 
     @Test
@@ -221,6 +205,85 @@ class DisciplinaServiceImplTest {
         verify(disciplinaMapper).toDTO(disciplina);
     }
 
+    @Test
+    @DisplayName("Deve buscar disciplina no banco apenas uma vez enquanto estiver em cache")
+    void deveBuscarDisciplinaDoCache() {
+        when(disciplinaRepository.findById(1L)).thenReturn(Optional.of(disciplina));
+        when(disciplinaMapper.toDTO(disciplina)).thenReturn(disciplinaResponseDTO);
+
+        disciplinaService.buscarDisciplinaPorId(1L);
+        DisciplinaResponseDTO resultado = disciplinaService.buscarDisciplinaPorId(1L);
+
+        assertThat(resultado).isSameAs(disciplinaResponseDTO);
+        verify(disciplinaRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a disciplina do banco após atualização")
+    void deveRecarregarDisciplinaAposAtualizacao() {
+        DisciplinaRequestDTO requestAtualizado = new DisciplinaRequestDTO();
+        requestAtualizado.setNome("Algoritmos Avançados");
+        requestAtualizado.setCodigo("AED101");
+
+        when(disciplinaRepository.findById(1L)).thenReturn(Optional.of(disciplina));
+        when(disciplinaRepository.save(disciplina)).thenReturn(disciplina);
+        when(disciplinaMapper.toDTO(disciplina)).thenReturn(disciplinaResponseDTO);
+
+        disciplinaService.buscarDisciplinaPorId(1L);
+        disciplinaService.atualizarDisciplina(1L, requestAtualizado);
+        disciplinaService.buscarDisciplinaPorId(1L);
+
+        verify(catalogoCache).invalidateDisciplina(1L);
+        verify(disciplinaRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve calcular estatísticas da disciplina a partir do agregado")
+    void deveCalcularEstatisticasDaDisciplina() {
+        EstatisticaDisciplina estatistica = new EstatisticaDisciplina(1L);
+        estatistica.adicionar(new BigDecimal("9.00"), StatusMatricula.APROVADO);
+        estatistica.adicionar(new BigDecimal("7.50"), StatusMatricula.APROVADO);
+        estatistica.adicionar(new BigDecimal("3.00"), StatusMatricula.REPROVADO);
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+        when(estatisticaRepository.findById(1L)).thenReturn(Optional.of(estatistica));
+
+        EstatisticaDisciplinaResponseDTO resultado = disciplinaService.buscarEstatisticas(1L);
+
+        assertThat(resultado.getTotalMatriculas()).isEqualTo(4);
+        assertThat(resultado.getMediaGeral()).isEqualByComparingTo("6.50");
+        assertThat(resultado.getTaxaAprovacao()).isEqualByComparingTo("66.67");
+        assertThat(resultado.getAprovados()).isEqualTo(2);
+        assertThat(resultado.getReprovados()).isEqualTo(1);
+        assertThat(resultado.getCursando()).isEqualTo(1);
+        assertThat(resultado.getDistribuicao())
+                .containsExactly(entry("0-2", 0L), entry("2-4", 1L), entry("4-6", 0L), entry("6-8", 1L), entry("8-10", 1L));
+        verifyNoInteractions(disciplinaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve retornar estatísticas vazias para disciplina sem agregado")
+    void deveRetornarEstatisticasVaziasParaDisciplinaSemAgregado() {
+        when(estatisticaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(disciplinaRepository.existsById(1L)).thenReturn(true);
+
+        EstatisticaDisciplinaResponseDTO resultado = disciplinaService.buscarEstatisticas(1L);
+
+        assertThat(resultado.getTotalMatriculas()).isZero();
+        assertThat(resultado.getMediaGeral()).isNull();
+        assertThat(resultado.getTaxaAprovacao()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar estatísticas de disciplina inexistente")
+    void deveLancarExcecaoAoBuscarEstatisticasDeDisciplinaInexistente() {
+        when(estatisticaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(disciplinaRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> disciplinaService.buscarEstatisticas(1L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Disciplina não encontrada");
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando disciplina não encontrada por ID")
     void deveLancarExcecaoQuandoDisciplinaNaoEncontradaPorId() {
@@ -301,40 +364,55 @@ class DisciplinaServiceImplTest {
     @Test
     @DisplayName("Deve deletar disciplina com sucesso")
     void deveDeletarDisciplinaComSucesso() {
-        configurarSecurityContext();
+        when(disciplinaRepository.deleteByIdIn(List.of(1L))).thenReturn(1);
 
-        when(disciplinaRepository.existsById(1L)).thenReturn(true);
-        when(disciplinaRepository.findById(1L)).thenReturn(Optional.of(disciplina));
+        ExclusaoDisciplinaResponseDTO resultado = disciplinaService.deletarDisciplina(1L, false);
 
-        disciplinaService.deletarDisciplina(1L);
+        assertThat(resultado.getMatriculasRemovidas()).isZero();
+        verify(disciplinaRepository).deleteByIdIn(List.of(1L));
+        verify(disciplinaRepository, never()).findById(any());
+        verifyNoInteractions(matriculaRepository);
+    }
 
-        verify(disciplinaRepository).existsById(1L);
-        verify(disciplinaRepository).findById(1L);
-        verify(disciplinaRepository).deleteById(1L);
-        verify(logService).saveLog(eq("INFO"), contains("Disciplina deletada com sucesso"), eq("DisciplinaServiceImpl"), eq("deletarDisciplina"), eq("admin@email.com"), eq("DELETE_DISCIPLINA"));
+    @Test
+    @DisplayName("Deve deletar disciplina em cascata removendo as matrículas")
+    void deveDeletarDisciplinaEmCascata() {
+        when(matriculaRepository.deleteByDisciplinaId(1L)).thenReturn(42);
+        when(disciplinaRepository.deleteByIdIn(List.of(1L))).thenReturn(1);
+
+        ExclusaoDisciplinaResponseDTO resultado = disciplinaService.deletarDisciplina(1L, true);
+
+        assertThat(resultado.getDisciplinaId()).isEqualTo(1L);
+        assertThat(resultado.getMatriculasRemovidas()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao deletar disciplina com matrículas sem cascata")
+    void deveLancarExcecaoAoDeletarDisciplinaComMatriculasSemCascata() {
+        when(disciplinaRepository.deleteByIdIn(List.of(1L)))
+                .thenThrow(new DataIntegrityViolationException("fk_matricula_disciplina"));
+
+        assertThatThrownBy(() -> disciplinaService.deletarDisciplina(1L, false))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("cascata=true");
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar disciplina não encontrada")
     void deveLancarExcecaoAoDeletarDisciplinaNaoEncontrada() {
-        configurarSecurityContext();
+        when(disciplinaRepository.deleteByIdIn(List.of(1L))).thenReturn(0);
 
-        when(disciplinaRepository.existsById(1L)).thenReturn(false);
-
-        assertThatThrownBy(() -> disciplinaService.deletarDisciplina(1L))
+        assertThatThrownBy(() -> disciplinaService.deletarDisciplina(1L, false))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Disciplina não encontrada");
 
-        verify(disciplinaRepository).existsById(1L);
+        verify(disciplinaRepository).deleteByIdIn(List.of(1L));
         verifyNoMoreInteractions(disciplinaRepository);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao deletar disciplina"), eq("DisciplinaServiceImpl"), eq("deletarDisciplina"), eq("admin@email.com"), eq("DELETE_DISCIPLINA_ERROR"));
     }
 
     @Test
     @DisplayName("Deve atualizar disciplina com sucesso")
     void deveAtualizarDisciplinaComSucesso() {
-        configurarSecurityContext();
-
         DisciplinaRequestDTO requestAtualizado = new DisciplinaRequestDTO();
         requestAtualizado.setNome("Algoritmos Avançados");
         requestAtualizado.setCodigo("ALG201");
@@ -360,14 +438,11 @@ class DisciplinaServiceImplTest {
         verify(professorRepository).findById(2L);
         verify(disciplinaRepository).save(disciplina);
         verify(disciplinaMapper).toDTO(disciplina);
-        verify(logService).saveLog(eq("INFO"), contains("Disciplina atualizada com sucesso"), eq("DisciplinaServiceImpl"), eq("atualizarDisciplina"), eq("admin@email.com"), eq("UPDATE_DISCIPLINA"));
     }
 
     @Test
     @DisplayName("Deve atualizar disciplina mantendo o mesmo código")
     void deveAtualizarDisciplinaManendoMesmoCodigo() {
-        configurarSecurityContext();
-
         DisciplinaRequestDTO requestAtualizado = new DisciplinaRequestDTO();
         requestAtualizado.setNome("Algoritmos e Estruturas de Dados - Avançado");
         requestAtualizado.setCodigo("AED101"); 
@@ -388,14 +463,11 @@ class DisciplinaServiceImplTest {
         verify(disciplinaRepository).save(disciplina);
         verify(disciplinaMapper).toDTO(disciplina);
         verify(disciplinaRepository, never()).existsByCodigo("AED101");
-        verify(logService).saveLog(eq("INFO"), contains("Disciplina atualizada com sucesso"), eq("DisciplinaServiceImpl"), eq("atualizarDisciplina"), eq("admin@email.com"), eq("UPDATE_DISCIPLINA"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar disciplina não encontrada")
     void deveLancarExcecaoAoAtualizarDisciplinaNaoEncontrada() {
-        configurarSecurityContext();
-
         when(disciplinaRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> disciplinaService.atualizarDisciplina(1L, disciplinaRequestDTO))
@@ -406,14 +478,11 @@ class DisciplinaServiceImplTest {
         verifyNoMoreInteractions(disciplinaRepository);
         verifyNoInteractions(professorRepository);
         verifyNoInteractions(disciplinaMapper);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao atualizar disciplina"), eq("DisciplinaServiceImpl"), eq("atualizarDisciplina"), eq("admin@email.com"), eq("UPDATE_DISCIPLINA_ERROR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar com código já em uso")
     void deveLancarExcecaoAoAtualizarComCodigoJaEmUso() {
-        configurarSecurityContext();
-
         DisciplinaRequestDTO requestComCodigoExistente = new DisciplinaRequestDTO();
         requestComCodigoExistente.setNome("Nova Disciplina");
         requestComCodigoExistente.setCodigo("MAT101"); 
@@ -431,14 +500,11 @@ class DisciplinaServiceImplTest {
         verifyNoMoreInteractions(disciplinaRepository);
         verifyNoInteractions(professorRepository);
         verifyNoInteractions(disciplinaMapper);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao atualizar disciplina"), eq("DisciplinaServiceImpl"), eq("atualizarDisciplina"), eq("admin@email.com"), eq("UPDATE_DISCIPLINA_ERROR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar com professor não encontrado")
     void deveLancarExcecaoAoAtualizarComProfessorNaoEncontrado() {
-        configurarSecurityContext();
-
         DisciplinaRequestDTO requestComProfessorInexistente = new DisciplinaRequestDTO();
         requestComProfessorInexistente.setNome("Algoritmos");
         requestComProfessorInexistente.setCodigo("AED101");
@@ -455,14 +521,11 @@ class DisciplinaServiceImplTest {
         verify(disciplinaMapper).updateEntity(requestComProfessorInexistente, disciplina);
         verify(professorRepository).findById(999L);
         verifyNoMoreInteractions(disciplinaRepository);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao atualizar disciplina"), eq("DisciplinaServiceImpl"), eq("atualizarDisciplina"), eq("admin@email.com"), eq("UPDATE_DISCIPLINA_ERROR"));
     }
 
     @Test
     @DisplayName("Deve atualizar disciplina sem professor")
     void deveAtualizarDisciplinaSemProfessor() {
-        configurarSecurityContext();
-
         DisciplinaRequestDTO requestSemProfessor = new DisciplinaRequestDTO();
         requestSemProfessor.setNome("Algoritmos Independentes");
         requestSemProfessor.setCodigo("ALG301");
@@ -483,6 +546,5 @@ class DisciplinaServiceImplTest {
         verify(disciplinaRepository).save(disciplina);
         verify(disciplinaMapper).toDTO(disciplina);
         verifyNoInteractions(professorRepository);
-        verify(logService).saveLog(eq("INFO"), contains("Disciplina atualizada com sucesso"), eq("DisciplinaServiceImpl"), eq("atualizarDisciplina"), eq("admin@email.com"), eq("UPDATE_DISCIPLINA"));
     }
 }
@@ -0,0 +1,277 @@
+package com.sylviavitoria.apifaculdade.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.dto.AgregacaoLogResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogAgregadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LogFiltroDTO;
+import com.sylviavitoria.apifaculdade.dto.LogResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.AgrupamentoLog;
+import com.sylviavitoria.apifaculdade.enums.IntervaloLog;
+import com.sylviavitoria.apifaculdade.enums.OperacaoAuditoria;
+import com.sylviavitoria.apifaculdade.exception.BusinessException;
+import com.sylviavitoria.apifaculdade.exception.CursorInvalidoException;
+import com.sylviavitoria.apifaculdade.exception.PeriodoInvalidoException;
+import com.sylviavitoria.apifaculdade.mapper.LogMapper;
+import com.sylviavitoria.apifaculdade.model.ApplicationLog;
+import com.sylviavitoria.apifaculdade.model.AuditOutbox;
+import com.sylviavitoria.apifaculdade.model.EventoAuditoria;
+import com.sylviavitoria.apifaculdade.repository.ApplicationLogRepository;
+import com.sylviavitoria.apifaculdade.repository.AuditOutboxRepository;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LogService Tests")
+class LogServiceTest {
+
+    @Mock
+    private ApplicationLogRepository logRepository;
+
+    @Mock
+    private AuditOutboxRepository outboxRepository;
+
+    @Mock
+    private LogMapper logMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private LogService logService;
+
+    private LogFiltroDTO filtro;
+    private ApplicationLog applicationLog;
+    private LogResponseDTO logResponseDTO;
+
+    @BeforeEach
+    void setUp() {
+        filtro = LogFiltroDTO.builder().level("ERROR").build();
+
+        applicationLog = new ApplicationLog();
+        applicationLog.setId("66b4d1f2a3c5e81b2f0c9a17");
+        applicationLog.setTimestamp(LocalDateTime.of(2025, 8, 8, 10, 30, 0, 123_000_000));
+        applicationLog.setLevel("ERROR");
+        applicationLog.setOperation("CREATE_ALUNO");
+
+        logResponseDTO = LogResponseDTO.builder()
+                .id(applicationLog.getId())
+                .timestamp(applicationLog.getTimestamp())
+                .level("ERROR")
+                .operation("CREATE_ALUNO")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve listar a primeira página de logs e devolver o cursor da próxima")
+    void deveListarPrimeiraPagina() {
+        when(logRepository.findPorFiltro(eq(filtro), isNull(), isNull(), any()))
+                .thenReturn(new SliceImpl<>(List.of(applicationLog), PageRequest.of(0, 1), true));
+        when(logMapper.toDTO(applicationLog)).thenReturn(logResponseDTO);
+
+        CursorResponseDTO<LogResponseDTO> resultado = logService.listarLogs(filtro, null, 1);
+
+        assertThat(resultado.getConteudo()).containsExactly(logResponseDTO);
+        assertThat(resultado.isTemProximo()).isTrue();
+        assertThat(resultado.getProximoCursor()).isEqualTo(
+                KeysetCursor.encode(applicationLog.getId(), applicationLog.getTimestamp()));
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do timestamp e do id do cursor")
+    void deveContinuarAPartirDoCursor() {
+        String cursor = KeysetCursor.encode(applicationLog.getId(), applicationLog.getTimestamp());
+        when(logRepository.findPorFiltro(eq(filtro), eq(applicationLog.getTimestamp()), eq(applicationLog.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        CursorResponseDTO<LogResponseDTO> resultado = logService.listarLogs(filtro, cursor, 10);
+
+        assertThat(resultado.getConteudo()).isEmpty();
+        assertThat(resultado.getProximoCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve listar logs recentes filtrando as últimas 24 horas com cursor")
+    void deveListarLogsRecentesComCursor() {
+        String cursor = KeysetCursor.encode(applicationLog.getId(), applicationLog.getTimestamp());
+        when(logRepository.findPorFiltro(any(LogFiltroDTO.class), eq(applicationLog.getTimestamp()), eq(applicationLog.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        LocalDateTime antes = LocalDateTime.now().minusDays(1);
+        logService.listarLogsRecentes(cursor, 10);
+
+        ArgumentCaptor<LogFiltroDTO> captor = ArgumentCaptor.forClass(LogFiltroDTO.class);
+        verify(logRepository).findPorFiltro(captor.capture(), any(), any(), any());
+        assertThat(captor.getValue().getInicio()).isBetween(antes, LocalDateTime.now().minusDays(1));
+        assertThat(captor.getValue().getFim()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor com id que não é um ObjectId")
+    void deveRejeitarCursorComIdInvalido() {
+        String cursor = KeysetCursor.encode(12L, applicationLog.getTimestamp());
+
+        assertThatThrownBy(() -> logService.listarLogs(filtro, cursor, 10))
+                .isInstanceOf(CursorInvalidoException.class);
+        verifyNoInteractions(logRepository);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período com início depois do fim")
+    void deveRejeitarPeriodoInvalido() {
+        LogFiltroDTO periodo = LogFiltroDTO.builder()
+                .inicio(LocalDateTime.of(2025, 8, 9, 0, 0))
+                .fim(LocalDateTime.of(2025, 8, 8, 0, 0))
+                .build();
+
+        assertThatThrownBy(() -> logService.listarLogs(periodo, null, 10))
+                .isInstanceOf(PeriodoInvalidoException.class)
+                .hasMessage("A data inicial deve ser anterior à data final");
+        verifyNoInteractions(logRepository);
+    }
+
+    @Test
+    @DisplayName("Deve exportar um log por linha sem metadados")
+    void deveExportarLogsEmNdjson() throws Exception {
+        ApplicationLog outro = new ApplicationLog();
+        LogResponseDTO outroDTO = LogResponseDTO.builder().id("66b4d1f2a3c5e81b2f0c9a16").level("INFO").build();
+        when(logRepository.streamPorFiltro(filtro)).thenReturn(Stream.of(applicationLog, outro));
+        when(logMapper.toDTO(applicationLog)).thenReturn(logResponseDTO);
+        when(logMapper.toDTO(outro)).thenReturn(outroDTO);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        logService.exportarLogs(filtro, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(objectMapper.readValue(linhas[0], java.util.Map.class))
+                .containsEntry("id", "66b4d1f2a3c5e81b2f0c9a17")
+                .containsEntry("operation", "CREATE_ALUNO")
+                .doesNotContainKey("metadata");
+        assertThat(linhas[1]).contains("\"level\":\"INFO\"");
+    }
+
+    @Test
+    @DisplayName("Deve agregar as últimas 24 horas quando o início não for informado")
+    void deveAgregarUltimas24Horas() {
+        LocalDateTime fim = LocalDateTime.of(2025, 8, 8, 12, 0);
+        LogFiltroDTO semInicio = LogFiltroDTO.builder().level("ERROR").fim(fim).build();
+        LogAgregadoResponseDTO grupo = LogAgregadoResponseDTO.builder().chave("CREATE_ALUNO").total(3).erros(3).build();
+        when(logRepository.agregar(any(), eq(AgrupamentoLog.OPERATION), eq(IntervaloLog.HOUR), eq(100)))
+                .thenReturn(List.of(grupo));
+
+        AgregacaoLogResponseDTO resultado = logService.agregarLogs(semInicio, AgrupamentoLog.OPERATION,
+                IntervaloLog.HOUR, 100);
+
+        assertThat(resultado.getInicio()).isEqualTo(fim.minusDays(1));
+        assertThat(resultado.getFim()).isEqualTo(fim);
+        assertThat(resultado.getGrupos()).containsExactly(grupo);
+        verify(logRepository).agregar(eq(semInicio.toBuilder().inicio(fim.minusDays(1)).build()),
+                eq(AgrupamentoLog.OPERATION), eq(IntervaloLog.HOUR), eq(100));
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de grupos da agregação")
+    void deveLimitarGruposDaAgregacao() {
+        LogFiltroDTO periodo = LogFiltroDTO.builder()
+                .inicio(LocalDateTime.of(2025, 8, 1, 0, 0))
+                .fim(LocalDateTime.of(2025, 8, 2, 0, 0))
+                .build();
+        when(logRepository.agregar(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        logService.agregarLogs(periodo, AgrupamentoLog.LEVEL, null, 50_000);
+
+        verify(logRepository).agregar(periodo, AgrupamentoLog.LEVEL, null, LogService.LIMITE_MAXIMO_GRUPOS);
+    }
+
+    @Test
+    @DisplayName("Deve registrar evento de sucesso sem gravar a mensagem")
+    void deveRegistrarEventoDeSucesso() throws Exception {
+        logService.registrar(EventoAuditoria.sucesso(OperacaoAuditoria.DELETE_ALUNOS, "admin@email.com")
+                .origem("AlunoServiceImpl")
+                .com("excluidos", 2)
+                .com("total", 3)
+                .duracao(42));
+
+        ApplicationLog registrado = registradoNaOutbox();
+        assertThat(ObjectId.isValid(registrado.getId())).isTrue();
+        assertThat(registrado.getLevel()).isEqualTo("INFO");
+        assertThat(registrado.getMessage()).isNull();
+        assertThat(registrado.getClassName()).isEqualTo("AlunoServiceImpl");
+        assertThat(registrado.getMethod()).isEqualTo("deletarAlunos");
+        assertThat(registrado.getOperation()).isEqualTo("DELETE_ALUNOS");
+        assertThat(registrado.getEntityType()).isEqualTo("ALUNO");
+        assertThat(registrado.getOutcome()).isEqualTo("SUCESSO");
+        assertThat(registrado.getDurationMs()).isEqualTo(42L);
+        assertThat(registrado.getMetadata()).containsExactly(entry("excluidos", 2), entry("total", 3));
+    }
+
+    @Test
+    @DisplayName("Deve registrar evento de erro com a mensagem da exceção")
+    void deveRegistrarEventoDeErro() throws Exception {
+        logService.registrar(EventoAuditoria.erro(OperacaoAuditoria.UPDATE_DISCIPLINA, "admin@email.com",
+                new BusinessException("Professor não encontrado")).entidade(7L));
+
+        ApplicationLog registrado = registradoNaOutbox();
+        assertThat(registrado.getLevel()).isEqualTo("ERROR");
+        assertThat(registrado.getMessage()).isEqualTo("Professor não encontrado");
+        assertThat(registrado.getOperation()).isEqualTo("UPDATE_DISCIPLINA");
+        assertThat(registrado.getEntityType()).isEqualTo("DISCIPLINA");
+        assertThat(registrado.getEntityId()).isEqualTo(7L);
+        assertThat(registrado.getOutcome()).isEqualTo("ERRO");
+        assertThat(registrado.getUserId()).isEqualTo("admin@email.com");
+        assertThat(registrado.getMetadata()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve montar a mensagem do evento apenas na leitura")
+    void deveMontarMensagemNaLeitura() {
+        LogMapper mapper = Mappers.getMapper(LogMapper.class);
+        ApplicationLog erro = new ApplicationLog();
+        erro.setOperation("UPDATE_DISCIPLINA");
+        erro.setOutcome("ERRO");
+        erro.setEntityId(7L);
+        erro.setMessage("Professor não encontrado");
+        ApplicationLog legado = new ApplicationLog();
+        legado.setOperation("CREATE_ALUNO_ERROR");
+        legado.setMessage("Erro ao criar aluno: Email já cadastrado");
+
+        assertThat(mapper.toDTO(erro).getMessage())
+                .isEqualTo("Erro ao atualizar disciplina (ID: 7): Professor não encontrado");
+        assertThat(mapper.toDTO(legado).getMessage()).isEqualTo("Erro ao criar aluno: Email já cadastrado");
+    }
+
+    private ApplicationLog registradoNaOutbox() throws Exception {
+        ArgumentCaptor<AuditOutbox> captor = ArgumentCaptor.forClass(AuditOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        AuditOutbox outbox = captor.getValue();
+        ApplicationLog registrado = objectMapper.readValue(outbox.getPayload(), ApplicationLog.class);
+        assertThat(outbox.getId()).isEqualTo(registrado.getId());
+        assertThat(outbox.isNew()).isTrue();
+        return registrado;
+    }
+}
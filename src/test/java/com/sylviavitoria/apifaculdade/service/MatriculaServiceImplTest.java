@@ -1,26 +1,52 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sylviavitoria.apifaculdade.dto.AlunoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.DisciplinaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.HistoricoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.ItemHistoricoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.MatriculaExportacaoDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.MatriculaResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.NotaAlunoRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.NotaRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.NotasDisciplinaRequestDTO;
+import com.sylviavitoria.apifaculdade.dto.VersaoHistoricoDTO;
+import com.sylviavitoria.apifaculdade.enums.FormatoExportacao;
 import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
+import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
+import com.sylviavitoria.apifaculdade.mapper.AlunoMapper;
+import com.sylviavitoria.apifaculdade.mapper.DisciplinaMapper;
 import com.sylviavitoria.apifaculdade.mapper.MatriculaMapper;
 import com.sylviavitoria.apifaculdade.model.Aluno;
 import com.sylviavitoria.apifaculdade.model.Disciplina;
+import com.sylviavitoria.apifaculdade.model.EstatisticaDisciplina;
 import com.sylviavitoria.apifaculdade.model.Matricula;
+import com.sylviavitoria.apifaculdade.model.Usuario;
 import com.sylviavitoria.apifaculdade.repository.AlunoRepository;
 import com.sylviavitoria.apifaculdade.repository.DisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.EstatisticaDisciplinaRepository;
 import com.sylviavitoria.apifaculdade.repository.MatriculaRepository;
+import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
+import com.sylviavitoria.apifaculdade.security.UsuarioUserDetails;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -31,16 +57,25 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -57,11 +92,30 @@ class MatriculaServiceImplTest {
     @Mock
     private DisciplinaRepository disciplinaRepository;
 
+    @Mock
+    private EstatisticaDisciplinaRepository estatisticaRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
     @Mock
     private MatriculaMapper matriculaMapper;
 
     @Mock
-    private LogService logService;
+    private AlunoMapper alunoMapper;
+
+    @Mock
+    private DisciplinaMapper disciplinaMapper;
+
+    @Spy
+    private CatalogoCache catalogoCache = new CatalogoCache(new SimpleMeterRegistry(), 100, 600);
+
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @Mock
     private SecurityContext securityContext;
@@ -128,13 +182,14 @@ class MatriculaServiceImplTest {
     @Test
     @DisplayName("Deve criar matrícula com sucesso")
     void deveCriarMatriculaComSucesso() {
-        configurarSecurityContext();
-
         when(matriculaRepository.existsByAlunoIdAndDisciplinaId(1L, 1L)).thenReturn(false);
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        DisciplinaResponseDTO disciplinaDTO = criarDisciplinaDTO();
         when(disciplinaRepository.findById(1L)).thenReturn(Optional.of(disciplina));
+        when(disciplinaMapper.toDTO(disciplina)).thenReturn(disciplinaDTO);
+        when(disciplinaRepository.getReferenceById(1L)).thenReturn(disciplina);
         when(matriculaRepository.save(any(Matricula.class))).thenReturn(matricula);
-        when(matriculaMapper.toDTO(matricula)).thenReturn(matriculaResponseDTO);
+        when(matriculaMapper.toDTO(matricula, disciplinaDTO)).thenReturn(matriculaResponseDTO);
 
         MatriculaResponseDTO resultado = matriculaService.criarMatricula(matriculaRequestDTO);
 
@@ -146,15 +201,50 @@ class MatriculaServiceImplTest {
         verify(alunoRepository).findById(1L);
         verify(disciplinaRepository).findById(1L);
         verify(matriculaRepository).save(any(Matricula.class));
-        verify(matriculaMapper).toDTO(matricula);
-        verify(logService).saveLog(eq("INFO"), contains("Matrícula criada com sucesso"), eq("MatriculaServiceImpl"), eq("criarMatricula"), eq("admin@email.com"), eq("CREATE_MATRICULA"));
+        verify(matriculaMapper).toDTO(matricula, disciplinaDTO);
+    }
+
+    @Test
+    @DisplayName("Deve incluir a matrícula criada nas estatísticas da disciplina")
+    void deveAtualizarEstatisticasAoCriarMatricula() {
+        EstatisticaDisciplina estatistica = new EstatisticaDisciplina(1L);
+        when(matriculaRepository.existsByAlunoIdAndDisciplinaId(1L, 1L)).thenReturn(false);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(disciplinaRepository.findById(1L)).thenReturn(Optional.of(disciplina));
+        when(disciplinaMapper.toDTO(disciplina)).thenReturn(criarDisciplinaDTO());
+        when(matriculaRepository.save(any(Matricula.class))).thenReturn(matricula);
+        when(estatisticaRepository.findParaAtualizacao(1L)).thenReturn(Optional.of(estatistica));
+
+        matriculaService.criarMatricula(matriculaRequestDTO);
+
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(1);
+        assertThat(estatistica.getCursando()).isEqualTo(1);
+        assertThat(estatistica.getTotalComMedia()).isZero();
+        verify(estatisticaRepository).save(estatistica);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar a disciplina do cache ao criar novas matrículas")
+    void deveReutilizarDisciplinaDoCacheAoCriarMatricula() {
+        DisciplinaResponseDTO disciplinaDTO = criarDisciplinaDTO();
+        when(matriculaRepository.existsByAlunoIdAndDisciplinaId(any(), eq(1L))).thenReturn(false);
+        when(alunoRepository.findById(any())).thenReturn(Optional.of(aluno));
+        when(disciplinaRepository.findById(1L)).thenReturn(Optional.of(disciplina));
+        when(disciplinaMapper.toDTO(disciplina)).thenReturn(disciplinaDTO);
+        when(disciplinaRepository.getReferenceById(1L)).thenReturn(disciplina);
+        when(matriculaRepository.save(any(Matricula.class))).thenReturn(matricula);
+        when(matriculaMapper.toDTO(matricula, disciplinaDTO)).thenReturn(matriculaResponseDTO);
+
+        matriculaService.criarMatricula(matriculaRequestDTO);
+        matriculaService.criarMatricula(criarRequisicao(2L, 1L));
+
+        verify(disciplinaRepository, times(1)).findById(1L);
+        verify(disciplinaRepository, times(2)).getReferenceById(1L);
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando aluno já está matriculado na disciplina")
     void deveLancarExcecaoQuandoAlunoJaMatriculado() {
-        configurarSecurityContext();
-
         when(matriculaRepository.existsByAlunoIdAndDisciplinaId(1L, 1L)).thenReturn(true);
 
         assertThatThrownBy(() -> matriculaService.criarMatricula(matriculaRequestDTO))
@@ -165,14 +255,11 @@ class MatriculaServiceImplTest {
         verifyNoInteractions(alunoRepository);
         verifyNoInteractions(disciplinaRepository);
         verifyNoInteractions(matriculaMapper);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar matrícula"), eq("MatriculaServiceImpl"), eq("criarMatricula"), eq("admin@email.com"), eq("CREATE_MATRICULA_ERROR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando aluno não encontrado")
     void deveLancarExcecaoQuandoAlunoNaoEncontrado() {
-        configurarSecurityContext();
-
         when(matriculaRepository.existsByAlunoIdAndDisciplinaId(1L, 1L)).thenReturn(false);
         when(alunoRepository.findById(1L)).thenReturn(Optional.empty());
 
@@ -184,15 +271,12 @@ class MatriculaServiceImplTest {
         verify(alunoRepository).findById(1L);
         verifyNoInteractions(disciplinaRepository);
         verifyNoInteractions(matriculaMapper);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar matrícula"), eq("MatriculaServiceImpl"), eq("criarMatricula"), eq("admin@email.com"), eq("CREATE_MATRICULA_ERROR"));
 
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando disciplina não encontrada")
     void deveLancarExcecaoQuandoDisciplinaNaoEncontrada() {
-        configurarSecurityContext();
-
         when(matriculaRepository.existsByAlunoIdAndDisciplinaId(1L, 1L)).thenReturn(false);
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
         when(disciplinaRepository.findById(1L)).thenReturn(Optional.empty());
@@ -206,7 +290,6 @@ class MatriculaServiceImplTest {
         verify(disciplinaRepository).findById(1L);
         verifyNoMoreInteractions(matriculaRepository);
         verifyNoInteractions(matriculaMapper);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar matrícula"), eq("MatriculaServiceImpl"), eq("criarMatricula"), eq("admin@email.com"), eq("CREATE_MATRICULA_ERROR"));
 
     }
 
@@ -247,7 +330,7 @@ class MatriculaServiceImplTest {
         Pageable pageableEsperado = PageRequest.of(0, 10, Sort.by("dataMatricula").descending());
         Page<Matricula> pageMatriculas = new PageImpl<>(List.of(matricula), pageableEsperado, 1);
         
-        when(matriculaRepository.findAll(pageableEsperado)).thenReturn(pageMatriculas);
+        when(matriculaRepository.findAllComAlunoEDisciplina(pageableEsperado)).thenReturn(pageMatriculas);
         when(matriculaMapper.toDTO(matricula)).thenReturn(matriculaResponseDTO);
 
         Page<MatriculaResponseDTO> resultado = matriculaService.listarMatriculas(0, 10, null);
@@ -256,7 +339,7 @@ class MatriculaServiceImplTest {
         assertThat(resultado.getContent()).hasSize(1);
         assertThat(resultado.getContent().get(0).getId()).isEqualTo(1L);
 
-        verify(matriculaRepository).findAll(pageableEsperado);
+        verify(matriculaRepository).findAllComAlunoEDisciplina(pageableEsperado);
         verify(matriculaMapper).toDTO(matricula);
     }
 
@@ -268,7 +351,7 @@ class MatriculaServiceImplTest {
         Pageable pageableEsperado = PageRequest.of(0, 10, Sort.by("id"));
         Page<Matricula> pageMatriculas = new PageImpl<>(List.of(matricula), pageableEsperado, 1);
         
-        when(matriculaRepository.findAll(pageableEsperado)).thenReturn(pageMatriculas);
+        when(matriculaRepository.findAllComAlunoEDisciplina(pageableEsperado)).thenReturn(pageMatriculas);
         when(matriculaMapper.toDTO(matricula)).thenReturn(matriculaResponseDTO);
 
         Page<MatriculaResponseDTO> resultado = matriculaService.listarMatriculas(0, 10, sort);
@@ -276,7 +359,7 @@ class MatriculaServiceImplTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getContent()).hasSize(1);
 
-        verify(matriculaRepository).findAll(pageableEsperado);
+        verify(matriculaRepository).findAllComAlunoEDisciplina(pageableEsperado);
         verify(matriculaMapper).toDTO(matricula);
     }
 
@@ -288,7 +371,7 @@ class MatriculaServiceImplTest {
         Pageable pageableEsperado = PageRequest.of(0, 10, Sort.by("dataMatricula").descending());
         Page<Matricula> pageMatriculas = new PageImpl<>(List.of(matricula), pageableEsperado, 1);
         
-        when(matriculaRepository.findAll(pageableEsperado)).thenReturn(pageMatriculas);
+        when(matriculaRepository.findAllComAlunoEDisciplina(pageableEsperado)).thenReturn(pageMatriculas);
         when(matriculaMapper.toDTO(matricula)).thenReturn(matriculaResponseDTO);
 
         Page<MatriculaResponseDTO> resultado = matriculaService.listarMatriculas(0, 10, sort);
@@ -296,29 +379,45 @@ class MatriculaServiceImplTest {
         assertThat(resultado).isNotNull();
         assertThat(resultado.getContent()).hasSize(1);
 
-        verify(matriculaRepository).findAll(pageableEsperado);
+        verify(matriculaRepository).findAllComAlunoEDisciplina(pageableEsperado);
         verify(matriculaMapper).toDTO(matricula);
     }
 
     @Test
     @DisplayName("Deve deletar matrícula com sucesso")
     void deveDeletarMatriculaComSucesso() {
-        configurarSecurityContext();
-
         when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
 
         matriculaService.deletarMatricula(1L);
 
         verify(matriculaRepository).findById(1L);
         verify(matriculaRepository).delete(matricula);
-        verify(logService).saveLog(eq("INFO"), contains("Matrícula deletada com sucesso"), eq("MatriculaServiceImpl"), eq("deletarMatricula"), eq("admin@email.com"), eq("DELETE_MATRICULA"));
+    }
+
+    @Test
+    @DisplayName("Deve retirar a matrícula das estatísticas da disciplina ao deletar")
+    void deveAtualizarEstatisticasAoDeletarMatricula() {
+        EstatisticaDisciplina estatistica = new EstatisticaDisciplina(1L);
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(estatisticaRepository.findParaAtualizacao(1L)).thenReturn(Optional.of(estatistica));
+
+        matriculaService.deletarMatricula(1L);
+
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(1);
+        assertThat(estatistica.getCursando()).isEqualTo(1);
+        verify(estatisticaRepository).save(estatistica);
+
+        InOrder ordem = inOrder(estatisticaRepository, entityManager, matriculaRepository);
+        ordem.verify(estatisticaRepository).findParaAtualizacao(1L);
+        ordem.verify(entityManager).refresh(matricula, LockModeType.PESSIMISTIC_WRITE);
+        ordem.verify(matriculaRepository).delete(matricula);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar matrícula não encontrada")
     void deveLancarExcecaoAoDeletarMatriculaNaoEncontrada() {
-        configurarSecurityContext();
-
         when(matriculaRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> matriculaService.deletarMatricula(1L))
@@ -327,14 +426,46 @@ class MatriculaServiceImplTest {
 
         verify(matriculaRepository).findById(1L);
         verifyNoMoreInteractions(matriculaRepository);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao deletar matrícula"), eq("MatriculaServiceImpl"), eq("deletarMatricula"), eq("admin@email.com"), eq("DELETE_MATRICULA_ERROR"));
+    }
+
+    @Test
+    @DisplayName("Deve mover a matrícula de cursando para aprovado nas estatísticas ao lançar notas")
+    void deveAtualizarEstatisticasAoLancarNotas() {
+        EstatisticaDisciplina estatistica = new EstatisticaDisciplina(1L);
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(matriculaRepository.save(matricula)).thenReturn(matricula);
+        when(estatisticaRepository.findParaAtualizacao(1L)).thenReturn(Optional.of(estatistica));
+
+        matriculaService.atualizarNotas(1L, notaRequestDTO);
+
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(1);
+        assertThat(estatistica.getCursando()).isZero();
+        assertThat(estatistica.getAprovados()).isEqualTo(1);
+        assertThat(estatistica.getTotalComMedia()).isEqualTo(1);
+        assertThat(estatistica.getSomaMedia()).isEqualByComparingTo("7.75");
+        assertThat(estatistica.getDistribuicao()).containsExactly(0, 0, 0, 1, 0);
+        verify(estatisticaRepository).save(estatistica);
+    }
+
+    @Test
+    @DisplayName("Deve travar a estatística antes de reler a matrícula ao lançar notas")
+    void deveTravarEstatisticaAntesDeRelerMatricula() {
+        when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
+        when(matriculaRepository.save(matricula)).thenReturn(matricula);
+        when(estatisticaRepository.findParaAtualizacao(1L)).thenReturn(Optional.of(new EstatisticaDisciplina(1L)));
+
+        matriculaService.atualizarNotas(1L, notaRequestDTO);
+
+        InOrder ordem = inOrder(estatisticaRepository, entityManager, matriculaRepository);
+        ordem.verify(estatisticaRepository).findParaAtualizacao(1L);
+        ordem.verify(entityManager).refresh(matricula, LockModeType.PESSIMISTIC_WRITE);
+        ordem.verify(matriculaRepository).save(matricula);
     }
 
     @Test
     @DisplayName("Deve atualizar notas com sucesso")
     void deveAtualizarNotasComSucesso() {
-        configurarSecurityContext();
-
         when(matriculaRepository.findById(1L)).thenReturn(Optional.of(matricula));
         when(matriculaRepository.save(matricula)).thenReturn(matricula);
         when(matriculaMapper.toDTO(matricula)).thenReturn(matriculaResponseDTO);
@@ -348,15 +479,12 @@ class MatriculaServiceImplTest {
         verify(matriculaRepository).findById(1L);
         verify(matriculaRepository).save(matricula);
         verify(matriculaMapper).toDTO(matricula);
-        verify(logService).saveLog(eq("INFO"), contains("Notas atualizadas com sucesso"), eq("MatriculaServiceImpl"), eq("atualizarNotas"), eq("admin@email.com"), eq("UPDATE_NOTAS"));
 
     }
 
     @Test
     @DisplayName("Deve atualizar apenas nota1 quando nota2 é null")
     void deveAtualizarApenasNota1QuandoNota2EhNull() {
-        configurarSecurityContext();
-
         NotaRequestDTO notaComApenasnota1 = new NotaRequestDTO();
         notaComApenasnota1.setNota1(BigDecimal.valueOf(9.0));
         notaComApenasnota1.setNota2(null);
@@ -374,15 +502,12 @@ class MatriculaServiceImplTest {
         verify(matriculaRepository).findById(1L);
         verify(matriculaRepository).save(matricula);
         verify(matriculaMapper).toDTO(matricula);
-        verify(logService).saveLog(eq("INFO"), contains("Notas atualizadas com sucesso para matrícula"), eq("MatriculaServiceImpl"), eq("atualizarNotas"), eq("admin@email.com"), eq("UPDATE_NOTAS"));
 
     }
 
     @Test
     @DisplayName("Deve atualizar apenas nota2 quando nota1 é null")
     void deveAtualizarApenasNota2QuandoNota1EhNull() {
-        configurarSecurityContext();
-
         NotaRequestDTO notaComApenasNota2 = new NotaRequestDTO();
         notaComApenasNota2.setNota1(null);
         notaComApenasNota2.setNota2(BigDecimal.valueOf(6.5));
@@ -400,15 +525,12 @@ class MatriculaServiceImplTest {
         verify(matriculaRepository).findById(1L);
         verify(matriculaRepository).save(matricula);
         verify(matriculaMapper).toDTO(matricula);
-        verify(logService).saveLog(eq("INFO"), contains("Notas atualizadas com sucesso para matrícula"), eq("MatriculaServiceImpl"), eq("atualizarNotas"), eq("admin@email.com"), eq("UPDATE_NOTAS"));
 
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar notas de matrícula não encontrada")
     void deveLancarExcecaoAoAtualizarNotasDeMatriculaNaoEncontrada() {
-        configurarSecurityContext();
-
         when(matriculaRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> matriculaService.atualizarNotas(1L, notaRequestDTO))
@@ -418,7 +540,355 @@ class MatriculaServiceImplTest {
         verify(matriculaRepository).findById(1L);
         verifyNoMoreInteractions(matriculaRepository);
         verifyNoInteractions(matriculaMapper);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao atualizar notas da matrícula "), eq("MatriculaServiceImpl"), eq("atualizarNotas"), eq("admin@email.com"), eq("UPDATE_NOTAS_ERROR"));
 
     }
-}
\ No newline at end of file
+
+    private DisciplinaResponseDTO criarDisciplinaDTO() {
+        DisciplinaResponseDTO dto = new DisciplinaResponseDTO();
+        dto.setId(1L);
+        dto.setNome("Algoritmos");
+        dto.setCodigo("ALG101");
+        return dto;
+    }
+
+    private MatriculaRequestDTO criarRequisicao(Long alunoId, Long disciplinaId) {
+        MatriculaRequestDTO dto = new MatriculaRequestDTO();
+        dto.setAlunoId(alunoId);
+        dto.setDisciplinaId(disciplinaId);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Deve criar matrículas em lote validando ids em conjunto")
+    void deveCriarMatriculasEmLoteComSucesso() {
+        Disciplina disciplina2 = new Disciplina();
+        disciplina2.setId(2L);
+
+        when(alunoRepository.findIdsExistentes(Set.of(1L))).thenReturn(Set.of(1L));
+        when(disciplinaRepository.findIdsExistentes(Set.of(1L, 2L))).thenReturn(Set.of(1L, 2L));
+        when(matriculaRepository.findParesExistentes(Set.of(1L), Set.of(1L, 2L))).thenReturn(List.of());
+        when(alunoRepository.getReferenceById(1L)).thenReturn(aluno);
+        when(disciplinaRepository.getReferenceById(1L)).thenReturn(disciplina);
+        when(disciplinaRepository.getReferenceById(2L)).thenReturn(disciplina2);
+        when(matriculaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Matricula> novas = invocation.getArgument(0);
+            for (int i = 0; i < novas.size(); i++) {
+                novas.get(i).setId(10L + i);
+            }
+            return novas;
+        });
+
+        LoteResponseDTO resultado = matriculaService.criarMatriculasEmLote(
+                List.of(criarRequisicao(1L, 1L), criarRequisicao(1L, 2L)).iterator());
+
+        assertThat(resultado.getTotal()).isEqualTo(2);
+        assertThat(resultado.getSucessos()).isEqualTo(2);
+        assertThat(resultado.getFalhas()).isZero();
+        assertThat(resultado.getItens()).extracting("id").containsExactly(10L, 11L);
+
+        verify(matriculaRepository, never()).existsByAlunoIdAndDisciplinaId(any(), any());
+        verify(alunoRepository, never()).findById(any());
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Deve reportar erro por item no lote sem interromper os demais")
+    void deveReportarErroPorItemNoLote() {
+        when(alunoRepository.findIdsExistentes(Set.of(1L, 2L, 99L))).thenReturn(Set.of(1L, 2L));
+        when(disciplinaRepository.findIdsExistentes(Set.of(1L))).thenReturn(Set.of(1L));
+        when(matriculaRepository.findParesExistentes(Set.of(1L, 2L), Set.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[] { 2L, 1L }));
+        when(alunoRepository.getReferenceById(1L)).thenReturn(aluno);
+        when(disciplinaRepository.getReferenceById(1L)).thenReturn(disciplina);
+        when(matriculaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Matricula> novas = invocation.getArgument(0);
+            novas.get(0).setId(10L);
+            return novas;
+        });
+
+        LoteResponseDTO resultado = matriculaService.criarMatriculasEmLote(List.of(
+                criarRequisicao(1L, 1L),
+                criarRequisicao(99L, 1L),
+                criarRequisicao(2L, 1L),
+                criarRequisicao(1L, 1L),
+                criarRequisicao(null, 1L)).iterator());
+
+        assertThat(resultado.getTotal()).isEqualTo(5);
+        assertThat(resultado.getSucessos()).isEqualTo(1);
+        assertThat(resultado.getFalhas()).isEqualTo(4);
+        assertThat(resultado.getItens()).extracting("erro").containsExactly(
+                null,
+                "Aluno não encontrado",
+                "Aluno já está matriculado nesta disciplina",
+                "Matrícula repetida na requisição",
+                "ID do aluno é obrigatório");
+        assertThat(resultado.getItens()).extracting("indice").containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar as estatísticas do lote uma vez por disciplina, em ordem de id, após todos os blocos")
+    void deveAtualizarEstatisticasDoLoteEmOrdemDeDisciplina() {
+        when(alunoRepository.findIdsExistentes(anyCollection())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(disciplinaRepository.findIdsExistentes(anyCollection())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(matriculaRepository.findParesExistentes(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(matriculaRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<MatriculaRequestDTO> requisicoes = new ArrayList<>();
+        for (long alunoId = 1; alunoId <= 500; alunoId++) {
+            requisicoes.add(criarRequisicao(alunoId, 2L));
+        }
+        requisicoes.add(criarRequisicao(1L, 1L));
+
+        matriculaService.criarMatriculasEmLote(requisicoes.iterator());
+
+        InOrder ordem = inOrder(matriculaRepository, estatisticaRepository);
+        ordem.verify(matriculaRepository, times(2)).saveAll(anyList());
+        ordem.verify(estatisticaRepository).findParaAtualizacao(1L);
+        ordem.verify(estatisticaRepository).findParaAtualizacao(2L);
+
+        ArgumentCaptor<EstatisticaDisciplina> captor = ArgumentCaptor.forClass(EstatisticaDisciplina.class);
+        verify(estatisticaRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(EstatisticaDisciplina::getDisciplinaId).containsExactly(1L, 2L);
+        assertThat(captor.getAllValues()).extracting(EstatisticaDisciplina::getCursando).containsExactly(1L, 500L);
+    }
+
+    private NotaAlunoRequestDTO criarNota(Long alunoId, String nota1, String nota2) {
+        NotaAlunoRequestDTO nota = new NotaAlunoRequestDTO();
+        nota.setAlunoId(alunoId);
+        nota.setNota1(new BigDecimal(nota1));
+        nota.setNota2(new BigDecimal(nota2));
+        return nota;
+    }
+
+    @Test
+    @DisplayName("Deve atualizar notas da turma em uma única consulta")
+    void deveAtualizarNotasDaTurmaEmUmaUnicaConsulta() {
+        Aluno aluno2 = new Aluno();
+        aluno2.setId(2L);
+        Matricula matricula2 = new Matricula();
+        matricula2.setId(2L);
+        matricula2.setAluno(aluno2);
+        matricula2.setDisciplina(disciplina);
+
+        NotasDisciplinaRequestDTO requisicao = new NotasDisciplinaRequestDTO();
+        requisicao.setNotas(List.of(
+                criarNota(1L, "8.0", "9.0"),
+                criarNota(2L, "5.0", "6.0"),
+                criarNota(3L, "7.0", "7.0")));
+
+        when(disciplinaRepository.existsById(1L)).thenReturn(true);
+        when(matriculaRepository.findParaAtualizacaoDeNotas(1L, List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(matricula, matricula2));
+
+        LoteResponseDTO resultado = matriculaService.atualizarNotasDaDisciplina(1L, requisicao);
+
+        assertThat(resultado.getTotal()).isEqualTo(3);
+        assertThat(resultado.getSucessos()).isEqualTo(2);
+        assertThat(resultado.getItens()).extracting("erro").containsExactly(null, null, "Matrícula não encontrada");
+        assertThat(matricula.getStatus()).isEqualTo(StatusMatricula.APROVADO);
+        assertThat(matricula2.getStatus()).isEqualTo(StatusMatricula.REPROVADO);
+        assertThat(matricula2.getMedia()).isEqualByComparingTo("5.50");
+
+        verify(matriculaRepository, times(1)).findParaAtualizacaoDeNotas(1L, List.of(1L, 2L, 3L));
+        verify(matriculaRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar as estatísticas da turma travando a estatística antes das matrículas")
+    void deveAtualizarEstatisticasAoLancarNotasDaTurma() {
+        Aluno aluno2 = new Aluno();
+        aluno2.setId(2L);
+        Matricula matricula2 = new Matricula();
+        matricula2.setId(2L);
+        matricula2.setAluno(aluno2);
+        matricula2.setDisciplina(disciplina);
+        matricula2.setStatus(StatusMatricula.CURSANDO);
+
+        EstatisticaDisciplina estatistica = new EstatisticaDisciplina(1L);
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+        estatistica.adicionar(null, StatusMatricula.CURSANDO);
+
+        NotasDisciplinaRequestDTO requisicao = new NotasDisciplinaRequestDTO();
+        requisicao.setNotas(List.of(criarNota(1L, "8.0", "9.0"), criarNota(2L, "5.0", "6.0")));
+
+        when(disciplinaRepository.existsById(1L)).thenReturn(true);
+        when(estatisticaRepository.findParaAtualizacao(1L)).thenReturn(Optional.of(estatistica));
+        when(matriculaRepository.findParaAtualizacaoDeNotas(1L, List.of(1L, 2L)))
+                .thenReturn(List.of(matricula, matricula2));
+
+        matriculaService.atualizarNotasDaDisciplina(1L, requisicao);
+
+        InOrder ordem = inOrder(estatisticaRepository, matriculaRepository);
+        ordem.verify(estatisticaRepository).findParaAtualizacao(1L);
+        ordem.verify(matriculaRepository).findParaAtualizacaoDeNotas(1L, List.of(1L, 2L));
+        ordem.verify(estatisticaRepository).save(estatistica);
+
+        assertThat(estatistica.getTotalMatriculas()).isEqualTo(2);
+        assertThat(estatistica.getCursando()).isZero();
+        assertThat(estatistica.getAprovados()).isEqualTo(1);
+        assertThat(estatistica.getReprovados()).isEqualTo(1);
+        assertThat(estatistica.getSomaMedia()).isEqualByComparingTo("14.00");
+        assertThat(estatistica.getDistribuicao()).containsExactly(0, 0, 1, 0, 1);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao atualizar notas de disciplina inexistente")
+    void deveLancarExcecaoAoAtualizarNotasDeDisciplinaInexistente() {
+        NotasDisciplinaRequestDTO requisicao = new NotasDisciplinaRequestDTO();
+        requisicao.setNotas(List.of(criarNota(1L, "8.0", "9.0")));
+
+        when(disciplinaRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> matriculaService.atualizarNotasDaDisciplina(1L, requisicao))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Disciplina não encontrada");
+
+        verifyNoInteractions(matriculaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve exportar matrículas em CSV escapando campos de texto")
+    void deveExportarMatriculasEmCsv() throws IOException {
+        when(matriculaRepository.streamParaExportacao()).thenReturn(Stream.of(
+                linhaExportacao(1L, "Silva, João", "Algoritmos \"I\"", new BigDecimal("8.50")),
+                linhaExportacao(2L, "Maria", "Cálculo", null)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        matriculaService.exportarMatriculas(FormatoExportacao.CSV, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas[0]).startsWith("id,aluno_id,aluno_nome");
+        assertThat(linhas[1]).isEqualTo(
+                "1,10,\"Silva, João\",2023001,20,ALG101,\"Algoritmos \"\"I\"\"\",Prof. Ana,8.50,,,CURSANDO,2024-02-01T10:00");
+        assertThat(linhas[2]).isEqualTo("2,10,Maria,2023001,20,ALG101,Cálculo,Prof. Ana,,,,CURSANDO,2024-02-01T10:00");
+    }
+
+    @Test
+    @DisplayName("Deve exportar matrículas em NDJSON com um objeto por linha")
+    void deveExportarMatriculasEmNdjson() throws IOException {
+        when(matriculaRepository.streamParaExportacao()).thenReturn(Stream.of(
+                linhaExportacao(1L, "João", "Algoritmos", new BigDecimal("8.50")),
+                linhaExportacao(2L, "Maria", "Cálculo", null)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        matriculaService.exportarMatriculas(FormatoExportacao.NDJSON, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(objectMapper.readTree(linhas[0]).get("alunoNome").asText()).isEqualTo("João");
+        assertThat(objectMapper.readTree(linhas[1]).get("id").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Deve fechar o cursor e registrar erro quando a escrita falha")
+    void deveFecharCursorQuandoEscritaFalha() {
+        boolean[] fechado = { false };
+        when(matriculaRepository.streamParaExportacao()).thenReturn(
+                Stream.of(linhaExportacao(1L, "João", "Algoritmos", null)).onClose(() -> fechado[0] = true));
+        OutputStream saidaComFalha = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Conexão encerrada pelo cliente");
+            }
+        };
+
+        assertThatThrownBy(() -> matriculaService.exportarMatriculas(FormatoExportacao.CSV, saidaComFalha))
+                .isInstanceOf(IOException.class);
+
+        assertThat(fechado[0]).isTrue();
+    }
+
+    private MatriculaExportacaoDTO linhaExportacao(Long id, String alunoNome, String disciplinaNome, BigDecimal nota1) {
+        return new MatriculaExportacaoDTO(id, 10L, alunoNome, "2023001", 20L, "ALG101", disciplinaNome,
+                "Prof. Ana", nota1, null, null, StatusMatricula.CURSANDO, LocalDateTime.of(2024, 2, 1, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Deve montar histórico do aluno logado a partir de uma única consulta")
+    void deveMontarHistoricoDoAlunoLogado() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("joao@email.com");
+        usuario.setTipo(TipoUsuario.ALUNO);
+        usuario.setAluno(aluno);
+        UsuarioUserDetails userDetails = new UsuarioUserDetails(usuario);
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+
+        ItemHistoricoResponseDTO item = ItemHistoricoResponseDTO.builder().id(1L).build();
+        when(matriculaRepository.findHistoricoDoAluno(1L)).thenReturn(List.of(matricula));
+        when(matriculaMapper.toItemHistorico(matricula)).thenReturn(item);
+        when(alunoMapper.toDTO(aluno)).thenReturn(AlunoResponseDTO.builder().id(1L).build());
+
+        HistoricoResponseDTO historico = matriculaService.buscarHistoricoDoAlunoLogado();
+
+        assertThat(historico.getAluno().getId()).isEqualTo(1L);
+        assertThat(historico.getMatriculas()).containsExactly(item);
+        verify(alunoRepository, never()).findById(any());
+        verify(usuarioRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando usuário logado não é aluno")
+    void deveLancarExcecaoQuandoUsuarioLogadoNaoEhAluno() {
+        configurarSecurityContext();
+        Usuario usuario = new Usuario();
+        usuario.setTipo(TipoUsuario.ADMIN);
+        when(usuarioRepository.findByEmail("admin@email.com")).thenReturn(Optional.of(usuario));
+
+        assertThatThrownBy(() -> matriculaService.buscarHistoricoDoAlunoLogado())
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Usuário não é um aluno");
+
+        verify(matriculaRepository, never()).findHistoricoDoAluno(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar histórico vazio para aluno sem matrículas")
+    void deveRetornarHistoricoVazioParaAlunoSemMatriculas() {
+        when(matriculaRepository.findHistoricoDoAluno(1L)).thenReturn(List.of());
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoMapper.toDTO(aluno)).thenReturn(AlunoResponseDTO.builder().id(1L).build());
+
+        HistoricoResponseDTO historico = matriculaService.buscarHistoricoDoAluno(1L);
+
+        assertThat(historico.getAluno().getId()).isEqualTo(1L);
+        assertThat(historico.getMatriculas()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar histórico de aluno inexistente")
+    void deveLancarExcecaoAoBuscarHistoricoDeAlunoInexistente() {
+        when(matriculaRepository.findHistoricoDoAluno(99L)).thenReturn(List.of());
+        when(alunoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> matriculaService.buscarHistoricoDoAluno(99L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Aluno não encontrado");
+    }
+
+    @Test
+    @DisplayName("Deve montar versão do histórico a partir da contagem e das datas de alteração")
+    void deveMontarVersaoDoHistorico() {
+        LocalDateTime alteracao = LocalDateTime.of(2025, 3, 10, 14, 30);
+        when(matriculaRepository.findVersaoHistoricoDoAluno(1L)).thenReturn(Optional.of(
+                new VersaoHistoricoDTO(alteracao.minusDays(1), 2L, alteracao, alteracao.minusDays(2), null)));
+
+        String versao = matriculaService.buscarVersaoHistoricoDoAluno(1L);
+
+        assertThat(versao).isEqualTo("2025-03-09T14:30|2|2025-03-10T14:30|2025-03-08T14:30|null");
+        verify(matriculaRepository, never()).findHistoricoDoAluno(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar versão do histórico de aluno inexistente")
+    void deveLancarExcecaoAoBuscarVersaoDoHistoricoDeAlunoInexistente() {
+        when(matriculaRepository.findVersaoHistoricoDoAluno(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> matriculaService.buscarVersaoHistoricoDoAluno(99L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Aluno não encontrado");
+    }
+}
@@ -1,16 +1,24 @@
 package com.sylviavitoria.apifaculdade.service;
 
+import com.sylviavitoria.apifaculdade.dto.AlunoMatriculadoResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.CursorResponseDTO;
+import com.sylviavitoria.apifaculdade.dto.LoteResponseDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorRequestDTO;
 import com.sylviavitoria.apifaculdade.dto.ProfessorResponseDTO;
+import com.sylviavitoria.apifaculdade.enums.StatusMatricula;
 import com.sylviavitoria.apifaculdade.enums.TipoUsuario;
 import com.sylviavitoria.apifaculdade.exception.BusinessException;
 import com.sylviavitoria.apifaculdade.exception.EntityNotFoundException;
 import com.sylviavitoria.apifaculdade.mapper.ProfessorMapper;
 import com.sylviavitoria.apifaculdade.model.Professor;
 import com.sylviavitoria.apifaculdade.model.Usuario;
+import com.sylviavitoria.apifaculdade.repository.DisciplinaRepository;
+import com.sylviavitoria.apifaculdade.repository.MatriculaRepository;
 import com.sylviavitoria.apifaculdade.repository.ProfessorRepository;
 import com.sylviavitoria.apifaculdade.repository.UsuarioRepository;
 import com.sylviavitoria.apifaculdade.security.UsuarioUserDetails;
+import com.sylviavitoria.apifaculdade.security.UsuarioPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,26 +27,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.contains;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ProfessorServiceImpl Tests")
@@ -50,14 +63,24 @@ class ProfessorServiceImplTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private DisciplinaRepository disciplinaRepository;
+
+    @Mock
+    private MatriculaRepository matriculaRepository;
+
     @Mock
     private ProfessorMapper professorMapper;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+
     @Mock
-    private LogService logService;
+    private UsuarioPrincipalCache principalCache;
+
+    @Spy
+    private CatalogoCache catalogoCache = new CatalogoCache(new SimpleMeterRegistry(), 100, 600);
 
     @Mock
     private SecurityContext securityContext;
@@ -116,8 +139,6 @@ class ProfessorServiceImplTest {
     @Test
     @DisplayName("Deve criar professor com sucesso")
     void deveCriarProfessorComSucesso() {
-        configurarSecurityContext();
-
         when(usuarioRepository.existsByEmail("maria.silva@universidade.com")).thenReturn(false);
         when(professorMapper.toEntity(professorRequestDTO)).thenReturn(professor);
         when(professorRepository.save(professor)).thenReturn(professor);
@@ -137,14 +158,11 @@ class ProfessorServiceImplTest {
         verify(passwordEncoder).encode("senha123");
         verify(usuarioRepository).save(argThat(u -> u.getEmail().equals("maria.silva@universidade.com") && u.getTipo() == TipoUsuario.PROFESSOR));
         verify(professorMapper).toDTO(professor);
-        verify(logService).saveLog(eq("INFO"), contains("Professor criado com sucesso"), eq("ProfessorServiceImpl"), eq("criarProfessor"), eq("admin@email.com"), eq("CREATE_PROFESSOR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando email já existe")
     void deveLancarExcecaoQuandoEmailJaExiste() {
-        configurarSecurityContext();
-
         when(usuarioRepository.existsByEmail("maria.silva@universidade.com")).thenReturn(true);
 
         assertThatThrownBy(() -> professorService.criarProfessor(professorRequestDTO))
@@ -155,7 +173,6 @@ class ProfessorServiceImplTest {
         verifyNoInteractions(professorMapper);
         verifyNoInteractions(professorRepository);
         verifyNoInteractions(passwordEncoder);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao criar professor"), eq("ProfessorServiceImpl"), eq("criarProfessor"), eq("admin@email.com"), eq("CREATE_PROFESSOR_ERROR"));
     }
 
     @Test
@@ -175,6 +192,19 @@ class ProfessorServiceImplTest {
         verify(professorMapper).toDTO(professor);
     }
 
+    @Test
+    @DisplayName("Deve buscar professor no banco apenas uma vez enquanto estiver em cache")
+    void deveBuscarProfessorDoCache() {
+        when(professorRepository.findById(1L)).thenReturn(Optional.of(professor));
+        when(professorMapper.toDTO(professor)).thenReturn(professorResponseDTO);
+
+        professorService.buscarProfessorPorId(1L);
+        ProfessorResponseDTO resultado = professorService.buscarProfessorPorId(1L);
+
+        assertThat(resultado).isSameAs(professorResponseDTO);
+        verify(professorRepository, times(1)).findById(1L);
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando professor não encontrado por ID")
     void deveLancarExcecaoQuandoProfessorNaoEncontradoPorId() {
@@ -252,40 +282,35 @@ class ProfessorServiceImplTest {
     @Test
     @DisplayName("Deve deletar professor com sucesso")
     void deveDeletarProfessorComSucesso() {
-        configurarSecurityContext();
-
-        when(professorRepository.findById(1L)).thenReturn(Optional.of(professor));
+        when(professorRepository.findEmailsPorIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, "maria.silva@universidade.com" }));
 
         professorService.deletarProfessor(1L);
 
-        verify(professorRepository).findById(1L);
-        verify(usuarioRepository).deleteByProfessor(professor);
-        verify(professorRepository).delete(professor);
-        verify(logService).saveLog(eq("INFO"), contains("Professor deletado com sucesso"), eq("ProfessorServiceImpl"), eq("deletarProfessor"), eq("admin@email.com"), eq("DELETE_PROFESSOR"));
+        verify(usuarioRepository).deleteByProfessorIdIn(Set.of(1L));
+        verify(professorRepository).deleteByIdIn(Set.of(1L));
+        verify(principalCache).revogar("maria.silva@universidade.com");
+        verify(catalogoCache).invalidateProfessor(1L);
+        verify(professorRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar professor não encontrado")
     void deveLancarExcecaoAoDeletarProfessorNaoEncontrado() {
-        configurarSecurityContext();
-
-        when(professorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(professorRepository.findEmailsPorIds(List.of(1L))).thenReturn(List.of());
 
         assertThatThrownBy(() -> professorService.deletarProfessor(1L))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Professor não encontrado");
 
-        verify(professorRepository).findById(1L);
+        verify(professorRepository).findEmailsPorIds(List.of(1L));
         verifyNoMoreInteractions(professorRepository);
         verifyNoInteractions(usuarioRepository);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao deletar professor"), eq("ProfessorServiceImpl"), eq("deletarProfessor"), eq("admin@email.com"), eq("DELETE_PROFESSOR"));
     }
 
     @Test
     @DisplayName("Deve atualizar professor com sucesso")
     void deveAtualizarProfessorComSucesso() {
-        configurarSecurityContext();
-
         ProfessorRequestDTO requestAtualizado = new ProfessorRequestDTO();
         requestAtualizado.setNome("Maria Silva Atualizada");
         requestAtualizado.setEmail("maria.nova@universidade.com");
@@ -316,14 +341,12 @@ class ProfessorServiceImplTest {
         verify(passwordEncoder).encode("novaSenha123");
         verify(usuarioRepository).save(usuario);
         verify(professorMapper).toDTO(professorAtualizado);
-        verify(logService).saveLog(eq("INFO"), contains("Professor atualizado com sucesso"), eq("ProfessorServiceImpl"), eq("atualizarProfessor"), eq("admin@email.com"), eq("UPDATE_PROFESSOR"));
+        verify(catalogoCache).invalidateProfessor(1L);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar professor não encontrado")
     void deveLancarExcecaoAoAtualizarProfessorNaoEncontrado() {
-        configurarSecurityContext();
-
         when(professorRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> professorService.atualizarProfessor(1L, professorRequestDTO))
@@ -335,14 +358,11 @@ class ProfessorServiceImplTest {
         verifyNoInteractions(usuarioRepository);
         verifyNoInteractions(professorMapper);
         verifyNoInteractions(passwordEncoder);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao atualizar professor"), eq("ProfessorServiceImpl"), eq("atualizarProfessor"), eq("admin@email.com"), eq("UPDATE_PROFESSOR_ERROR"));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar quando usuário do professor não encontrado")
     void deveLancarExcecaoAoAtualizarQuandoUsuarioDoProfessorNaoEncontrado() {
-        configurarSecurityContext();
-
         Professor professorAtualizado = new Professor();
         professorAtualizado.setId(1L);
 
@@ -361,7 +381,6 @@ class ProfessorServiceImplTest {
         verify(usuarioRepository).findByProfessor(professor);
         verifyNoMoreInteractions(usuarioRepository);
         verifyNoInteractions(passwordEncoder);
-        verify(logService).saveLog(eq("ERROR"), contains("Erro ao atualizar professor"), eq("ProfessorServiceImpl"), eq("atualizarProfessor"), eq("admin@email.com"), eq("UPDATE_PROFESSOR_ERROR"));
     }
 
     @Test
@@ -429,4 +448,92 @@ class ProfessorServiceImplTest {
             verifyNoInteractions(professorMapper);
         }
     }
+
+    @Test
+    @DisplayName("Deve listar alunos da disciplina do professor logado por cursor")
+    void deveListarAlunosDaDisciplinaDoProfessorLogado() {
+
+        AlunoMatriculadoResponseDTO aluno = new AlunoMatriculadoResponseDTO(10L, 1L, "Ana", "ana@email.com",
+                "2023001", new BigDecimal("8.0"), new BigDecimal("9.0"), new BigDecimal("8.5"), StatusMatricula.APROVADO);
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getPrincipal()).thenReturn(usuarioUserDetails);
+            when(usuarioUserDetails.getProfessorId()).thenReturn(1L);
+            when(disciplinaRepository.existsByIdAndProfessorId(5L, 1L)).thenReturn(true);
+            when(matriculaRepository.findPrimeirosAlunosDaDisciplina(eq(5L), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(aluno), PageRequest.of(0, 1), true));
+            when(matriculaRepository.findProximosAlunosDaDisciplina(eq(5L), eq("Ana"), eq(10L), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+
+            CursorResponseDTO<AlunoMatriculadoResponseDTO> resultado =
+                    professorService.listarAlunosDaDisciplinaDoProfessorLogado(5L, null, 1);
+
+            assertThat(resultado.getConteudo()).containsExactly(aluno);
+            assertThat(resultado.isTemProximo()).isTrue();
+            assertThat(resultado.getProximoCursor()).isNotNull();
+
+            CursorResponseDTO<AlunoMatriculadoResponseDTO> proxima =
+                    professorService.listarAlunosDaDisciplinaDoProfessorLogado(5L, resultado.getProximoCursor(), 1);
+
+            assertThat(proxima.isTemProximo()).isFalse();
+            assertThat(proxima.getProximoCursor()).isNull();
+            verifyNoInteractions(usuarioRepository);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve negar acesso aos alunos de disciplina de outro professor")
+    void deveNegarAcessoAosAlunosDeDisciplinaDeOutroProfessor() {
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getPrincipal()).thenReturn(usuarioUserDetails);
+            when(usuarioUserDetails.getProfessorId()).thenReturn(1L);
+            when(disciplinaRepository.existsByIdAndProfessorId(5L, 1L)).thenReturn(false);
+            when(disciplinaRepository.existsById(5L)).thenReturn(true);
+
+            assertThatThrownBy(() -> professorService.listarAlunosDaDisciplinaDoProfessorLogado(5L, null, 20))
+                    .isInstanceOf(AccessDeniedException.class);
+
+            verifyNoInteractions(matriculaRepository);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao listar alunos de disciplina inexistente")
+    void deveLancarExcecaoAoListarAlunosDeDisciplinaInexistente() {
+
+        try (MockedStatic<SecurityContextHolder> mockedSecurityContextHolder = mockStatic(SecurityContextHolder.class)) {
+            mockedSecurityContextHolder.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            when(authentication.getPrincipal()).thenReturn(usuarioUserDetails);
+            when(usuarioUserDetails.getProfessorId()).thenReturn(1L);
+            when(disciplinaRepository.existsByIdAndProfessorId(99L, 1L)).thenReturn(false);
+            when(disciplinaRepository.existsById(99L)).thenReturn(false);
+
+            assertThatThrownBy(() -> professorService.listarAlunosDaDisciplinaDoProfessorLogado(99L, null, 20))
+                    .isInstanceOf(EntityNotFoundException.class)
+                    .hasMessage("Disciplina não encontrada");
+
+            verifyNoInteractions(matriculaRepository);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve deletar professores em lote com um DELETE por tabela")
+    void deveDeletarProfessoresEmLote() {
+        when(professorRepository.findEmailsPorIds(Set.of(1L, 2L))).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, "maria.silva@universidade.com" }));
+
+        LoteResponseDTO resultado = professorService.deletarProfessores(List.of(1L, 2L));
+
+        assertThat(resultado.getSucessos()).isEqualTo(1);
+        assertThat(resultado.getFalhas()).isEqualTo(1);
+        assertThat(resultado.getItens().get(1).getErro()).isEqualTo("Professor não encontrado");
+        verify(usuarioRepository).deleteByProfessorIdIn(Set.of(1L));
+        verify(professorRepository).deleteByIdIn(Set.of(1L));
+    }
 }